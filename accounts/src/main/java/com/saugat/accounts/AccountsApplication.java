@@ -1,5 +1,9 @@
 package com.saugat.accounts;
 
+import com.saugat.accounts.config.AggregationProperties;
+import com.saugat.accounts.config.BulkheadProperties;
+import com.saugat.accounts.config.CustomerDetailsCacheProperties;
+import com.saugat.accounts.config.LastKnownGoodProperties;
 import com.saugat.accounts.dto.AccountsContactInfoDto;
 import io.swagger.v3.oas.annotations.ExternalDocumentation;
 import io.swagger.v3.oas.annotations.OpenAPIDefinition;
@@ -15,7 +19,8 @@ import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 @SpringBootApplication
 @EnableFeignClients
 @EnableJpaAuditing(auditorAwareRef = "auditAwareImpl")
-@EnableConfigurationProperties(value = {AccountsContactInfoDto.class})
+@EnableConfigurationProperties(value = {AccountsContactInfoDto.class, AggregationProperties.class,
+        BulkheadProperties.class, CustomerDetailsCacheProperties.class, LastKnownGoodProperties.class})
 @OpenAPIDefinition(
         info = @Info(
                 title = "Accounts microservices REST API Documentation",
@@ -0,0 +1,250 @@
+package com.saugat.accounts.bulk;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.saugat.accounts.constants.AccountsConstants;
+import com.saugat.accounts.dto.BulkCustomerDto;
+import com.saugat.accounts.exception.BulkImportException;
+import com.saugat.accounts.generator.BlockNumberAllocator;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.hibernate.Cache;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.support.incrementer.H2SequenceMaxValueIncrementer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Streams customers with their accounts between the {@code customer} and {@code accounts} tables and NDJSON or
+ * CSV, holding at most one batch in memory.
+ * <p>
+ * An import reads the body record by record and inserts every {@value AccountsConstants#IMPORT_BATCH_SIZE}
+ * records as two JDBC batches (customers, then their accounts) in one transaction, so a bad record leaves the
+ * batches before it in place and the error says how many records got in. An empty account number is allocated
+ * as for {@code /api/create}. An export walks a forward-only cursor over the joined tables,
+ * {@value AccountsConstants#EXPORT_FETCH_SIZE} rows per fetch, writing each row as it is read.
+ */
+@Component
+public class AccountsBulkTransfer {
+
+    private static final String INSERT_CUSTOMER_SQL = "INSERT INTO customer (customer_id, name, email, "
+            + "mobile_number, created_at, created_by) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_ACCOUNT_SQL = "INSERT INTO accounts (customer_id, account_number, "
+            + "account_type, branch_address, created_at, created_by) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String EXPORT_SQL = "SELECT c.name, c.email, c.mobile_number, a.account_number, "
+            + "a.account_type, a.branch_address FROM customer c JOIN accounts a ON a.customer_id = c.customer_id "
+            + "ORDER BY c.customer_id";
+    private static final CsvSchema CSV_SCHEMA = CsvSchema.builder()
+            .addColumn("name")
+            .addColumn("email")
+            .addColumn("mobileNumber")
+            .addNumberColumn("accountNumber")
+            .addColumn("accountType")
+            .addColumn("branchAddress")
+            .setUseHeader(true)
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate writeTransaction;
+    private final TransactionTemplate readTransaction;
+    private final BlockNumberAllocator accountNumberAllocator;
+    private final BlockNumberAllocator customerIdAllocator;
+    private final AuditorAware<String> auditorAware;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final EntityManagerFactory entityManagerFactory;
+    private final CsvMapper csvMapper = CsvMapper.builder()
+            .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+            .build();
+
+    public AccountsBulkTransfer(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                DataSource dataSource, BlockNumberAllocator accountNumberAllocator,
+                                AuditorAware<String> auditorAware, Validator validator, ObjectMapper objectMapper,
+                                EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.accountNumberAllocator = accountNumberAllocator;
+        this.customerIdAllocator = BlockNumberAllocator.forPooledIds(
+                new H2SequenceMaxValueIncrementer(dataSource, AccountsConstants.CUSTOMER_ID_SEQUENCE),
+                AccountsConstants.ID_ALLOCATION_SIZE);
+        this.auditorAware = auditorAware;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * @param body   - request body, read incrementally
+     * @param format - format of the body
+     * @return number of customers imported
+     */
+    public long importCustomers(InputStream body, BulkFormat format) throws IOException {
+        try {
+            return insertCustomers(body, format);
+        } finally {
+            // the rows bypass Hibernate, so cached query results, a cached "not found" included, must go
+            entityManagerFactory.getCache().unwrap(Cache.class).evictQueryRegions();
+        }
+    }
+
+    private long insertCustomers(InputStream body, BulkFormat format) throws IOException {
+        LocalDateTime createdAt = LocalDateTime.now();
+        String createdBy = auditorAware.getCurrentAuditor().orElse(null);
+        Batch batch = new Batch();
+        long imported = 0;
+        try (MappingIterator<BulkCustomerDto> records = reader(format).readValues(body)) {
+            while (records.hasNextValue()) {
+                long record = imported + batch.size() + 1;
+                batch.add(records.nextValue(), record, imported, createdAt, createdBy);
+                if (batch.size() == AccountsConstants.IMPORT_BATCH_SIZE) {
+                    imported += insert(batch, imported);
+                }
+            }
+        } catch (JsonProcessingException ex) {
+            throw new BulkImportException("Record " + (imported + batch.size() + 1) + " could not be read: "
+                    + ex.getOriginalMessage(), imported);
+        }
+        return imported + insert(batch, imported);
+    }
+
+    /**
+     * @param out    - response body
+     * @param format - format to write
+     */
+    public void exportCustomers(OutputStream out, BulkFormat format) {
+        readTransaction.executeWithoutResult(status -> {
+            try (SequenceWriter writer = writer(format).writeValues(out)) {
+                jdbcTemplate.query(this::exportStatement, (RowCallbackHandler) rs -> write(writer, toDto(rs)));
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+    }
+
+    private int insert(Batch batch, long imported) {
+        if (batch.size() == 0) {
+            return 0;
+        }
+        try {
+            writeTransaction.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(INSERT_CUSTOMER_SQL, batch.customers);
+                jdbcTemplate.batchUpdate(INSERT_ACCOUNT_SQL, batch.accounts);
+            });
+        } catch (DataIntegrityViolationException ex) {
+            throw new BulkImportException("Records " + (imported + 1) + " to " + (imported + batch.size())
+                    + " were rejected: " + ex.getMostSpecificCause().getMessage(), imported);
+        }
+        int inserted = batch.size();
+        batch.clear();
+        return inserted;
+    }
+
+    private PreparedStatement exportStatement(Connection connection) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(EXPORT_SQL, ResultSet.TYPE_FORWARD_ONLY,
+                ResultSet.CONCUR_READ_ONLY);
+        statement.setFetchSize(AccountsConstants.EXPORT_FETCH_SIZE);
+        return statement;
+    }
+
+    private static BulkCustomerDto toDto(ResultSet rs) throws SQLException {
+        BulkCustomerDto bulkCustomerDto = new BulkCustomerDto();
+        bulkCustomerDto.setName(rs.getString(1));
+        bulkCustomerDto.setEmail(rs.getString(2));
+        bulkCustomerDto.setMobileNumber(rs.getString(3));
+        bulkCustomerDto.setAccountNumber(rs.getLong(4));
+        bulkCustomerDto.setAccountType(rs.getString(5));
+        bulkCustomerDto.setBranchAddress(rs.getString(6));
+        return bulkCustomerDto;
+    }
+
+    private static void write(SequenceWriter writer, BulkCustomerDto bulkCustomerDto) {
+        try {
+            writer.write(bulkCustomerDto);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static String orDefault(String value, String defaultValue) {
+        return value == null || value.isEmpty() ? defaultValue : value;
+    }
+
+    private ObjectReader reader(BulkFormat format) {
+        return format == BulkFormat.CSV
+                ? csvMapper.readerFor(BulkCustomerDto.class).with(CsvSchema.emptySchema().withHeader())
+                : objectMapper.readerFor(BulkCustomerDto.class);
+    }
+
+    private ObjectWriter writer(BulkFormat format) {
+        ObjectWriter writer = format == BulkFormat.CSV
+                ? csvMapper.writerFor(BulkCustomerDto.class).with(CSV_SCHEMA)
+                : objectMapper.writerFor(BulkCustomerDto.class).withRootValueSeparator("\n");
+        // the response stream is closed by the container, not by the writer
+        return writer.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    /**
+     * Parameters of the customer and account inserts for the records read since the last flush.
+     */
+    private final class Batch {
+
+        private final List<Object[]> customers = new ArrayList<>(AccountsConstants.IMPORT_BATCH_SIZE);
+        private final List<Object[]> accounts = new ArrayList<>(AccountsConstants.IMPORT_BATCH_SIZE);
+
+        void add(BulkCustomerDto bulkCustomerDto, long record, long imported, LocalDateTime createdAt,
+                 String createdBy) {
+            Set<ConstraintViolation<BulkCustomerDto>> violations = validator.validate(bulkCustomerDto);
+            if (!violations.isEmpty()) {
+                throw new BulkImportException("Record " + record + ": " + violations.iterator().next().getMessage(),
+                        imported);
+            }
+            long customerId = customerIdAllocator.next();
+            long accountNumber = bulkCustomerDto.getAccountNumber() != null
+                    ? bulkCustomerDto.getAccountNumber()
+                    : accountNumberAllocator.next();
+            customers.add(new Object[]{customerId, bulkCustomerDto.getName(), bulkCustomerDto.getEmail(),
+                    bulkCustomerDto.getMobileNumber(), createdAt, createdBy});
+            accounts.add(new Object[]{customerId, accountNumber,
+                    orDefault(bulkCustomerDto.getAccountType(), AccountsConstants.SAVINGS),
+                    orDefault(bulkCustomerDto.getBranchAddress(), AccountsConstants.ADDRESS), createdAt, createdBy});
+        }
+
+        int size() {
+            return customers.size();
+        }
+
+        void clear() {
+            customers.clear();
+            accounts.clear();
+        }
+    }
+}
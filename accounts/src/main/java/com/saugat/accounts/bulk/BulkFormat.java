@@ -0,0 +1,48 @@
+package com.saugat.accounts.bulk;
+
+import com.saugat.accounts.constants.AccountsConstants;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+
+/**
+ * Record-per-line formats of the bulk import and export endpoints.
+ */
+public enum BulkFormat {
+
+    NDJSON(MediaType.APPLICATION_NDJSON),
+    CSV(MediaType.parseMediaType(AccountsConstants.TEXT_CSV_VALUE));
+
+    private final MediaType mediaType;
+
+    BulkFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    /**
+     * @param contentType - Content-Type of a request body
+     * @return CSV for {@code text/csv}, NDJSON otherwise
+     */
+    public static BulkFormat of(MediaType contentType) {
+        return contentType != null && CSV.mediaType.includes(contentType) ? CSV : NDJSON;
+    }
+
+    /**
+     * @param accept - media types of the Accept header, in the order given
+     * @return the first format named there, NDJSON when there is none
+     */
+    public static BulkFormat accepted(List<MediaType> accept) {
+        for (MediaType mediaType : accept) {
+            for (BulkFormat format : values()) {
+                if (format.mediaType.equalsTypeAndSubtype(mediaType)) {
+                    return format;
+                }
+            }
+        }
+        return NDJSON;
+    }
+}
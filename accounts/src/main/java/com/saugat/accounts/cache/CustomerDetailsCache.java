@@ -0,0 +1,173 @@
+package com.saugat.accounts.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.saugat.accounts.config.AggregationConfig;
+import com.saugat.accounts.config.CustomerDetailsCacheProperties;
+import com.saugat.accounts.dto.CustomerDetailsDto;
+import com.saugat.accounts.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Opt-in cache of assembled {@link CustomerDetailsDto} responses keyed by mobile number.
+ * <p>
+ * An entry is served as fresh for {@code ttl}. For a further {@code staleWhileRevalidate} it is still served,
+ * but the first request that sees it stale starts a background refresh. Invalidations are applied locally and,
+ * when enabled, forwarded to the other accounts instances through {@link PeerInvalidationPublisher}.
+ * <p>
+ * Whether or not caching is enabled, concurrent loads for the same mobile number are coalesced into one
+ * ({@link SingleFlight}), and an invalidation stops later requests from joining a load already in flight.
+ */
+@Component
+public class CustomerDetailsCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomerDetailsCache.class);
+
+    private final CustomerDetailsCacheProperties properties;
+    private final PeerInvalidationPublisher peerInvalidationPublisher;
+    private final Executor backgroundExecutor;
+    private final Cache<String, CachedDetails> cache;
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final SingleFlight<String, CustomerDetailsDto> lookups;
+    private final long ttlNanos;
+
+    private final Counter freshHits;
+    private final Counter staleHits;
+    private final Counter misses;
+    private final Timer servedAge;
+
+    public CustomerDetailsCache(CustomerDetailsCacheProperties properties,
+                                PeerInvalidationPublisher peerInvalidationPublisher,
+                                @Qualifier(AggregationConfig.BACKGROUND_EXECUTOR) Executor backgroundExecutor,
+                                MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.peerInvalidationPublisher = peerInvalidationPublisher;
+        this.backgroundExecutor = backgroundExecutor;
+        this.ttlNanos = properties.getTtl().toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl().plus(properties.getStaleWhileRevalidate()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "customerDetails");
+        this.lookups = new SingleFlight<>("customerDetails", meterRegistry);
+
+        this.freshHits = requests(meterRegistry, "fresh");
+        this.staleHits = requests(meterRegistry, "stale");
+        this.misses = requests(meterRegistry, "miss");
+        this.servedAge = Timer.builder("customer.details.cache.age")
+                .description("Age of cached customer details at the time they are served")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached details for the mobile number, or loads and caches them on a miss.
+     * When the cache is disabled the loader is simply called, shared with concurrent requests for the same number.
+     */
+    public CustomerDetailsDto get(String mobileNumber, Supplier<CustomerDetailsDto> loader) {
+        if (!properties.isEnabled()) {
+            return lookups.execute(mobileNumber, loader);
+        }
+        CachedDetails cached = cache.getIfPresent(mobileNumber);
+        if (cached == null) {
+            misses.increment();
+            return load(mobileNumber, loader);
+        }
+
+        long age = System.nanoTime() - cached.loadedAt();
+        servedAge.record(age, TimeUnit.NANOSECONDS);
+        if (age <= ttlNanos) {
+            freshHits.increment();
+        } else {
+            staleHits.increment();
+            refreshInBackground(mobileNumber, loader);
+        }
+        return cached.details();
+    }
+
+    /**
+     * Drops the entry here and on the other accounts instances.
+     */
+    public void invalidate(String mobileNumber) {
+        if (mobileNumber == null) {
+            return;
+        }
+        if (!properties.isEnabled()) {
+            lookups.forget(mobileNumber);
+            return;
+        }
+        invalidateLocally(mobileNumber);
+        if (properties.isPropagateInvalidation()) {
+            peerInvalidationPublisher.publish(mobileNumber);
+        }
+    }
+
+    /**
+     * Drops the entry on this instance only; used for invalidations received from a peer.
+     */
+    public void invalidateLocally(String mobileNumber) {
+        invalidations.incrementAndGet();
+        lookups.forget(mobileNumber);
+        cache.invalidate(mobileNumber);
+    }
+
+    private CustomerDetailsDto load(String mobileNumber, Supplier<CustomerDetailsDto> loader) {
+        long invalidationsBeforeLoad = invalidations.get();
+        CustomerDetailsDto details = lookups.execute(mobileNumber, loader);
+        // A load that overlapped an invalidation may hold pre-update data, and one with a section taken from a
+        // last-known-good copy or left empty because its service was unavailable should be rebuilt as soon as the
+        // downstream is back, so none of them is cached
+        if (invalidations.get() == invalidationsBeforeLoad && details.isComplete()) {
+            cache.put(mobileNumber, new CachedDetails(details, System.nanoTime()));
+        }
+        return details;
+    }
+
+    private void refreshInBackground(String mobileNumber, Supplier<CustomerDetailsDto> loader) {
+        if (!refreshing.add(mobileNumber)) {
+            return;
+        }
+        try {
+            backgroundExecutor.execute(() -> {
+                try {
+                    load(mobileNumber, loader);
+                } catch (ResourceNotFoundException ex) {
+                    cache.invalidate(mobileNumber);
+                } catch (RuntimeException ex) {
+                    logger.debug("Background refresh of customer details failed: {}", ex.toString());
+                } finally {
+                    refreshing.remove(mobileNumber);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            refreshing.remove(mobileNumber);
+        }
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("customer.details.cache.requests")
+                .description("Customer details cache lookups by outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record CachedDetails(CustomerDetailsDto details, long loadedAt) {
+    }
+}
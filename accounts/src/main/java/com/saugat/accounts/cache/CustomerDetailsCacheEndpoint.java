@@ -0,0 +1,26 @@
+package com.saugat.accounts.cache;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+/**
+ * Receives invalidations forwarded by other accounts instances:
+ * {@code DELETE /actuator/customerdetailscache/{mobileNumber}}.
+ */
+@Component
+@Endpoint(id = "customerdetailscache")
+public class CustomerDetailsCacheEndpoint {
+
+    private final CustomerDetailsCache customerDetailsCache;
+
+    public CustomerDetailsCacheEndpoint(CustomerDetailsCache customerDetailsCache) {
+        this.customerDetailsCache = customerDetailsCache;
+    }
+
+    @DeleteOperation
+    public void evict(@Selector String mobileNumber) {
+        customerDetailsCache.invalidateLocally(mobileNumber);
+    }
+}
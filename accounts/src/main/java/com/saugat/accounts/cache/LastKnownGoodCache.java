@@ -0,0 +1,81 @@
+package com.saugat.accounts.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.saugat.accounts.config.LastKnownGoodProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Instant;
+
+/**
+ * Bounded copy of the last answer a downstream gave per mobile number, for its fallback to serve while the
+ * downstream is unavailable.
+ * <p>
+ * Answers built from this cache carry the {@value #FETCHED_AT_HEADER} header with the time the copy was fetched,
+ * which is how the caller tells them apart from live ones (see {@link #fetchedAt(ResponseEntity)}).
+ */
+public class LastKnownGoodCache<T> {
+
+    public static final String FETCHED_AT_HEADER = "eazybank-last-known-good-at";
+
+    private final Cache<String, Entry<T>> cache;
+    private final Counter served;
+    private final Counter missing;
+
+    public LastKnownGoodCache(String downstream, LastKnownGoodProperties properties, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getMaxAge())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, downstream + "LastKnownGood");
+        this.served = fallbacks(meterRegistry, downstream, "stale");
+        this.missing = fallbacks(meterRegistry, downstream, "empty");
+    }
+
+    public void remember(String mobileNumber, T value) {
+        cache.put(mobileNumber, new Entry<>(value, Instant.now()));
+    }
+
+    /**
+     * Drops the copy for the mobile number, once the downstream has said it no longer has one.
+     */
+    public void forget(String mobileNumber) {
+        cache.invalidate(mobileNumber);
+    }
+
+    /**
+     * The last copy for the mobile number, or {@code null} when there is none (or it has expired).
+     */
+    public Entry<T> lookup(String mobileNumber) {
+        Entry<T> entry = cache.getIfPresent(mobileNumber);
+        (entry != null ? served : missing).increment();
+        return entry;
+    }
+
+    public static <B> ResponseEntity<B> staleResponse(B body, Instant fetchedAt) {
+        return ResponseEntity.ok().header(FETCHED_AT_HEADER, fetchedAt.toString()).body(body);
+    }
+
+    /**
+     * When the response came from a last-known-good copy, the time that copy was fetched; otherwise {@code null}.
+     */
+    public static Instant fetchedAt(ResponseEntity<?> response) {
+        String fetchedAt = response.getHeaders().getFirst(FETCHED_AT_HEADER);
+        return fetchedAt != null ? Instant.parse(fetchedAt) : null;
+    }
+
+    private static Counter fallbacks(MeterRegistry meterRegistry, String downstream, String result) {
+        return Counter.builder("accounts.fallback.responses")
+                .description("Fallback answers by whether a last-known-good copy was available")
+                .tag("downstream", downstream)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    public record Entry<T>(T value, Instant fetchedAt) {
+    }
+}
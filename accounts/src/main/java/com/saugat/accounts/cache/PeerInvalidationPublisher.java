@@ -0,0 +1,86 @@
+package com.saugat.accounts.cache;
+
+import com.saugat.accounts.config.AggregationConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.serviceregistry.Registration;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Forwards cache invalidations to the other accounts instances registered in Eureka by calling their
+ * {@code customerdetailscache} actuator endpoint. Delivery is best effort: an instance that misses a message
+ * serves its entry until the TTL and stale window run out.
+ */
+@Component
+public class PeerInvalidationPublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(PeerInvalidationPublisher.class);
+
+    private final DiscoveryClient discoveryClient;
+    private final ObjectProvider<Registration> registration;
+    private final Executor backgroundExecutor;
+    private final String serviceId;
+    private final RestClient restClient;
+
+    public PeerInvalidationPublisher(DiscoveryClient discoveryClient,
+                                     ObjectProvider<Registration> registration,
+                                     @Qualifier(AggregationConfig.BACKGROUND_EXECUTOR) Executor backgroundExecutor,
+                                     @Value("${spring.application.name}") String serviceId) {
+        this.discoveryClient = discoveryClient;
+        this.registration = registration;
+        this.backgroundExecutor = backgroundExecutor;
+        this.serviceId = serviceId;
+
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(Duration.ofMillis(500));
+        requestFactory.setReadTimeout(Duration.ofSeconds(1));
+        this.restClient = RestClient.builder().requestFactory(requestFactory).build();
+    }
+
+    public void publish(String mobileNumber) {
+        Registration self = registration.getIfAvailable();
+        for (ServiceInstance peer : discoveryClient.getInstances(serviceId)) {
+            if (self != null && isSameInstance(self, peer)) {
+                continue;
+            }
+            URI uri = UriComponentsBuilder.fromUri(peer.getUri())
+                    .path("/actuator/customerdetailscache/{mobileNumber}")
+                    .buildAndExpand(mobileNumber)
+                    .toUri();
+            try {
+                backgroundExecutor.execute(() -> send(uri));
+            } catch (RejectedExecutionException ex) {
+                logger.warn("Dropped customer details invalidation for {}: executor is saturated", peer.getInstanceId());
+            }
+        }
+    }
+
+    private void send(URI uri) {
+        try {
+            restClient.delete().uri(uri).retrieve().toBodilessEntity();
+        } catch (RuntimeException ex) {
+            logger.warn("Failed to propagate customer details invalidation to {}: {}", uri.getAuthority(), ex.toString());
+        }
+    }
+
+    private static boolean isSameInstance(Registration self, ServiceInstance peer) {
+        if (self.getInstanceId() != null && peer.getInstanceId() != null) {
+            return self.getInstanceId().equals(peer.getInstanceId());
+        }
+        return Objects.equals(self.getHost(), peer.getHost()) && self.getPort() == peer.getPort();
+    }
+}
@@ -0,0 +1,62 @@
+package com.saugat.accounts.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class AggregationConfig {
+
+    public static final String AGGREGATION_EXECUTOR = "aggregationExecutor";
+
+    public static final String BACKGROUND_EXECUTOR = "backgroundExecutor";
+
+    /**
+     * Bounded pool used to fan out the customer-details lookups. Once the queue is full further
+     * submissions are rejected instead of piling up behind a slow downstream.
+     */
+    @Bean(name = AGGREGATION_EXECUTOR)
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadPoolTaskExecutor aggregationExecutor(AggregationProperties aggregationProperties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("aggregation-");
+        executor.setCorePoolSize(aggregationProperties.getCorePoolSize());
+        executor.setMaxPoolSize(aggregationProperties.getMaxPoolSize());
+        executor.setQueueCapacity(aggregationProperties.getQueueCapacity());
+        executor.setTaskDecorator(new MdcTaskDecorator());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+
+    /**
+     * Virtual-thread variant used when {@code spring.threads.virtual.enabled} is set on a Java 21+ runtime.
+     * There is no pool to exhaust, so the number of in-flight lookups is capped by a concurrency limit.
+     */
+    @Bean(name = AGGREGATION_EXECUTOR)
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public SimpleAsyncTaskExecutor virtualAggregationExecutor(AggregationProperties aggregationProperties) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("aggregation-");
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(aggregationProperties.getMaxPoolSize());
+        executor.setTaskDecorator(new MdcTaskDecorator());
+        return executor;
+    }
+
+    /**
+     * Small pool for fire-and-forget work such as cache refreshes and invalidation broadcasts. It is kept apart
+     * from the aggregation executor so that background work never competes with request fan-out.
+     */
+    @Bean(name = BACKGROUND_EXECUTOR)
+    public ThreadPoolTaskExecutor backgroundExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("background-");
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(100);
+        executor.setTaskDecorator(new MdcTaskDecorator());
+        return executor;
+    }
+}
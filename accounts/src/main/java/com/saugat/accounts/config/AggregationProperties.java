@@ -0,0 +1,37 @@
+package com.saugat.accounts.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the customer-details aggregation in {@code CustomerServiceDetailsImpl}.
+ */
+@ConfigurationProperties(prefix = "accounts.aggregation")
+@Getter @Setter
+public class AggregationProperties {
+
+    /**
+     * When true the local lookup and the loans/cards calls run in parallel on the aggregation executor.
+     */
+    private boolean concurrent = false;
+
+    private int corePoolSize = 16;
+
+    private int maxPoolSize = 64;
+
+    private int queueCapacity = 256;
+
+    /**
+     * Deadline for each individual call (local lookup, loans, cards). A call that misses it is not interrupted, so
+     * the Feign and circuit-breaker timeouts of the loans and cards clients should not exceed it.
+     */
+    private Duration callTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Deadline for the whole aggregation; sections not ready by then are left empty.
+     */
+    private Duration totalTimeout = Duration.ofSeconds(3);
+}
@@ -0,0 +1,29 @@
+package com.saugat.accounts.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Which kind of bulkhead guards the calls to each downstream. The limits themselves are set per downstream under
+ * {@code resilience4j.bulkhead.instances} and {@code resilience4j.thread-pool-bulkhead.instances}.
+ */
+@ConfigurationProperties(prefix = "accounts.bulkhead")
+@Getter @Setter
+public class BulkheadProperties {
+
+    private Type loans = Type.SEMAPHORE;
+
+    private Type cards = Type.SEMAPHORE;
+
+    public enum Type {
+        /**
+         * Caps concurrent calls; the call runs on the thread that would have run it anyway.
+         */
+        SEMAPHORE,
+        /**
+         * Runs the calls on the downstream's own bounded pool, so they never hold a shared thread.
+         */
+        THREAD_POOL
+    }
+}
@@ -0,0 +1,34 @@
+package com.saugat.accounts.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the cache of assembled {@code CustomerDetailsDto} responses.
+ */
+@ConfigurationProperties(prefix = "accounts.customer-details-cache")
+@Getter @Setter
+public class CustomerDetailsCacheProperties {
+
+    private boolean enabled = false;
+
+    private long maximumSize = 10_000;
+
+    /**
+     * How long an entry is served as fresh.
+     */
+    private Duration ttl = Duration.ofSeconds(5);
+
+    /**
+     * How long past {@code ttl} an entry may still be served while a background refresh runs.
+     */
+    private Duration staleWhileRevalidate = Duration.ofSeconds(30);
+
+    /**
+     * Whether invalidations are forwarded to the other accounts instances registered in Eureka.
+     */
+    private boolean propagateInvalidation = true;
+}
@@ -0,0 +1,57 @@
+package com.saugat.accounts.config;
+
+import com.saugat.accounts.service.client.DownstreamBulkheads;
+import feign.RequestInterceptor;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.util.Set;
+
+@Configuration
+public class FeignTransportConfig {
+
+    /**
+     * CBOR first, JSON as the fallback for an instance that cannot produce it yet. Spring's CBOR message converter
+     * decodes the responses; request bodies stay JSON.
+     */
+    static final String BINARY_ACCEPT = MediaType.APPLICATION_CBOR_VALUE + ", " + MediaType.APPLICATION_JSON_VALUE + ";q=0.9";
+
+    private static final Set<String> BINARY_CLIENTS = Set.of(DownstreamBulkheads.LOANS, DownstreamBulkheads.CARDS);
+
+    /**
+     * Asks loans and cards for the CBOR representation of their responses: numbers travel as binary and strings
+     * need no escaping, so it is smaller than the JSON and cheaper to parse ({@code SerializationBenchmark} in the
+     * benchmarks module prints both sizes). Switch off with {@code accounts.feign.binary-payloads=false}.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "accounts.feign", name = "binary-payloads", havingValue = "true", matchIfMissing = true)
+    public RequestInterceptor binaryPayloadsInterceptor() {
+        return template -> {
+            if (template.feignTarget() != null && BINARY_CLIENTS.contains(template.feignTarget().name())
+                    && !template.headers().containsKey(HttpHeaders.ACCEPT)) {
+                template.header(HttpHeaders.ACCEPT, BINARY_ACCEPT);
+            }
+        };
+    }
+
+    /**
+     * Publishes the Feign connection pool (max, leased, available and pending connections) under
+     * {@code httpcomponents.httpclient.pool.*}, tagged {@code httpclient=feign}.
+     */
+    @Bean
+    public MeterBinder feignConnectionPoolMetrics(ObjectProvider<HttpClientConnectionManager> connectionManager) {
+        return registry -> {
+            if (connectionManager.getIfAvailable() instanceof PoolingHttpClientConnectionManager pool) {
+                new PoolingHttpClientConnectionManagerMetricsBinder(pool, "feign").bindTo(registry);
+            }
+        };
+    }
+}
@@ -0,0 +1,25 @@
+package com.saugat.accounts.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the last-known-good copies of loans and cards details that the Feign fallbacks serve.
+ */
+@ConfigurationProperties(prefix = "accounts.last-known-good")
+@Getter @Setter
+public class LastKnownGoodProperties {
+
+    /**
+     * Entries kept per downstream; the least recently used are dropped beyond this.
+     */
+    private long maximumSize = 10_000;
+
+    /**
+     * How long after it was fetched a copy may still be served.
+     */
+    private Duration maxAge = Duration.ofHours(1);
+}
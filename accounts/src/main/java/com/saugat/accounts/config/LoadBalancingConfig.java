@@ -0,0 +1,34 @@
+package com.saugat.accounts.config;
+
+import com.saugat.accounts.loadbalancer.InstanceStatsRegistry;
+import com.saugat.accounts.loadbalancer.LatencyAwareLoadBalancerConfiguration;
+import com.saugat.accounts.loadbalancer.LatencyRecordingLifecycle;
+import org.springframework.cloud.context.config.annotation.RefreshScope;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Replaces the round-robin load balancer behind the Feign clients with one whose strategy is chosen per service
+ * under {@code accounts.load-balancing}.
+ */
+@Configuration
+@LoadBalancerClients(defaultConfiguration = LatencyAwareLoadBalancerConfiguration.class)
+public class LoadBalancingConfig {
+
+    @Bean
+    @RefreshScope
+    public LoadBalancingProperties loadBalancingProperties() {
+        return new LoadBalancingProperties();
+    }
+
+    @Bean
+    public InstanceStatsRegistry instanceStatsRegistry(LoadBalancingProperties properties) {
+        return new InstanceStatsRegistry(properties);
+    }
+
+    @Bean
+    public LatencyRecordingLifecycle latencyRecordingLifecycle(InstanceStatsRegistry instanceStatsRegistry) {
+        return new LatencyRecordingLifecycle(instanceStatsRegistry);
+    }
+}
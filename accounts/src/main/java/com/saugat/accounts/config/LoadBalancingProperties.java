@@ -0,0 +1,60 @@
+package com.saugat.accounts.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * How the Feign clients pick an instance of a downstream service.
+ * <p>
+ * Registered by {@link LoadBalancingConfig} in the refresh scope, so {@code /actuator/refresh} replaces it with a
+ * freshly bound instance; rebinding the existing one would merge into {@code services} and keep removed entries.
+ */
+@ConfigurationProperties(prefix = "accounts.load-balancing")
+@Getter @Setter
+public class LoadBalancingProperties {
+
+    /**
+     * Strategy for services without an entry in {@code services}.
+     */
+    private Strategy defaultStrategy = Strategy.ROUND_ROBIN;
+
+    /**
+     * Strategy per service id, keyed in lower case (e.g. {@code loans}).
+     */
+    private Map<String, Strategy> services = new LinkedHashMap<>();
+
+    /**
+     * Time constant of the latency average: an observation this old weighs 1/e of a fresh one.
+     */
+    private Duration decay = Duration.ofSeconds(10);
+
+    /**
+     * Latency recorded for a call that failed or answered 5xx when it failed faster than this.
+     */
+    private Duration failurePenalty = Duration.ofSeconds(1);
+
+    public Strategy strategyFor(String serviceId) {
+        return services.getOrDefault(serviceId.toLowerCase(Locale.ROOT), defaultStrategy);
+    }
+
+    public enum Strategy {
+        /**
+         * Spring Cloud LoadBalancer's default: instances in turn.
+         */
+        ROUND_ROBIN,
+        /**
+         * The less busy of two random instances, by calls in flight from this replica.
+         */
+        LEAST_OUTSTANDING,
+        /**
+         * The cheaper of two random instances, by peak-weighted average latency times (calls in flight + 1).
+         */
+        PEAK_EWMA
+    }
+}
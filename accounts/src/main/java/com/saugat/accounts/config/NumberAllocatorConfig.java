@@ -0,0 +1,20 @@
+package com.saugat.accounts.config;
+
+import com.saugat.accounts.constants.AccountsConstants;
+import com.saugat.accounts.generator.BlockNumberAllocator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.support.incrementer.H2SequenceMaxValueIncrementer;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class NumberAllocatorConfig {
+
+    @Bean
+    public BlockNumberAllocator accountNumberAllocator(DataSource dataSource) {
+        return new BlockNumberAllocator(
+                new H2SequenceMaxValueIncrementer(dataSource, AccountsConstants.ACCOUNT_NUMBER_SEQUENCE),
+                AccountsConstants.ACCOUNT_NUMBER_BLOCK_SIZE);
+    }
+}
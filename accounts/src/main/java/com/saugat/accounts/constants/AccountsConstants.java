@@ -5,10 +5,28 @@ public class AccountsConstants {
     private AccountsConstants(){
         // no objects can be created
     }
+    // Must match INCREMENT BY of account_number_seq in V3__number_sequences.sql
+    public static final long  ACCOUNT_NUMBER_BLOCK_SIZE = 100;
+    public static final String  ACCOUNT_NUMBER_SEQUENCE = "account_number_seq";
+    // Must match INCREMENT BY of customer_id_seq in V4__id_sequences.sql
+    public static final int  ID_ALLOCATION_SIZE = 50;
+    public static final String  CUSTOMER_ID_SEQUENCE = "customer_id_seq";
+    // Unique constraint from V2__mobile_number_indexes.sql that rejects a second customer with the same number
+    public static final String  MOBILE_NUMBER_CONSTRAINT = "uk_customer_mobile_number";
+    // Customers per flush in bulk onboarding; matches spring.jpa.properties.hibernate.jdbc.batch_size
+    public static final int  ONBOARDING_FLUSH_SIZE = 50;
+    public static final int  ONBOARDING_MAX_CUSTOMERS = 5000;
     public static final String  SAVINGS = "Savings";
     public static final String  ADDRESS = "123 Main Street, New York";
     public static final String  STATUS_201 = "201";
     public static final String  MESSAGE_201 = "Account created successfully";
+    public static final String  MESSAGE_201_BATCH = "Accounts created successfully: ";
+    public static final String  MESSAGE_201_IMPORT = "Customers imported: ";
+    public static final String  TEXT_CSV_VALUE = "text/csv";
+    // Records per JDBC batch (and transaction) of a bulk import
+    public static final int  IMPORT_BATCH_SIZE = 1000;
+    // Rows per round trip of the bulk export cursor
+    public static final int  EXPORT_FETCH_SIZE = 1000;
     public static final String  STATUS_200 = "200";
     public static final String  MESSAGE_200 = "Request processed successfully";
     public static final String  STATUS_417 = "417";
@@ -1,5 +1,7 @@
 package com.saugat.accounts.controller;
 
+import com.saugat.accounts.bulk.AccountsBulkTransfer;
+import com.saugat.accounts.bulk.BulkFormat;
 import com.saugat.accounts.constants.AccountsConstants;
 import com.saugat.accounts.dto.AccountsContactInfoDto;
 import com.saugat.accounts.dto.CustomerDto;
@@ -16,14 +18,21 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
 
 @RestController
 @RequestMapping(path="/api", produces = {MediaType.APPLICATION_JSON_VALUE})
@@ -35,9 +44,11 @@ import org.springframework.web.bind.annotation.*;
 public class AccountsController {
 
     private final IAccountsService iAccountsService;
+    private final AccountsBulkTransfer accountsBulkTransfer;
 
-    public AccountsController(IAccountsService iAccountsService){
+    public AccountsController(IAccountsService iAccountsService, AccountsBulkTransfer accountsBulkTransfer){
         this.iAccountsService = iAccountsService;
+        this.accountsBulkTransfer = accountsBulkTransfer;
     }
 
     @Value("${build.version}")
@@ -65,6 +76,78 @@ public class AccountsController {
                 .body(new ResponseDto(AccountsConstants.STATUS_201, AccountsConstants.MESSAGE_201));
     }
 
+    @Operation(
+            summary = "Bulk Onboarding REST API",
+            description = "REST API to create many Customers & Accounts inside EazyBank in one request; either all of them are created or none"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "201",
+                    description = "HTTP Status CREATED"
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "HTTP Status BAD REQUEST",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            )}
+    )
+    @PostMapping("/create/batch")
+    public ResponseEntity<ResponseDto> createAccounts(@RequestBody
+                                                      @Size(min = 1, max = AccountsConstants.ONBOARDING_MAX_CUSTOMERS,
+                                                              message = "Between 1 and " + AccountsConstants.ONBOARDING_MAX_CUSTOMERS + " customers are allowed per request")
+                                                      List<@Valid CustomerDto> customerDtos){
+        int created = iAccountsService.createAccounts(customerDtos);
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(new ResponseDto(AccountsConstants.STATUS_201, AccountsConstants.MESSAGE_201_BATCH + created));
+    }
+
+    @Operation(
+            summary = "Import Customers REST API",
+            description = "REST API to load Customers & Accounts from an NDJSON or CSV body; records are read as they arrive and inserted in batches"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "201",
+                    description = "HTTP Status CREATED"
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "HTTP Status BAD REQUEST",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            )
+    })
+    @PostMapping(path = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, AccountsConstants.TEXT_CSV_VALUE})
+    public ResponseEntity<ResponseDto> importCustomers(@RequestHeader HttpHeaders headers, InputStream body) throws IOException {
+        long imported = accountsBulkTransfer.importCustomers(body, BulkFormat.of(headers.getContentType()));
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(new ResponseDto(AccountsConstants.STATUS_201, AccountsConstants.MESSAGE_201_IMPORT + imported));
+    }
+
+    @Operation(
+            summary = "Export Customers REST API",
+            description = "REST API to stream every Customer with their Account as NDJSON or, with Accept: text/csv, as CSV"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "HTTP Status OK"
+            )
+    })
+    @GetMapping(path = "/export", produces = {MediaType.APPLICATION_NDJSON_VALUE, AccountsConstants.TEXT_CSV_VALUE})
+    public ResponseEntity<StreamingResponseBody> exportCustomers(@RequestHeader HttpHeaders headers) {
+        BulkFormat format = BulkFormat.accepted(headers.getAccept());
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .contentType(format.mediaType())
+                .body(out -> accountsBulkTransfer.exportCustomers(out, format));
+    }
+
     @Operation(
             summary = "Get Account Detail REST API",
             description = "REST API to fetch Customer & Account details"
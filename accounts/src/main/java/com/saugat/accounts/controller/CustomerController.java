@@ -6,6 +6,7 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.MediaType;
@@ -13,6 +14,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping(path="/api", produces = {MediaType.APPLICATION_JSON_VALUE})
 @Validated
@@ -50,4 +53,22 @@ public class CustomerController {
         return customerDetailsDtoResponseEntity;
 
     }
+
+    @Operation(
+            summary = "Get Customer Details in Batch REST API",
+            description = "REST API to fetch Customer, Account, Cards, and Loans details for a list of mobile numbers"
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "HTTP Status OK"
+    )
+    @PostMapping("/fetchCustomerDetails/batch")
+    public ResponseEntity<List<CustomerDetailsDto>> fetchCustomerDetailsBatch(@RequestHeader("eazybank-correlation-id")
+                                                                                  String correlationId,
+                                                                              @RequestBody
+                                                                              @Size(min = 1, max = 100, message = "Between 1 and 100 mobile numbers are allowed per batch")
+                                                                              List<@Pattern(regexp = "(^$|[0-9]{10})", message = "Mobile Number must be 10 digits") String> mobileNumbers) {
+        logger.debug("eazyBank-correlation-id found: {} ", correlationId);
+        return iCustomerDetailsService.fetchCustomerDetailsBatch(mobileNumbers, correlationId);
+    }
 }
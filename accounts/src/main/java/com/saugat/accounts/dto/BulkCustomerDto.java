@@ -0,0 +1,45 @@
+package com.saugat.accounts.dto;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+@JsonPropertyOrder({"name", "email", "mobileNumber", "accountNumber", "accountType", "branchAddress"})
+@Schema(
+        name = "BulkCustomer",
+        description = "Schema to hold one Customer and their Account as a single flat record of a bulk import or export"
+)
+public class BulkCustomerDto {
+
+    @NotEmpty(message = "Name can not be null or empty")
+    @Size(min = 5, max = 30, message = "The name length must be between 5 and 30")
+    private String name;
+
+    @NotEmpty(message = "Email can not be null or empty")
+    @Email(message = "Email should be valid")
+    private String email;
+
+    @NotEmpty(message = "Mobile number can not be null or empty")
+    @Pattern(regexp = "(^$|[0-9]{10})", message = "Mobile number must be 10 digits")
+    private String mobileNumber;
+
+    @Schema(
+            description = "Account Number; allocated when left empty on import"
+    )
+    private Long accountNumber;
+
+    @Schema(
+            description = "Type of the account; Savings when left empty on import"
+    )
+    private String accountType;
+
+    @Schema(
+            description = "Address of the branch; the main branch when left empty on import"
+    )
+    private String branchAddress;
+}
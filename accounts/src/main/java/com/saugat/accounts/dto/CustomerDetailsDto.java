@@ -1,5 +1,7 @@
 package com.saugat.accounts.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotEmpty;
@@ -7,6 +9,12 @@ import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
 
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
 @Data
 @Schema(
         name = "CustomerDetails",
@@ -48,4 +56,44 @@ public class CustomerDetailsDto {
             description = "Cards details of the Customer"
     )
     private CardsDto cardsDto;
+
+    @Schema(
+            description = "True when a section is a last known good copy because its service was unavailable"
+    )
+    private boolean stale;
+
+    @Schema(
+            description = "Sections served from a last known good copy, with the time each copy was fetched"
+    )
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private Map<String, Instant> staleSections;
+
+    @Schema(
+            description = "Sections left empty because their service was unavailable and no earlier copy was at hand"
+    )
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private Set<String> unavailableSections;
+
+    public void markStale(String section, Instant fetchedAt) {
+        if (staleSections == null) {
+            staleSections = new LinkedHashMap<>();
+        }
+        staleSections.put(section, fetchedAt);
+        stale = true;
+    }
+
+    public void markUnavailable(String section) {
+        if (unavailableSections == null) {
+            unavailableSections = new LinkedHashSet<>();
+        }
+        unavailableSections.add(section);
+    }
+
+    /**
+     * Whether every section came from a live answer, neither a last known good copy nor left empty for want of one.
+     */
+    @JsonIgnore
+    public boolean isComplete() {
+        return !stale && (unavailableSections == null || unavailableSections.isEmpty());
+    }
 }
@@ -1,13 +1,22 @@
 package com.saugat.accounts.entity;
 
+import com.saugat.accounts.constants.AccountsConstants;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 @Entity
 @Table(name = "customer")
+// cached only when the second-level cache is switched on, see hibernate.cache in the accounts config
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NaturalIdCache(region = "customer-natural-id")
 @Getter
 @Setter
 @AllArgsConstructor
@@ -16,7 +25,11 @@ public class Customer extends BaseEntity {
 
     @Id
     @Column(name = "customer_id")
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Unlike IDENTITY, a sequence hands out ids before the INSERT, so Hibernate can batch inserts;
+    // shared with the bulk import, see BlockNumberAllocator.forPooledIds
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = AccountsConstants.CUSTOMER_ID_SEQUENCE)
+    @SequenceGenerator(name = AccountsConstants.CUSTOMER_ID_SEQUENCE, sequenceName = AccountsConstants.CUSTOMER_ID_SEQUENCE,
+            allocationSize = AccountsConstants.ID_ALLOCATION_SIZE)
     private Long customerId;
 
     @Column(name = "name")
@@ -25,6 +38,7 @@ public class Customer extends BaseEntity {
     @Column(name = "email")
     private String email;
 
+    @NaturalId(mutable = true)
     @Column(name = "mobile_number")
     private String mobileNumber;
 }
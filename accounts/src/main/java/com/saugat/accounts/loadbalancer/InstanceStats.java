@@ -0,0 +1,59 @@
+package com.saugat.accounts.loadbalancer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Calls in flight and a peak-weighted moving average of the latency of one service instance.
+ * <p>
+ * A slower observation replaces the average at once; faster ones pull it down exponentially with the time since
+ * the previous observation. While an instance gets no traffic its estimate decays towards zero, so an instance
+ * that was slow gets tried again after a while instead of being shunned for good.
+ */
+final class InstanceStats {
+
+    /**
+     * Cost of an instance with calls in flight but no completed call yet: prefer anything that has answered.
+     */
+    private static final double UNKNOWN_COST = 1e18;
+
+    private final AtomicInteger outstanding = new AtomicInteger();
+
+    private double ewmaNanos;
+
+    private long stampNanos;
+
+    void requestStarted() {
+        outstanding.incrementAndGet();
+    }
+
+    void requestCompleted() {
+        outstanding.updateAndGet(count -> count > 0 ? count - 1 : 0);
+    }
+
+    int outstanding() {
+        return outstanding.get();
+    }
+
+    synchronized void observe(long rttNanos, long now, long decayNanos) {
+        if (rttNanos >= ewmaNanos) {
+            ewmaNanos = rttNanos;
+        } else {
+            double weight = weight(now, decayNanos);
+            ewmaNanos = ewmaNanos * weight + rttNanos * (1 - weight);
+        }
+        stampNanos = now;
+    }
+
+    synchronized double cost(long now, long decayNanos) {
+        int pending = outstanding.get();
+        double estimate = ewmaNanos * weight(now, decayNanos);
+        if (estimate == 0 && pending > 0) {
+            return UNKNOWN_COST + pending;
+        }
+        return estimate * (pending + 1);
+    }
+
+    private double weight(long now, long decayNanos) {
+        return Math.exp(-Math.max(0L, now - stampNanos) / (double) decayNanos);
+    }
+}
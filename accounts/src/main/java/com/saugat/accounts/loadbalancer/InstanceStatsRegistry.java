@@ -0,0 +1,50 @@
+package com.saugat.accounts.loadbalancer;
+
+import com.saugat.accounts.config.LoadBalancingProperties;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link InstanceStats} of every instance this replica has called, keyed by host and port. Shared by the load
+ * balancers of all services, which read it, and {@link LatencyRecordingLifecycle}, which feeds it.
+ */
+public class InstanceStatsRegistry {
+
+    private final LoadBalancingProperties properties;
+    private final Map<String, InstanceStats> stats = new ConcurrentHashMap<>();
+
+    public InstanceStatsRegistry(LoadBalancingProperties properties) {
+        this.properties = properties;
+    }
+
+    void started(ServiceInstance instance) {
+        of(instance).requestStarted();
+    }
+
+    /**
+     * @param rttNanos time from sending the call to its completion, or a negative value when it is unknown
+     */
+    void completed(ServiceInstance instance, long rttNanos, boolean failed, long now) {
+        InstanceStats instanceStats = of(instance);
+        instanceStats.requestCompleted();
+        if (rttNanos < 0) {
+            return;
+        }
+        long observed = failed ? Math.max(rttNanos, properties.getFailurePenalty().toNanos()) : rttNanos;
+        instanceStats.observe(observed, now, properties.getDecay().toNanos());
+    }
+
+    int outstanding(ServiceInstance instance) {
+        return of(instance).outstanding();
+    }
+
+    double cost(ServiceInstance instance, long now) {
+        return of(instance).cost(now, properties.getDecay().toNanos());
+    }
+
+    private InstanceStats of(ServiceInstance instance) {
+        return stats.computeIfAbsent(instance.getHost() + ":" + instance.getPort(), key -> new InstanceStats());
+    }
+}
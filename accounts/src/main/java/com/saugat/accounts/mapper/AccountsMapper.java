@@ -2,6 +2,7 @@ package com.saugat.accounts.mapper;
 
 import com.saugat.accounts.dto.AccountsDto;
 import com.saugat.accounts.entity.Accounts;
+import com.saugat.accounts.repository.CustomerAccountsRow;
 
 public class AccountsMapper {
     public static AccountsDto mapToAccountsDto(Accounts accounts, AccountsDto accountsDto) {
@@ -11,6 +12,13 @@ public class AccountsMapper {
         return accountsDto;
     }
 
+    public static AccountsDto mapToAccountsDto(CustomerAccountsRow row, AccountsDto accountsDto) {
+        accountsDto.setAccountNumber(row.accountNumber());
+        accountsDto.setAccountType(row.accountType());
+        accountsDto.setBranchAddress(row.branchAddress());
+        return accountsDto;
+    }
+
     public static Accounts mapToAccounts(AccountsDto accountsDto, Accounts accounts) {
         accounts.setAccountNumber(accountsDto.getAccountNumber());
         accounts.setAccountType(accountsDto.getAccountType());
@@ -3,6 +3,7 @@ package com.saugat.accounts.mapper;
 import com.saugat.accounts.dto.CustomerDetailsDto;
 import com.saugat.accounts.dto.CustomerDto;
 import com.saugat.accounts.entity.Customer;
+import com.saugat.accounts.repository.CustomerAccountsRow;
 
 public class CustomerMapper {
     public static CustomerDto mapToCustomerDto(Customer customer, CustomerDto customerDto) {
@@ -12,6 +13,13 @@ public class CustomerMapper {
         return customerDto;
     }
 
+    public static CustomerDto mapToCustomerDto(CustomerAccountsRow row, CustomerDto customerDto) {
+        customerDto.setName(row.name());
+        customerDto.setEmail(row.email());
+        customerDto.setMobileNumber(row.mobileNumber());
+        return customerDto;
+    }
+
     public static CustomerDetailsDto mapToCustomerDetailsDto(Customer customer, CustomerDetailsDto customerDetailsDto) {
         customerDetailsDto.setName(customer.getName());
         customerDetailsDto.setEmail(customer.getEmail());
@@ -19,6 +27,13 @@ public class CustomerMapper {
         return customerDetailsDto;
     }
 
+    public static CustomerDetailsDto mapToCustomerDetailsDto(CustomerAccountsRow row, CustomerDetailsDto customerDetailsDto) {
+        customerDetailsDto.setName(row.name());
+        customerDetailsDto.setEmail(row.email());
+        customerDetailsDto.setMobileNumber(row.mobileNumber());
+        return customerDetailsDto;
+    }
+
     public static Customer mapToCustomer(CustomerDto customerDto, Customer customer) {
         customer.setName(customerDto.getName());
         customer.setEmail(customerDto.getEmail());
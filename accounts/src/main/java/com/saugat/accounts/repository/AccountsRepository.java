@@ -1,11 +1,11 @@
 package com.saugat.accounts.repository;
 
 import com.saugat.accounts.entity.Accounts;
-import jakarta.transaction.Transactional;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -13,7 +13,5 @@ public interface AccountsRepository extends JpaRepository<Accounts, Long> {
 
     Optional<Accounts> findByCustomerId(Long customerId);
 
-    @Transactional
-    @Modifying
-    void deleteByCustomerId(Long customerId);
+    List<Accounts> findByCustomerIdIn(Collection<Long> customerIds);
 }
@@ -0,0 +1,9 @@
+package com.saugat.accounts.repository;
+
+/**
+ * A customer joined with its account, selected column by column. The account columns are null when the
+ * customer has no account.
+ */
+public record CustomerAccountsRow(Long customerId, String name, String email, String mobileNumber,
+                                  Long accountNumber, String accountType, String branchAddress) {
+}
@@ -1,13 +1,51 @@
 package com.saugat.accounts.repository;
 
 import com.saugat.accounts.entity.Customer;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
 
     Optional<Customer> findByMobileNumber(String mobileNumber);
+
+    List<Customer> findByMobileNumberIn(Collection<String> mobileNumbers);
+
+    /**
+     * Read-only lookup of the customer and its account in one query, selected straight into a row: no entities,
+     * audit fields, persistence context entries or dirty-checking snapshots. Goes through the query cache when that
+     * is switched on.
+     */
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT new com.saugat.accounts.repository.CustomerAccountsRow(c.customerId, c.name, c.email, "
+            + "c.mobileNumber, a.accountNumber, a.accountType, a.branchAddress) "
+            + "FROM Customer c LEFT JOIN Accounts a ON a.customerId = c.customerId WHERE c.mobileNumber = :mobileNumber")
+    Optional<CustomerAccountsRow> findCustomerAccountsByMobileNumber(String mobileNumber);
+
+    /**
+     * Batch form of {@link #findCustomerAccountsByMobileNumber}; customers without an account are left out.
+     */
+    @Transactional(readOnly = true)
+    @Query("SELECT new com.saugat.accounts.repository.CustomerAccountsRow(c.customerId, c.name, c.email, "
+            + "c.mobileNumber, a.accountNumber, a.accountType, a.branchAddress) "
+            + "FROM Customer c JOIN Accounts a ON a.customerId = c.customerId WHERE c.mobileNumber IN :mobileNumbers")
+    List<CustomerAccountsRow> findCustomerAccountsByMobileNumberIn(Collection<String> mobileNumbers);
+
+    /**
+     * The customer and its account as managed entities, in one joined query, for paths that change or remove
+     * them.
+     */
+    @Query("SELECT new com.saugat.accounts.repository.CustomerWithAccounts(c, a) "
+            + "FROM Customer c LEFT JOIN Accounts a ON a.customerId = c.customerId WHERE c.mobileNumber = :mobileNumber")
+    Optional<CustomerWithAccounts> findWithAccountsByMobileNumber(String mobileNumber);
 }
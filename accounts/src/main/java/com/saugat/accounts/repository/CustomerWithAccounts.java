@@ -0,0 +1,11 @@
+package com.saugat.accounts.repository;
+
+import com.saugat.accounts.entity.Accounts;
+import com.saugat.accounts.entity.Customer;
+
+/**
+ * A managed customer and its account, loaded by one joined query. {@code accounts} is null when the customer
+ * has no account.
+ */
+public record CustomerWithAccounts(Customer customer, Accounts accounts) {
+}
@@ -2,6 +2,8 @@ package com.saugat.accounts.service;
 
 import com.saugat.accounts.dto.CustomerDto;
 
+import java.util.List;
+
 public interface IAccountsService {
 
     /**
@@ -9,6 +11,12 @@ public interface IAccountsService {
      */
     void createAccount(CustomerDto customerDto);
 
+    /**
+     * @param customerDtos
+     * @return number of accounts created
+     */
+    int createAccounts(List<CustomerDto> customerDtos);
+
     /**
      * @param mobileNumber
      * @return
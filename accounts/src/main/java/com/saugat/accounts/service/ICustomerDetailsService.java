@@ -3,6 +3,8 @@ package com.saugat.accounts.service;
 import com.saugat.accounts.dto.CustomerDetailsDto;
 import org.springframework.http.ResponseEntity;
 
+import java.util.List;
+
 public interface ICustomerDetailsService {
     /**
      * Fetch customer details for the given mobile number.
@@ -18,4 +20,13 @@ public interface ICustomerDetailsService {
      */
     ResponseEntity<CustomerDetailsDto> fetchCustomerDetails(String mobileNumber, String correlationId);
 
+    /**
+     * Fetch customer details for several mobile numbers using a fixed number of queries and remote calls.
+     *
+     * @param mobileNumbers the customers' mobile numbers; duplicates are ignored
+     * @return a {@code ResponseEntity} with one {@code CustomerDetailsDto} per registered customer, in request order.
+     *         Mobile numbers without a customer or account are left out of the response.
+     */
+    ResponseEntity<List<CustomerDetailsDto>> fetchCustomerDetailsBatch(List<String> mobileNumbers, String correlationId);
+
 }
@@ -1,13 +1,87 @@
 package com.saugat.accounts.service.client;
 
+import com.saugat.accounts.cache.LastKnownGoodCache;
+import com.saugat.accounts.config.LastKnownGoodProperties;
 import com.saugat.accounts.dto.CardsDto;
+import feign.FeignException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.openfeign.FallbackFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Answers for the cards service while it is unavailable: the last card details it returned for the customer,
+ * marked as stale, or {@code null} when there are none. A 404 is not unavailability: the cards service has
+ * answered that it has nothing for the customer, so the stored copy is dropped and the 404 passed on without a body.
+ */
 @Component
-public class CardsFallBack implements CardsFeignClient{
+public class CardsFallBack implements CardsFeignClient, FallbackFactory<CardsFeignClient> {
+
+    private final LastKnownGoodCache<CardsDto> lastKnownGood;
+
+    public CardsFallBack(LastKnownGoodProperties properties, MeterRegistry meterRegistry) {
+        this.lastKnownGood = new LastKnownGoodCache<>(DownstreamBulkheads.CARDS, properties, meterRegistry);
+    }
+
+    /**
+     * Keeps card details returned by the cards service for when it cannot be reached.
+     */
+    public void remember(CardsDto cardsDto) {
+        if (cardsDto != null && cardsDto.getMobileNumber() != null) {
+            lastKnownGood.remember(cardsDto.getMobileNumber(), cardsDto);
+        }
+    }
+
+    @Override
+    public CardsFeignClient create(Throwable cause) {
+        return isNotFound(cause) ? new NotFound() : this;
+    }
+
     @Override
     public ResponseEntity<CardsDto> fetchCardDetails(String correlationId, String mobileNumber) {
-        return null;
+        LastKnownGoodCache.Entry<CardsDto> entry = lastKnownGood.lookup(mobileNumber);
+        return entry != null ? LastKnownGoodCache.staleResponse(entry.value(), entry.fetchedAt()) : null;
+    }
+
+    @Override
+    public ResponseEntity<List<CardsDto>> fetchCardDetailsBatch(String correlationId, List<String> mobileNumbers) {
+        List<CardsDto> cardsDtos = new ArrayList<>();
+        Instant oldest = null;
+        for (String mobileNumber : mobileNumbers) {
+            LastKnownGoodCache.Entry<CardsDto> entry = lastKnownGood.lookup(mobileNumber);
+            if (entry != null) {
+                cardsDtos.add(entry.value());
+                oldest = oldest == null || entry.fetchedAt().isBefore(oldest) ? entry.fetchedAt() : oldest;
+            }
+        }
+        return oldest != null ? LastKnownGoodCache.staleResponse(cardsDtos, oldest) : null;
+    }
+
+    private static boolean isNotFound(Throwable cause) {
+        for (Throwable t = cause; t != null; t = t.getCause()) {
+            if (t instanceof FeignException.NotFound) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private class NotFound implements CardsFeignClient {
+
+        @Override
+        public ResponseEntity<CardsDto> fetchCardDetails(String correlationId, String mobileNumber) {
+            lastKnownGood.forget(mobileNumber);
+            return ResponseEntity.notFound().build();
+        }
+
+        @Override
+        public ResponseEntity<List<CardsDto>> fetchCardDetailsBatch(String correlationId, List<String> mobileNumbers) {
+            mobileNumbers.forEach(lastKnownGood::forget);
+            return ResponseEntity.notFound().build();
+        }
     }
 }
@@ -4,13 +4,21 @@ import com.saugat.accounts.dto.CardsDto;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 
-@FeignClient(name = "cards", fallback = CardsFallBack.class)
+import java.util.List;
+
+@FeignClient(name = "cards", fallbackFactory = CardsFallBack.class)
 public interface CardsFeignClient {
 
     @GetMapping(path = "/api/fetch", consumes = "application/json")
     public ResponseEntity<CardsDto> fetchCardDetails(@RequestHeader("eazybank-correlation-id")
                                                          String correlationId, @RequestParam String mobileNumber);
+
+    @PostMapping(path = "/api/fetch/batch", consumes = "application/json")
+    public ResponseEntity<List<CardsDto>> fetchCardDetailsBatch(@RequestHeader("eazybank-correlation-id")
+                                                                    String correlationId, @RequestBody List<String> mobileNumbers);
 }
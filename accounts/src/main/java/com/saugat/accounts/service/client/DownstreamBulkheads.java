@@ -0,0 +1,207 @@
+package com.saugat.accounts.service.client;
+
+import com.saugat.accounts.config.BulkheadProperties;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkhead;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the loans and cards calls apart, so a slow downstream can tie up at most its own share of threads.
+ * <p>
+ * Each downstream has a Resilience4j semaphore bulkhead and a thread-pool bulkhead of the same name;
+ * {@code accounts.bulkhead.<downstream>} selects which one is used. A call that does not get a permit (or a
+ * pool slot) is not attempted: the downstream's fallback answers at once instead of waiting on a call that would
+ * most likely time out. Metrics, tagged by downstream: {@value #CONCURRENT_CALLS_GAUGE},
+ * {@value #QUEUE_DEPTH_GAUGE} (callers waiting for a permit, or calls queued for the pool) and
+ * {@value #REJECTED_COUNTER}.
+ */
+@Component
+public class DownstreamBulkheads {
+
+    public static final String LOANS = "loans";
+    public static final String CARDS = "cards";
+
+    public static final String CONCURRENT_CALLS_GAUGE = "accounts.bulkhead.concurrent.calls";
+    public static final String QUEUE_DEPTH_GAUGE = "accounts.bulkhead.queue.depth";
+    public static final String REJECTED_COUNTER = "accounts.bulkhead.rejected";
+
+    private static final Logger logger = LoggerFactory.getLogger(DownstreamBulkheads.class);
+
+    private final BulkheadProperties properties;
+    private final Map<String, Guard> guards;
+
+    public DownstreamBulkheads(BulkheadProperties properties, BulkheadRegistry bulkheadRegistry,
+                               ThreadPoolBulkheadRegistry threadPoolBulkheadRegistry, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.guards = Map.of(
+                LOANS, new Guard(LOANS, bulkheadRegistry.bulkhead(LOANS), threadPoolBulkheadRegistry.bulkhead(LOANS)),
+                CARDS, new Guard(CARDS, bulkheadRegistry.bulkhead(CARDS), threadPoolBulkheadRegistry.bulkhead(CARDS)));
+        guards.values().forEach(guard -> guard.registerMetrics(meterRegistry));
+    }
+
+    /**
+     * Starts the call under the downstream's bulkhead: on {@code executor} for a semaphore bulkhead, on the
+     * bulkhead's own pool otherwise. When the bulkhead is full the returned future already holds the fallback's
+     * answer. Rejections by {@code executor} itself are passed on to the caller.
+     */
+    public <T> CompletableFuture<T> submit(String downstream, Supplier<T> call, Supplier<T> fallback,
+                                           Executor executor) {
+        Guard guard = guards.get(downstream);
+        if (typeOf(downstream) == BulkheadProperties.Type.THREAD_POOL) {
+            try {
+                return guard.threadPool().executeSupplier(withMdc(call)).toCompletableFuture();
+            } catch (BulkheadFullException ex) {
+                return reject(guard, fallback);
+            }
+        }
+
+        Bulkhead semaphore = guard.semaphore();
+        guard.waiting().incrementAndGet();
+        boolean permitted;
+        try {
+            permitted = semaphore.tryAcquirePermission();
+        } finally {
+            guard.waiting().decrementAndGet();
+        }
+        if (!permitted) {
+            return reject(guard, fallback);
+        }
+        CompletableFuture<T> result = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                try {
+                    result.complete(call.get());
+                } catch (Throwable ex) {
+                    result.completeExceptionally(ex);
+                } finally {
+                    semaphore.onComplete();
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            semaphore.releasePermission();
+            throw ex;
+        }
+        return result;
+    }
+
+    /**
+     * Runs the call under the downstream's bulkhead and waits for it; the fallback answers when the bulkhead is
+     * full.
+     */
+    public <T> T call(String downstream, Supplier<T> call, Supplier<T> fallback) {
+        try {
+            return submit(downstream, call, fallback, Runnable::run).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw ex;
+        }
+    }
+
+    private BulkheadProperties.Type typeOf(String downstream) {
+        return CARDS.equals(downstream) ? properties.getCards() : properties.getLoans();
+    }
+
+    private static <T> CompletableFuture<T> reject(Guard guard, Supplier<T> fallback) {
+        guard.rejected().increment();
+        logger.debug("Bulkhead for {} is full, answering from the fallback", guard.name());
+        return CompletableFuture.completedFuture(fallback.get());
+    }
+
+    private static <T> Supplier<T> withMdc(Supplier<T> call) {
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        return () -> {
+            if (context != null) {
+                MDC.setContextMap(context);
+            }
+            try {
+                return call.get();
+            } finally {
+                MDC.clear();
+            }
+        };
+    }
+
+    private final class Guard {
+
+        private final String name;
+        private final Bulkhead semaphore;
+        private final ThreadPoolBulkhead threadPool;
+        private final AtomicInteger waiting = new AtomicInteger();
+        private Counter rejected;
+
+        Guard(String name, Bulkhead semaphore, ThreadPoolBulkhead threadPool) {
+            this.name = name;
+            this.semaphore = semaphore;
+            this.threadPool = threadPool;
+        }
+
+        void registerMetrics(MeterRegistry meterRegistry) {
+            Gauge.builder(CONCURRENT_CALLS_GAUGE, this, Guard::concurrentCalls)
+                    .description("Calls to the downstream in flight")
+                    .tag("downstream", name)
+                    .register(meterRegistry);
+            Gauge.builder(QUEUE_DEPTH_GAUGE, this, Guard::queueDepth)
+                    .description("Calls waiting for the downstream's bulkhead")
+                    .tag("downstream", name)
+                    .register(meterRegistry);
+            rejected = Counter.builder(REJECTED_COUNTER)
+                    .description("Calls answered by the fallback because the downstream's bulkhead was full")
+                    .tag("downstream", name)
+                    .register(meterRegistry);
+        }
+
+        double concurrentCalls() {
+            if (typeOf(name) == BulkheadProperties.Type.THREAD_POOL) {
+                return threadPool.getMetrics().getActiveThreadCount();
+            }
+            return semaphore.getBulkheadConfig().getMaxConcurrentCalls()
+                    - semaphore.getMetrics().getAvailableConcurrentCalls();
+        }
+
+        double queueDepth() {
+            if (typeOf(name) == BulkheadProperties.Type.THREAD_POOL) {
+                return threadPool.getMetrics().getQueueDepth();
+            }
+            return waiting.get();
+        }
+
+        String name() {
+            return name;
+        }
+
+        Bulkhead semaphore() {
+            return semaphore;
+        }
+
+        ThreadPoolBulkhead threadPool() {
+            return threadPool;
+        }
+
+        AtomicInteger waiting() {
+            return waiting;
+        }
+
+        Counter rejected() {
+            return rejected;
+        }
+    }
+}
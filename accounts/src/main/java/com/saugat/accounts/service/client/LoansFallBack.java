@@ -1,14 +1,87 @@
 package com.saugat.accounts.service.client;
 
+import com.saugat.accounts.cache.LastKnownGoodCache;
+import com.saugat.accounts.config.LastKnownGoodProperties;
 import com.saugat.accounts.dto.LoansDto;
+import feign.FeignException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.openfeign.FallbackFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Answers for the loans service while it is unavailable: the last loan details it returned for the customer,
+ * marked as stale, or {@code null} when there are none. A 404 is not unavailability: the loans service has
+ * answered that it has nothing for the customer, so the stored copy is dropped and the 404 passed on without a body.
+ */
 @Component
-public class LoansFallBack implements LoansFeignClient{
+public class LoansFallBack implements LoansFeignClient, FallbackFactory<LoansFeignClient> {
+
+    private final LastKnownGoodCache<LoansDto> lastKnownGood;
+
+    public LoansFallBack(LastKnownGoodProperties properties, MeterRegistry meterRegistry) {
+        this.lastKnownGood = new LastKnownGoodCache<>(DownstreamBulkheads.LOANS, properties, meterRegistry);
+    }
+
+    /**
+     * Keeps loan details returned by the loans service for when it cannot be reached.
+     */
+    public void remember(LoansDto loansDto) {
+        if (loansDto != null && loansDto.getMobileNumber() != null) {
+            lastKnownGood.remember(loansDto.getMobileNumber(), loansDto);
+        }
+    }
+
+    @Override
+    public LoansFeignClient create(Throwable cause) {
+        return isNotFound(cause) ? new NotFound() : this;
+    }
 
     @Override
     public ResponseEntity<LoansDto> fetchLoanDetails(String correlationId, String mobileNumber) {
-        return null;
+        LastKnownGoodCache.Entry<LoansDto> entry = lastKnownGood.lookup(mobileNumber);
+        return entry != null ? LastKnownGoodCache.staleResponse(entry.value(), entry.fetchedAt()) : null;
+    }
+
+    @Override
+    public ResponseEntity<List<LoansDto>> fetchLoanDetailsBatch(String correlationId, List<String> mobileNumbers) {
+        List<LoansDto> loansDtos = new ArrayList<>();
+        Instant oldest = null;
+        for (String mobileNumber : mobileNumbers) {
+            LastKnownGoodCache.Entry<LoansDto> entry = lastKnownGood.lookup(mobileNumber);
+            if (entry != null) {
+                loansDtos.add(entry.value());
+                oldest = oldest == null || entry.fetchedAt().isBefore(oldest) ? entry.fetchedAt() : oldest;
+            }
+        }
+        return oldest != null ? LastKnownGoodCache.staleResponse(loansDtos, oldest) : null;
+    }
+
+    private static boolean isNotFound(Throwable cause) {
+        for (Throwable t = cause; t != null; t = t.getCause()) {
+            if (t instanceof FeignException.NotFound) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private class NotFound implements LoansFeignClient {
+
+        @Override
+        public ResponseEntity<LoansDto> fetchLoanDetails(String correlationId, String mobileNumber) {
+            lastKnownGood.forget(mobileNumber);
+            return ResponseEntity.notFound().build();
+        }
+
+        @Override
+        public ResponseEntity<List<LoansDto>> fetchLoanDetailsBatch(String correlationId, List<String> mobileNumbers) {
+            mobileNumbers.forEach(lastKnownGood::forget);
+            return ResponseEntity.notFound().build();
+        }
     }
 }
@@ -1,5 +1,6 @@
 package com.saugat.accounts.service.impl;
 
+import com.saugat.accounts.cache.CustomerDetailsCache;
 import com.saugat.accounts.constants.AccountsConstants;
 import com.saugat.accounts.dto.AccountsDto;
 import com.saugat.accounts.dto.CustomerDto;
@@ -7,17 +8,27 @@ import com.saugat.accounts.entity.Accounts;
 import com.saugat.accounts.entity.Customer;
 import com.saugat.accounts.exception.CustomerAlreadyExistsException;
 import com.saugat.accounts.exception.ResourceNotFoundException;
+import com.saugat.accounts.generator.BlockNumberAllocator;
 import com.saugat.accounts.mapper.AccountsMapper;
 import com.saugat.accounts.mapper.CustomerMapper;
 import com.saugat.accounts.repository.AccountsRepository;
+import com.saugat.accounts.repository.CustomerAccountsRow;
 import com.saugat.accounts.repository.CustomerRepository;
+import com.saugat.accounts.repository.CustomerWithAccounts;
 import com.saugat.accounts.service.IAccountsService;
+import jakarta.persistence.EntityManager;
 import lombok.AllArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.time.LocalDateTime;
-import java.util.Optional;
-import java.util.Random;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 
 @Service
 @AllArgsConstructor
@@ -25,32 +36,97 @@ public class AccountsServiceImpl implements IAccountsService {
 
     private AccountsRepository accountsRepository;
     private CustomerRepository customerRepository;
+    private CustomerDetailsCache customerDetailsCache;
+    private BlockNumberAllocator accountNumberAllocator;
+    private EntityManager entityManager;
 
     /**
+     * Relies on the unique constraint on {@code customer.mobile_number} to reject duplicates, so two concurrent
+     * requests for the same mobile number cannot both create a customer. Both rows go to the database in one
+     * flush at the end of a single transaction.
+     *
      * @param customerDto
      */
     @Override
+    @Transactional
     public void createAccount(CustomerDto customerDto) {
-        Customer customer = CustomerMapper.mapToCustomer(customerDto, new Customer());
+        Customer customer = customerRepository.save(CustomerMapper.mapToCustomer(customerDto, new Customer()));
+        entityManager.persist(createNewAccounts(customer));
+        flushNewCustomers(customerDto.getMobileNumber());
+    }
 
-        Optional<Customer> optionalCustomer = customerRepository.findByMobileNumber(customerDto.getMobileNumber());
-        if(optionalCustomer.isPresent()){
-            throw new CustomerAlreadyExistsException("Customer already registered with given mobileNumber "+ customerDto.getMobileNumber());
+    /**
+     * Creates every customer and account in one transaction, or none of them. Rows are flushed every
+     * {@link AccountsConstants#ONBOARDING_FLUSH_SIZE} customers as JDBC batches (customers first, then accounts)
+     * and then detached, so the persistence context stays small however many customers the request carries.
+     *
+     * @param customerDtos
+     * @return number of accounts created
+     */
+    @Override
+    @Transactional
+    public int createAccounts(List<CustomerDto> customerDtos) {
+        Set<String> mobileNumbers = new HashSet<>();
+        for (CustomerDto customerDto : customerDtos) {
+            if (!mobileNumbers.add(customerDto.getMobileNumber())) {
+                throw new CustomerAlreadyExistsException("Mobile number " + customerDto.getMobileNumber()
+                        + " appears more than once in the request");
+            }
+        }
+        customerRepository.findByMobileNumberIn(mobileNumbers).stream().findFirst().ifPresent(existing -> {
+            throw new CustomerAlreadyExistsException("Customer already registered with given mobileNumber "
+                    + existing.getMobileNumber());
+        });
+
+        for (int i = 0; i < customerDtos.size(); i++) {
+            Customer customer = customerRepository.save(CustomerMapper.mapToCustomer(customerDtos.get(i), new Customer()));
+            entityManager.persist(createNewAccounts(customer));
+            if ((i + 1) % AccountsConstants.ONBOARDING_FLUSH_SIZE == 0 || i == customerDtos.size() - 1) {
+                flushNewCustomers(null);
+                entityManager.clear();
+            }
         }
-        Customer savedCustomer = customerRepository.save(customer);
-        accountsRepository.save(createNewAccounts(savedCustomer));
+        return customerDtos.size();
     }
 
     /**
+     * Sends the pending inserts, turning a clash on the mobile number constraint (a concurrent create for the same
+     * number) into {@link CustomerAlreadyExistsException}.
+     *
+     * @param mobileNumber the number being created, or null when flushing a batch
+     */
+    private void flushNewCustomers(String mobileNumber) {
+        try {
+            customerRepository.flush();
+        } catch (DataIntegrityViolationException ex) {
+            if (isDuplicateMobileNumber(ex)) {
+                throw new CustomerAlreadyExistsException(mobileNumber != null
+                        ? "Customer already registered with given mobileNumber " + mobileNumber
+                        : "A customer in the request was registered concurrently");
+            }
+            throw ex;
+        }
+    }
+
+    private static boolean isDuplicateMobileNumber(DataIntegrityViolationException ex) {
+        String violated = ex.getCause() instanceof ConstraintViolationException violation
+                && violation.getConstraintName() != null
+                ? violation.getConstraintName()
+                : String.valueOf(ex.getMostSpecificCause().getMessage());
+        return violated.toLowerCase(Locale.ROOT).contains(AccountsConstants.MOBILE_NUMBER_CONSTRAINT);
+    }
+
+    /**
+     * The account number is assigned here rather than generated, so the account must be persisted directly:
+     * {@code accountsRepository.save} would take it for an existing row and SELECT it before inserting.
+     *
      * @param customer
      * @return
      */
     private Accounts createNewAccounts(Customer customer){
         Accounts newAccounts = new Accounts();
         newAccounts.setCustomerId(customer.getCustomerId());
-        long randomAccNumber = 1000000000L + new Random().nextInt(900000000);
-
-        newAccounts.setAccountNumber(randomAccNumber);
+        newAccounts.setAccountNumber(accountNumberAllocator.next());
         newAccounts.setAccountType(AccountsConstants.SAVINGS);
         newAccounts.setBranchAddress(AccountsConstants.ADDRESS);
 
@@ -58,28 +134,34 @@ public class AccountsServiceImpl implements IAccountsService {
     }
 
     /**
+     * One read-only query for both rows, selecting only the columns the DTO carries.
+     *
      * @param mobileNumber
      * @return
      */
     @Override
     public CustomerDto fetchAccountDetails(String mobileNumber) {
-        Customer customer = customerRepository.findByMobileNumber(mobileNumber).orElseThrow(
+        CustomerAccountsRow row = customerRepository.findCustomerAccountsByMobileNumber(mobileNumber).orElseThrow(
                 () -> new ResourceNotFoundException("Customer", "mobileNumber", mobileNumber)
         );
-        Accounts accounts = accountsRepository.findByCustomerId(customer.getCustomerId()).orElseThrow(
-                () -> new ResourceNotFoundException("Accounts", "customerId", customer.getCustomerId().toString())
-        );
-        CustomerDto customerDto = CustomerMapper.mapToCustomerDto(customer, new CustomerDto());
-        customerDto.setAccountsDto(AccountsMapper.mapToAccountsDto(accounts, new AccountsDto()));
+        if (row.accountNumber() == null) {
+            throw new ResourceNotFoundException("Accounts", "customerId", row.customerId().toString());
+        }
+        CustomerDto customerDto = CustomerMapper.mapToCustomerDto(row, new CustomerDto());
+        customerDto.setAccountsDto(AccountsMapper.mapToAccountsDto(row, new AccountsDto()));
 
         return customerDto;
     }
 
     /**
+     * Both rows are loaded and changed in one transaction; dirty checking writes them on commit, and the cached
+     * details are dropped only once the change is visible to other readers.
+     *
      * @param customerDto
      * @return
      */
     @Override
+    @Transactional
     public boolean updateAccountsDetails(CustomerDto customerDto) {
         boolean isUpdated = false;
 
@@ -90,31 +172,57 @@ public class AccountsServiceImpl implements IAccountsService {
             );
 
             AccountsMapper.mapToAccounts(accountsDto, accounts);
-            accounts = accountsRepository.save(accounts);
 
             Long customerId = accounts.getCustomerId();
             Customer customer = customerRepository.findById(customerId).orElseThrow(
                     ()-> new ResourceNotFoundException("Customer", "CustomerID", customerId.toString())
             );
 
+            String previousMobileNumber = customer.getMobileNumber();
             CustomerMapper.mapToCustomer(customerDto, customer);
-            customerRepository.save(customer);
+            invalidateAfterCommit(previousMobileNumber, customerDto.getMobileNumber());
             isUpdated = true;
         }
         return isUpdated;
     }
 
     /**
+     * Loads both rows with one joined query and removes them as entities: one SELECT and two DELETEs.
+     *
      * @param mobileNumber
      * @return
      */
     @Override
+    @Transactional
     public boolean deleteAccountDetails(String mobileNumber) {
-        Customer customer = customerRepository.findByMobileNumber(mobileNumber).orElseThrow(
+        CustomerWithAccounts customerWithAccounts = customerRepository.findWithAccountsByMobileNumber(mobileNumber).orElseThrow(
                 () -> new ResourceNotFoundException("Customer", "MobileNumber", mobileNumber)
         );
-        accountsRepository.deleteByCustomerId(customer.getCustomerId());
-        customerRepository.deleteById(customer.getCustomerId());
+        if (customerWithAccounts.accounts() != null) {
+            accountsRepository.delete(customerWithAccounts.accounts());
+        }
+        customerRepository.delete(customerWithAccounts.customer());
+        invalidateAfterCommit(mobileNumber);
         return true;
     }
+
+    /**
+     * Invalidating before the commit would let a concurrent read cache the old rows again.
+     */
+    private void invalidateAfterCommit(String... mobileNumbers) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            for (String mobileNumber : mobileNumbers) {
+                customerDetailsCache.invalidate(mobileNumber);
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                for (String mobileNumber : mobileNumbers) {
+                    customerDetailsCache.invalidate(mobileNumber);
+                }
+            }
+        });
+    }
 }
@@ -1,32 +1,84 @@
 package com.saugat.accounts.service.impl;
 
+import com.saugat.accounts.cache.CustomerDetailsCache;
+import com.saugat.accounts.cache.LastKnownGoodCache;
+import com.saugat.accounts.config.AggregationConfig;
+import com.saugat.accounts.config.AggregationProperties;
 import com.saugat.accounts.dto.AccountsDto;
 import com.saugat.accounts.dto.CardsDto;
 import com.saugat.accounts.dto.CustomerDetailsDto;
 import com.saugat.accounts.dto.LoansDto;
-import com.saugat.accounts.entity.Accounts;
-import com.saugat.accounts.entity.Customer;
 import com.saugat.accounts.exception.ResourceNotFoundException;
 import com.saugat.accounts.mapper.AccountsMapper;
 import com.saugat.accounts.mapper.CustomerMapper;
-import com.saugat.accounts.repository.AccountsRepository;
+import com.saugat.accounts.repository.CustomerAccountsRow;
 import com.saugat.accounts.repository.CustomerRepository;
 import com.saugat.accounts.service.ICustomerDetailsService;
+import com.saugat.accounts.service.client.CardsFallBack;
 import com.saugat.accounts.service.client.CardsFeignClient;
+import com.saugat.accounts.service.client.DownstreamBulkheads;
+import com.saugat.accounts.service.client.LoansFallBack;
 import com.saugat.accounts.service.client.LoansFeignClient;
-import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
 @Service
-@AllArgsConstructor
 public class CustomerServiceDetailsImpl implements ICustomerDetailsService {
 
-    private CustomerRepository customerRepository;
-    private AccountsRepository accountsRepository;
-    private LoansFeignClient loansFeignClient;
-    private CardsFeignClient cardsFeignClient;
+    private static final Logger logger = LoggerFactory.getLogger(CustomerServiceDetailsImpl.class);
+
+    private static final String CORRELATION_ID = "eazybank-correlation-id";
+
+    private final CustomerRepository customerRepository;
+    private final LoansFeignClient loansFeignClient;
+    private final CardsFeignClient cardsFeignClient;
+    private final LoansFallBack loansFallBack;
+    private final CardsFallBack cardsFallBack;
+    private final DownstreamBulkheads bulkheads;
+    private final AggregationProperties aggregationProperties;
+    private final Executor aggregationExecutor;
+    private final CustomerDetailsCache customerDetailsCache;
+
+    public CustomerServiceDetailsImpl(CustomerRepository customerRepository,
+                                      LoansFeignClient loansFeignClient,
+                                      CardsFeignClient cardsFeignClient,
+                                      LoansFallBack loansFallBack,
+                                      CardsFallBack cardsFallBack,
+                                      DownstreamBulkheads bulkheads,
+                                      AggregationProperties aggregationProperties,
+                                      @Qualifier(AggregationConfig.AGGREGATION_EXECUTOR) Executor aggregationExecutor,
+                                      CustomerDetailsCache customerDetailsCache) {
+        this.customerRepository = customerRepository;
+        this.loansFeignClient = loansFeignClient;
+        this.cardsFeignClient = cardsFeignClient;
+        this.loansFallBack = loansFallBack;
+        this.cardsFallBack = cardsFallBack;
+        this.bulkheads = bulkheads;
+        this.aggregationProperties = aggregationProperties;
+        this.aggregationExecutor = aggregationExecutor;
+        this.customerDetailsCache = customerDetailsCache;
+    }
 
     /**
      * Fetch customer details for the given mobile number.
@@ -42,26 +94,232 @@ public class CustomerServiceDetailsImpl implements ICustomerDetailsService {
      */
     @Override
     public ResponseEntity<CustomerDetailsDto> fetchCustomerDetails(String mobileNumber, String correlationId) {
+        CustomerDetailsDto customerDetailsDto = customerDetailsCache.get(mobileNumber,
+                () -> assembleCustomerDetails(mobileNumber, correlationId));
+        return ResponseEntity.status(HttpStatus.OK).body(customerDetailsDto);
+    }
+
+    private CustomerDetailsDto assembleCustomerDetails(String mobileNumber, String correlationId) {
+        Aggregate<CustomerDetailsDto, ResponseEntity<LoansDto>, ResponseEntity<CardsDto>> aggregate = aggregate(
+                () -> fetchLocalDetails(mobileNumber),
+                new Downstream<>(DownstreamBulkheads.LOANS,
+                        () -> loansFeignClient.fetchLoanDetails(correlationId, mobileNumber),
+                        () -> loansFallBack.fetchLoanDetails(correlationId, mobileNumber)),
+                new Downstream<>(DownstreamBulkheads.CARDS,
+                        () -> cardsFeignClient.fetchCardDetails(correlationId, mobileNumber),
+                        () -> cardsFallBack.fetchCardDetails(correlationId, mobileNumber)),
+                correlationId);
+
+        CustomerDetailsDto customerDetailsDto = aggregate.local();
+        LoansDto loansDto = body(aggregate.loans());
+        CardsDto cardsDto = body(aggregate.cards());
+        customerDetailsDto.setLoansDto(loansDto);
+        customerDetailsDto.setCardsDto(cardsDto);
+        Instant loansFetchedAt = fetchedAt(aggregate.loans());
+        if (aggregate.loans() == null) {
+            customerDetailsDto.markUnavailable(DownstreamBulkheads.LOANS);
+        } else if (loansFetchedAt != null) {
+            customerDetailsDto.markStale(DownstreamBulkheads.LOANS, loansFetchedAt);
+        } else {
+            loansFallBack.remember(loansDto);
+        }
+        Instant cardsFetchedAt = fetchedAt(aggregate.cards());
+        if (aggregate.cards() == null) {
+            customerDetailsDto.markUnavailable(DownstreamBulkheads.CARDS);
+        } else if (cardsFetchedAt != null) {
+            customerDetailsDto.markStale(DownstreamBulkheads.CARDS, cardsFetchedAt);
+        } else {
+            cardsFallBack.remember(cardsDto);
+        }
+        return customerDetailsDto;
+    }
+
+    /**
+     * Resolves all customers with their accounts in one joined {@code IN} query and fetches their loans and cards with
+     * one batch call per downstream, so the cost of a batch does not grow with its size.
+     */
+    @Override
+    public ResponseEntity<List<CustomerDetailsDto>> fetchCustomerDetailsBatch(List<String> mobileNumbers, String correlationId) {
+        List<String> distinctMobileNumbers = new ArrayList<>(new LinkedHashSet<>(mobileNumbers));
+        Aggregate<List<CustomerDetailsDto>, ResponseEntity<List<LoansDto>>, ResponseEntity<List<CardsDto>>> aggregate =
+                aggregate(
+                        () -> fetchLocalDetails(distinctMobileNumbers),
+                        new Downstream<>(DownstreamBulkheads.LOANS,
+                                () -> loansFeignClient.fetchLoanDetailsBatch(correlationId, distinctMobileNumbers),
+                                () -> loansFallBack.fetchLoanDetailsBatch(correlationId, distinctMobileNumbers)),
+                        new Downstream<>(DownstreamBulkheads.CARDS,
+                                () -> cardsFeignClient.fetchCardDetailsBatch(correlationId, distinctMobileNumbers),
+                                () -> cardsFallBack.fetchCardDetailsBatch(correlationId, distinctMobileNumbers)),
+                        correlationId);
+
+        Map<String, LoansDto> loansByMobileNumber = indexByMobileNumber(body(aggregate.loans()), LoansDto::getMobileNumber);
+        Map<String, CardsDto> cardsByMobileNumber = indexByMobileNumber(body(aggregate.cards()), CardsDto::getMobileNumber);
+        Instant loansFetchedAt = fetchedAt(aggregate.loans());
+        Instant cardsFetchedAt = fetchedAt(aggregate.cards());
+        if (loansFetchedAt == null) {
+            loansByMobileNumber.values().forEach(loansFallBack::remember);
+        }
+        if (cardsFetchedAt == null) {
+            cardsByMobileNumber.values().forEach(cardsFallBack::remember);
+        }
+        for (CustomerDetailsDto customerDetailsDto : aggregate.local()) {
+            LoansDto loansDto = loansByMobileNumber.get(customerDetailsDto.getMobileNumber());
+            CardsDto cardsDto = cardsByMobileNumber.get(customerDetailsDto.getMobileNumber());
+            customerDetailsDto.setLoansDto(loansDto);
+            customerDetailsDto.setCardsDto(cardsDto);
+            // a batch answered from last-known-good copies says nothing about customers it has no copy for
+            if (aggregate.loans() == null || (loansDto == null && loansFetchedAt != null)) {
+                customerDetailsDto.markUnavailable(DownstreamBulkheads.LOANS);
+            } else if (loansFetchedAt != null) {
+                customerDetailsDto.markStale(DownstreamBulkheads.LOANS, loansFetchedAt);
+            }
+            if (aggregate.cards() == null || (cardsDto == null && cardsFetchedAt != null)) {
+                customerDetailsDto.markUnavailable(DownstreamBulkheads.CARDS);
+            } else if (cardsFetchedAt != null) {
+                customerDetailsDto.markStale(DownstreamBulkheads.CARDS, cardsFetchedAt);
+            }
+        }
+        return ResponseEntity.status(HttpStatus.OK).body(aggregate.local());
+    }
+
+    /**
+     * Runs the local lookup and the loans and cards lookups, either one after the other or, in concurrent mode,
+     * at the same time. In concurrent mode each call gets its own deadline and all of them share a total deadline;
+     * a loans or cards call that misses either of them, or fails, is answered by its fallback while the rest of the
+     * response is still built. A failed local lookup always fails the request. The loans and cards calls go through their
+     * {@link DownstreamBulkheads}; when one is full its fallback answers without a call being made.
+     * <p>
+     * A call that misses its deadline is not interrupted: it keeps its aggregation thread until it ends by itself,
+     * which the Feign and circuit-breaker timeouts of the loans and cards clients keep within the call deadline.
+     */
+    private <T, L, C> Aggregate<T, L, C> aggregate(Supplier<T> localLookup, Downstream<L> loans,
+                                                   Downstream<C> cards, String correlationId) {
+        if (!aggregationProperties.isConcurrent()) {
+            T local = localLookup.get();
+            return new Aggregate<>(local,
+                    bulkheads.call(loans.name(), loans.call(), loans.fallback()),
+                    bulkheads.call(cards.name(), cards.call(), cards.fallback()));
+        }
+
+        Duration callTimeout = aggregationProperties.getCallTimeout();
+        long deadline = System.nanoTime() + aggregationProperties.getTotalTimeout().toNanos();
+
+        MDC.put(CORRELATION_ID, correlationId);
+        try {
+            CompletableFuture<T> localFuture = submit(localLookup, callTimeout);
+            CompletableFuture<L> loansFuture = submit(loans, callTimeout);
+            CompletableFuture<C> cardsFuture = submit(cards, callTimeout);
+
+            T local = awaitRequired(localFuture, deadline);
+            return new Aggregate<>(local,
+                    awaitOptional(loansFuture, deadline, loans, correlationId),
+                    awaitOptional(cardsFuture, deadline, cards, correlationId));
+        } finally {
+            MDC.remove(CORRELATION_ID);
+        }
+    }
 
-        Customer customer = customerRepository.findByMobileNumber(mobileNumber).orElseThrow(
+    private CustomerDetailsDto fetchLocalDetails(String mobileNumber) {
+        CustomerAccountsRow row = customerRepository.findCustomerAccountsByMobileNumber(mobileNumber).orElseThrow(
                 () -> new ResourceNotFoundException("Customer", "mobileNumber", mobileNumber)
         );
-        Accounts accounts = accountsRepository.findByCustomerId(customer.getCustomerId()).orElseThrow(
-                () -> new ResourceNotFoundException("Accounts", "customerId", customer.getCustomerId().toString())
-        );
+        if (row.accountNumber() == null) {
+            throw new ResourceNotFoundException("Accounts", "customerId", row.customerId().toString());
+        }
+        return toCustomerDetailsDto(row);
+    }
 
-        CustomerDetailsDto customerDetailsDto = CustomerMapper.mapToCustomerDetailsDto(customer, new CustomerDetailsDto());
-        customerDetailsDto.setAccountsDto(AccountsMapper.mapToAccountsDto(accounts, new AccountsDto()));
+    private List<CustomerDetailsDto> fetchLocalDetails(List<String> mobileNumbers) {
+        Map<String, CustomerAccountsRow> rowsByMobileNumber = customerRepository
+                .findCustomerAccountsByMobileNumberIn(mobileNumbers).stream()
+                .collect(Collectors.toMap(CustomerAccountsRow::mobileNumber, Function.identity(), (first, second) -> first));
 
-        ResponseEntity<LoansDto> loansDtoResponseEntity = loansFeignClient.fetchLoanDetails(correlationId, mobileNumber);
-        if(null != loansDtoResponseEntity){
-            customerDetailsDto.setLoansDto(loansDtoResponseEntity.getBody());
+        List<CustomerDetailsDto> customerDetailsDtos = new ArrayList<>(rowsByMobileNumber.size());
+        for (String mobileNumber : mobileNumbers) {
+            CustomerAccountsRow row = rowsByMobileNumber.get(mobileNumber);
+            if (row != null) {
+                customerDetailsDtos.add(toCustomerDetailsDto(row));
+            }
         }
-        ResponseEntity<CardsDto> cardsDtoResponseEntity = cardsFeignClient.fetchCardDetails(correlationId, mobileNumber);
-        if(null != cardsDtoResponseEntity){
-            customerDetailsDto.setCardsDto(cardsDtoResponseEntity.getBody());
+        return customerDetailsDtos;
+    }
+
+    private static CustomerDetailsDto toCustomerDetailsDto(CustomerAccountsRow row) {
+        CustomerDetailsDto customerDetailsDto = CustomerMapper.mapToCustomerDetailsDto(row, new CustomerDetailsDto());
+        customerDetailsDto.setAccountsDto(AccountsMapper.mapToAccountsDto(row, new AccountsDto()));
+        return customerDetailsDto;
+    }
+
+    private static <T> T body(ResponseEntity<T> responseEntity) {
+        return null != responseEntity ? responseEntity.getBody() : null;
+    }
+
+    private static Instant fetchedAt(ResponseEntity<?> responseEntity) {
+        return null != responseEntity ? LastKnownGoodCache.fetchedAt(responseEntity) : null;
+    }
+
+    private static <T> Map<String, T> indexByMobileNumber(List<T> dtos, Function<T, String> mobileNumber) {
+        if (dtos == null) {
+            return Map.of();
         }
+        return dtos.stream().collect(Collectors.toMap(mobileNumber, Function.identity(), (first, second) -> first));
+    }
 
-        return ResponseEntity.status(HttpStatus.OK).body(customerDetailsDto);
+    private <T> CompletableFuture<T> submit(Supplier<T> supplier, Duration callTimeout) {
+        try {
+            return CompletableFuture.supplyAsync(supplier, aggregationExecutor)
+                    .orTimeout(callTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    private <T> CompletableFuture<T> submit(Downstream<T> downstream, Duration callTimeout) {
+        try {
+            return bulkheads.submit(downstream.name(), downstream.call(), downstream.fallback(), aggregationExecutor)
+                    .orTimeout(callTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    private static <T> T awaitRequired(CompletableFuture<T> future, long deadline) {
+        try {
+            return future.get(remaining(deadline), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Customer lookup failed", ex.getCause());
+        } catch (TimeoutException ex) {
+            throw new IllegalStateException("Customer lookup did not complete in time", ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while fetching customer details", ex);
+        }
+    }
+
+    private static <T> T awaitOptional(CompletableFuture<T> future, long deadline, Downstream<T> downstream,
+                                       String correlationId) {
+        try {
+            return future.get(remaining(deadline), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException | TimeoutException ex) {
+            logger.warn("Answering {} section from its fallback, correlation-id {}: {}",
+                    downstream.name(), correlationId, ex.toString());
+            return downstream.fallback().get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private static long remaining(long deadline) {
+        return Math.max(0L, deadline - System.nanoTime());
+    }
+
+    private record Aggregate<T, L, C>(T local, L loans, C cards) {
+    }
+
+    private record Downstream<T>(String name, Supplier<T> call, Supplier<T> fallback) {
     }
 }
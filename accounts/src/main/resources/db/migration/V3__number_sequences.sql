@@ -0,0 +1,2 @@
+-- Each NEXT VALUE reserves a block of 100 numbers for one instance; starts above the old random range
+CREATE SEQUENCE `account_number_seq` START WITH 1900000000 INCREMENT BY 100;
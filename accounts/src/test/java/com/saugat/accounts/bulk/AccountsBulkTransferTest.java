@@ -0,0 +1,209 @@
+package com.saugat.accounts.bulk;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.saugat.accounts.constants.AccountsConstants;
+import com.saugat.accounts.dto.BulkCustomerDto;
+import com.saugat.accounts.dto.CustomerDto;
+import com.saugat.accounts.entity.Customer;
+import com.saugat.accounts.repository.AccountsRepository;
+import com.saugat.accounts.repository.CustomerRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Imports and exports customers through {@code /api/import} and {@code /api/export} of a running accounts
+ * service. Each test uses its own range of mobile numbers, as they share one database.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.cloud.config.enabled=false",
+        "eureka.client.enabled=false",
+        "spring.jpa.show-sql=false"
+})
+class AccountsBulkTransferTest {
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType(AccountsConstants.TEXT_CSV_VALUE);
+    private static final String CSV_HEADER = "name,email,mobileNumber,accountNumber,accountType,branchAddress";
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private AccountsRepository accountsRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void ndjsonRoundTrip() throws IOException {
+        List<BulkCustomerDto> customers = customers("91", 3);
+
+        assertEquals(HttpStatus.CREATED, importCustomers(ndjson(customers), MediaType.APPLICATION_NDJSON).getStatusCode());
+
+        List<BulkCustomerDto> exported = new ArrayList<>();
+        for (String line : export(MediaType.APPLICATION_NDJSON).split("\n")) {
+            BulkCustomerDto bulkCustomerDto = objectMapper.readValue(line, BulkCustomerDto.class);
+            if (bulkCustomerDto.getMobileNumber().startsWith("91")) {
+                exported.add(bulkCustomerDto);
+            }
+        }
+        assertEquals(customers, exported);
+    }
+
+    @Test
+    void csvRoundTrip() throws IOException {
+        List<BulkCustomerDto> customers = customers("92", 3);
+
+        assertEquals(HttpStatus.CREATED, importCustomers(csv(customers), TEXT_CSV).getStatusCode());
+
+        String body = export(TEXT_CSV);
+        assertTrue(body.startsWith(CSV_HEADER + "\n"), body);
+        List<BulkCustomerDto> exported = new ArrayList<>();
+        try (MappingIterator<BulkCustomerDto> records = new CsvMapper().readerFor(BulkCustomerDto.class)
+                .with(CsvSchema.emptySchema().withHeader()).readValues(body)) {
+            while (records.hasNextValue()) {
+                BulkCustomerDto bulkCustomerDto = records.nextValue();
+                if (bulkCustomerDto.getMobileNumber().startsWith("92")) {
+                    exported.add(bulkCustomerDto);
+                }
+            }
+        }
+        assertEquals(customers, exported);
+    }
+
+    @Test
+    void badRecordReportsTheRecordsAlreadyImported() {
+        List<BulkCustomerDto> customers = customers("93", AccountsConstants.IMPORT_BATCH_SIZE + 5);
+        customers.get(AccountsConstants.IMPORT_BATCH_SIZE + 1).setMobileNumber("93-invalid");
+
+        ResponseEntity<String> response = importCustomers(ndjson(customers), MediaType.APPLICATION_NDJSON);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertTrue(response.getBody().contains("Record " + (AccountsConstants.IMPORT_BATCH_SIZE + 2) + ":"),
+                response.getBody());
+        assertTrue(response.getBody().contains(AccountsConstants.IMPORT_BATCH_SIZE + " records were imported before it"),
+                response.getBody());
+        assertEquals(AccountsConstants.IMPORT_BATCH_SIZE, customersWithAccounts("93"));
+    }
+
+    @Test
+    void duplicateMobileNumberRollsBackOnlyItsBatch() {
+        List<BulkCustomerDto> customers = customers("94", AccountsConstants.IMPORT_BATCH_SIZE + 5);
+        customers.get(AccountsConstants.IMPORT_BATCH_SIZE + 3).setMobileNumber(customers.get(0).getMobileNumber());
+
+        ResponseEntity<String> response = importCustomers(ndjson(customers), MediaType.APPLICATION_NDJSON);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertTrue(response.getBody().contains("Records " + (AccountsConstants.IMPORT_BATCH_SIZE + 1) + " to "
+                + (AccountsConstants.IMPORT_BATCH_SIZE + 5) + " were rejected"), response.getBody());
+        assertEquals(AccountsConstants.IMPORT_BATCH_SIZE, customersWithAccounts("94"));
+    }
+
+    @Test
+    void createAfterAnImportDoesNotReuseItsIds() {
+        assertEquals(HttpStatus.CREATED, create("9500000099").getStatusCode());
+        List<BulkCustomerDto> customers = customers("95", 3);
+        customers.forEach(bulkCustomerDto -> bulkCustomerDto.setAccountNumber(null));
+        assertEquals(HttpStatus.CREATED, importCustomers(ndjson(customers), MediaType.APPLICATION_NDJSON).getStatusCode());
+
+        assertEquals(HttpStatus.CREATED, create("9500000100").getStatusCode());
+        assertEquals(HttpStatus.CREATED, create("9500000101").getStatusCode());
+        assertEquals(6, customersWithAccounts("95"));
+    }
+
+    private ResponseEntity<String> importCustomers(String body, MediaType contentType) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(contentType);
+        return restTemplate.postForEntity("/api/import", new HttpEntity<>(body, headers), String.class);
+    }
+
+    private String export(MediaType accept) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(accept));
+        ResponseEntity<String> response = restTemplate.exchange("/api/export", HttpMethod.GET,
+                new HttpEntity<>(headers), String.class);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(accept.isCompatibleWith(response.getHeaders().getContentType()));
+        return response.getBody();
+    }
+
+    private ResponseEntity<String> create(String mobileNumber) {
+        CustomerDto customerDto = new CustomerDto();
+        customerDto.setName("Eazy Bytes");
+        customerDto.setEmail("tutor@eazybytes.com");
+        customerDto.setMobileNumber(mobileNumber);
+        return restTemplate.postForEntity("/api/create", customerDto, String.class);
+    }
+
+    /**
+     * Customers whose mobile number starts with the prefix, counted only when their account is there too.
+     */
+    private long customersWithAccounts(String prefix) {
+        List<Long> customerIds = customerRepository.findAll().stream()
+                .filter(customer -> customer.getMobileNumber().startsWith(prefix))
+                .map(Customer::getCustomerId)
+                .toList();
+        return accountsRepository.findByCustomerIdIn(customerIds).size();
+    }
+
+    private String ndjson(List<BulkCustomerDto> customers) {
+        StringBuilder body = new StringBuilder();
+        for (BulkCustomerDto bulkCustomerDto : customers) {
+            try {
+                body.append(objectMapper.writeValueAsString(bulkCustomerDto)).append('\n');
+            } catch (IOException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+        return body.toString();
+    }
+
+    private static String csv(List<BulkCustomerDto> customers) {
+        StringBuilder body = new StringBuilder(CSV_HEADER).append('\n');
+        for (BulkCustomerDto bulkCustomerDto : customers) {
+            body.append(bulkCustomerDto.getName()).append(',')
+                    .append(bulkCustomerDto.getEmail()).append(',')
+                    .append(bulkCustomerDto.getMobileNumber()).append(',')
+                    .append(bulkCustomerDto.getAccountNumber()).append(',')
+                    .append(bulkCustomerDto.getAccountType()).append(',')
+                    .append('"').append(bulkCustomerDto.getBranchAddress()).append('"').append('\n');
+        }
+        return body.toString();
+    }
+
+    private static List<BulkCustomerDto> customers(String prefix, int count) {
+        List<BulkCustomerDto> customers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            BulkCustomerDto bulkCustomerDto = new BulkCustomerDto();
+            bulkCustomerDto.setName("Eazy Bytes");
+            bulkCustomerDto.setEmail("tutor@eazybytes.com");
+            bulkCustomerDto.setMobileNumber(prefix + String.format("%08d", i));
+            // below the range of the account number sequence
+            bulkCustomerDto.setAccountNumber(Long.parseLong("1" + prefix + String.format("%07d", i)));
+            bulkCustomerDto.setAccountType(AccountsConstants.SAVINGS);
+            bulkCustomerDto.setBranchAddress(AccountsConstants.ADDRESS);
+            customers.add(bulkCustomerDto);
+        }
+        return customers;
+    }
+}
@@ -0,0 +1,68 @@
+package com.saugat.accounts.cache;
+
+import com.saugat.accounts.config.CustomerDetailsCacheProperties;
+import com.saugat.accounts.dto.CustomerDetailsDto;
+import com.saugat.accounts.service.client.DownstreamBulkheads;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CustomerDetailsCacheTest {
+
+    private final CustomerDetailsCache cache = new CustomerDetailsCache(enabled(), null, Runnable::run,
+            new SimpleMeterRegistry());
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void cachesAResponseWhoseSectionsAllCameFromLiveAnswers() {
+        Supplier<CustomerDetailsDto> loader = loader(details -> { });
+
+        cache.get("4354437687", loader);
+        cache.get("4354437687", loader);
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void doesNotCacheAResponseWithAStaleSection() {
+        Supplier<CustomerDetailsDto> loader = loader(details ->
+                details.markStale(DownstreamBulkheads.LOANS, Instant.now()));
+
+        cache.get("4354437687", loader);
+        cache.get("4354437687", loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void doesNotCacheAResponseWithAnUnavailableSection() {
+        Supplier<CustomerDetailsDto> loader = loader(details -> details.markUnavailable(DownstreamBulkheads.CARDS));
+
+        cache.get("4354437687", loader);
+        cache.get("4354437687", loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    private Supplier<CustomerDetailsDto> loader(Consumer<CustomerDetailsDto> sections) {
+        return () -> {
+            loads.incrementAndGet();
+            CustomerDetailsDto details = new CustomerDetailsDto();
+            details.setMobileNumber("4354437687");
+            sections.accept(details);
+            return details;
+        };
+    }
+
+    private static CustomerDetailsCacheProperties enabled() {
+        CustomerDetailsCacheProperties properties = new CustomerDetailsCacheProperties();
+        properties.setEnabled(true);
+        return properties;
+    }
+}
@@ -0,0 +1,117 @@
+package com.saugat.accounts.cache;
+
+import com.saugat.accounts.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SingleFlight<String, Object> singleFlight = new SingleFlight<>("test", meterRegistry);
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @AfterEach
+    void shutdown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallersShareOneLoad() throws Exception {
+        Object result = new Object();
+        List<Future<Object>> futures = startCallers(() -> result);
+
+        for (Future<Object> future : futures) {
+            assertSame(result, future.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        assertEquals(CALLERS - 1, requests("coalesced"));
+    }
+
+    @Test
+    void concurrentCallersShareTheFailure() throws Exception {
+        List<Future<Object>> futures = startCallers(() -> {
+            throw new ResourceNotFoundException("Customer", "mobileNumber", "4354437687");
+        });
+
+        for (Future<Object> future : futures) {
+            Exception ex = assertThrows(Exception.class, () -> future.get(5, TimeUnit.SECONDS));
+            assertTrue(ex.getCause() instanceof ResourceNotFoundException);
+        }
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void forgottenKeyStartsANewLoad() throws Exception {
+        Future<Object> first = executor.submit(() -> singleFlight.execute("4354437687", this::blockingLoad));
+        awaitLoads(1);
+
+        singleFlight.forget("4354437687");
+        assertEquals("fresh", singleFlight.execute("4354437687", () -> "fresh"));
+
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+    }
+
+    private List<Future<Object>> startCallers(Supplier<Object> outcome) throws InterruptedException {
+        List<Future<Object>> futures = new ArrayList<>();
+        futures.add(executor.submit(() -> singleFlight.execute("4354437687", () -> {
+            blockingLoad();
+            return outcome.get();
+        })));
+        awaitLoads(1);
+        for (int i = 1; i < CALLERS; i++) {
+            futures.add(executor.submit(() -> singleFlight.execute("4354437687", () -> {
+                loads.incrementAndGet();
+                return outcome.get();
+            })));
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (requests("coalesced") < CALLERS - 1 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+        return futures;
+    }
+
+    private Object blockingLoad() {
+        loads.incrementAndGet();
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        return "loaded";
+    }
+
+    private void awaitLoads(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (loads.get() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+
+    private long requests(String result) {
+        return (long) meterRegistry.get(SingleFlight.REQUESTS_COUNTER).tag("result", result).counter().count();
+    }
+}
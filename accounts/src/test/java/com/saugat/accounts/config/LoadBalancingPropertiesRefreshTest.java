@@ -0,0 +1,55 @@
+package com.saugat.accounts.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.context.refresh.ContextRefresher;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Changes the load-balancing settings in the environment and refreshes the context as {@code /actuator/refresh}
+ * does.
+ */
+@SpringBootTest
+class LoadBalancingPropertiesRefreshTest {
+
+    private static final String REFRESHED = "refreshed";
+
+    @Autowired
+    private LoadBalancingProperties properties;
+
+    @Autowired
+    private ContextRefresher contextRefresher;
+
+    @Autowired
+    private ConfigurableEnvironment environment;
+
+    @AfterEach
+    void restoreConfiguration() {
+        environment.getPropertySources().remove(REFRESHED);
+        contextRefresher.refresh();
+    }
+
+    @Test
+    void aServiceRemovedFromTheConfigurationFallsBackToTheDefaultStrategy() {
+        environment.getPropertySources().addFirst(new MapPropertySource(REFRESHED, Map.of(
+                "accounts.load-balancing.default-strategy", "round-robin",
+                "accounts.load-balancing.services.temporary", "least-outstanding")));
+        contextRefresher.refresh();
+        assertEquals(LoadBalancingProperties.Strategy.LEAST_OUTSTANDING, properties.strategyFor("TEMPORARY"));
+
+        environment.getPropertySources().remove(REFRESHED);
+        environment.getPropertySources().addFirst(new MapPropertySource(REFRESHED, Map.of(
+                "accounts.load-balancing.default-strategy", "round-robin")));
+        contextRefresher.refresh();
+
+        assertEquals(LoadBalancingProperties.Strategy.ROUND_ROBIN, properties.strategyFor("TEMPORARY"));
+        assertEquals(LoadBalancingProperties.Strategy.PEAK_EWMA, properties.strategyFor("CARDS"));
+    }
+}
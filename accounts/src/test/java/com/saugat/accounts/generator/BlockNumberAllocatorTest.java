@@ -0,0 +1,82 @@
+package com.saugat.accounts.generator;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.support.incrementer.AbstractDataFieldMaxValueIncrementer;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BlockNumberAllocatorTest {
+
+    private static final long BLOCK_SIZE = 100;
+
+    @Test
+    void allocatesUniqueNumbersAcrossThreads() throws Exception {
+        BlockNumberAllocator allocator = new BlockNumberAllocator(new InMemorySequence(1_000), BLOCK_SIZE);
+        Set<Long> numbers = ConcurrentHashMap.newKeySet();
+        int threads = 16;
+        int perThread = 5_000;
+
+        run(threads, () -> {
+            for (int i = 0; i < perThread; i++) {
+                numbers.add(allocator.next());
+            }
+        });
+
+        assertEquals(threads * perThread, numbers.size());
+        assertTrue(numbers.stream().allMatch(number -> number >= 1_000));
+    }
+
+    @Test
+    void pooledIdsAreTheBlockEndingAtEachSequenceValue() {
+        BlockNumberAllocator allocator = BlockNumberAllocator.forPooledIds(new InMemorySequence(BLOCK_SIZE), BLOCK_SIZE);
+
+        for (long expected = 1; expected <= 2 * BLOCK_SIZE + 1; expected++) {
+            assertEquals(expected, allocator.next());
+        }
+    }
+
+    private static void run(int threads, Runnable task) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch ready = new CountDownLatch(1);
+        for (int i = 0; i < threads; i++) {
+            executor.execute(() -> {
+                try {
+                    ready.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                task.run();
+            });
+        }
+        ready.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(2, TimeUnit.MINUTES));
+    }
+
+    /**
+     * Stand-in for a database sequence declared with {@code INCREMENT BY BLOCK_SIZE}.
+     */
+    private static final class InMemorySequence extends AbstractDataFieldMaxValueIncrementer {
+
+        private final AtomicLong value;
+
+        private InMemorySequence(long start) {
+            this.value = new AtomicLong(start);
+        }
+
+        @Override
+        protected long getNextKey() {
+            return value.getAndAdd(BLOCK_SIZE);
+        }
+    }
+}
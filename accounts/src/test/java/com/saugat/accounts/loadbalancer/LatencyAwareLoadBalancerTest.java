@@ -0,0 +1,136 @@
+package com.saugat.accounts.loadbalancer;
+
+import com.saugat.accounts.config.LoadBalancingProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.support.ServiceInstanceListSuppliers;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the load balancer against three fake instances of a service, one of them ten times slower than the others,
+ * on a simulated clock: one call per millisecond, each completing after its instance's latency.
+ */
+class LatencyAwareLoadBalancerTest {
+
+    private static final String SERVICE_ID = "loans";
+    private static final int CALLS = 5_000;
+    private static final long MILLI = 1_000_000L;
+
+    private final ServiceInstance fast1 = instance("fast-1", 8091);
+    private final ServiceInstance fast2 = instance("fast-2", 8092);
+    private final ServiceInstance slow = instance("slow", 8093);
+    private final Map<ServiceInstance, Long> latencies = Map.of(fast1, 5 * MILLI, fast2, 5 * MILLI, slow, 50 * MILLI);
+
+    @Test
+    void roundRobinIgnoresLatency() {
+        Map<ServiceInstance, Integer> picks = simulate(LoadBalancingProperties.Strategy.ROUND_ROBIN);
+
+        assertEquals(CALLS / 3, picks.get(slow), 1);
+    }
+
+    @Test
+    void peakEwmaSteersAwayFromTheSlowInstance() {
+        Map<ServiceInstance, Integer> picks = simulate(LoadBalancingProperties.Strategy.PEAK_EWMA);
+
+        assertTrue(picks.get(slow) < CALLS * 0.05, "slow instance got " + picks.get(slow) + " calls");
+        assertTrue(picks.getOrDefault(fast1, 0) > CALLS * 0.4 && picks.getOrDefault(fast2, 0) > CALLS * 0.4);
+    }
+
+    @Test
+    void leastOutstandingSteersAwayFromTheSlowInstance() {
+        Map<ServiceInstance, Integer> picks = simulate(LoadBalancingProperties.Strategy.LEAST_OUTSTANDING);
+
+        assertTrue(picks.get(slow) < CALLS * 0.15, "slow instance got " + picks.get(slow) + " calls");
+    }
+
+    @Test
+    void lifecycleRecordsFailuresAsAtLeastThePenalty() {
+        LoadBalancingProperties properties = properties(LoadBalancingProperties.Strategy.PEAK_EWMA);
+        InstanceStatsRegistry stats = new InstanceStatsRegistry(properties);
+        LatencyRecordingLifecycle lifecycle = new LatencyRecordingLifecycle(stats);
+        Request<Object> request = new DefaultRequest<>(new RequestDataContext());
+        Response<ServiceInstance> lbResponse = new DefaultResponse(fast1);
+
+        lifecycle.onStartRequest(request, lbResponse);
+        assertEquals(1, stats.outstanding(fast1));
+        lifecycle.onComplete(new CompletionContext<>(CompletionContext.Status.FAILED, request, lbResponse));
+
+        assertEquals(0, stats.outstanding(fast1));
+        assertTrue(stats.cost(fast1, System.nanoTime()) >= properties.getFailurePenalty().toNanos() * 0.99);
+    }
+
+    @Test
+    void peakEwmaTriesASlowInstanceAgainOnceItsEstimateHasDecayed() {
+        LoadBalancingProperties properties = properties(LoadBalancingProperties.Strategy.PEAK_EWMA);
+        InstanceStatsRegistry stats = new InstanceStatsRegistry(properties);
+        AtomicLong clock = new AtomicLong(System.nanoTime());
+        LatencyAwareLoadBalancer loadBalancer = new LatencyAwareLoadBalancer(
+                ServiceInstanceListSuppliers.toProvider(SERVICE_ID, fast1, slow),
+                SERVICE_ID, properties, stats, clock::get);
+        stats.completed(fast1, latencies.get(fast1), false, clock.get());
+        stats.completed(slow, latencies.get(slow), false, clock.get());
+
+        assertEquals(fast1, loadBalancer.choose().block().getServer());
+
+        // five decay periods without traffic take the slow estimate below the fast one, which keeps answering
+        clock.addAndGet(properties.getDecay().toNanos() * 5);
+        stats.completed(fast1, latencies.get(fast1), false, clock.get());
+
+        assertEquals(slow, loadBalancer.choose().block().getServer());
+    }
+
+    private Map<ServiceInstance, Integer> simulate(LoadBalancingProperties.Strategy strategy) {
+        InstanceStatsRegistry stats = new InstanceStatsRegistry(properties(strategy));
+        AtomicLong clock = new AtomicLong();
+        LatencyAwareLoadBalancer loadBalancer = new LatencyAwareLoadBalancer(
+                ServiceInstanceListSuppliers.toProvider(SERVICE_ID, fast1, fast2, slow),
+                SERVICE_ID, properties(strategy), stats, clock::get);
+        PriorityQueue<Call> inFlight = new PriorityQueue<>((a, b) -> Long.compare(a.endsAt(), b.endsAt()));
+        Map<ServiceInstance, Integer> picks = new HashMap<>();
+        long start = System.nanoTime();
+
+        for (int i = 0; i < CALLS; i++) {
+            long now = start + i * MILLI;
+            clock.set(now);
+            while (!inFlight.isEmpty() && inFlight.peek().endsAt() <= now) {
+                Call call = inFlight.poll();
+                stats.completed(call.instance(), call.endsAt() - call.startedAt(), false, call.endsAt());
+            }
+            ServiceInstance chosen = loadBalancer.choose().block().getServer();
+            stats.started(chosen);
+            inFlight.add(new Call(chosen, now, now + latencies.get(chosen)));
+            picks.merge(chosen, 1, Integer::sum);
+        }
+        return picks;
+    }
+
+    private static LoadBalancingProperties properties(LoadBalancingProperties.Strategy strategy) {
+        LoadBalancingProperties properties = new LoadBalancingProperties();
+        properties.setServices(Map.of(SERVICE_ID, strategy));
+        properties.setDecay(Duration.ofSeconds(10));
+        return properties;
+    }
+
+    private static ServiceInstance instance(String id, int port) {
+        return new DefaultServiceInstance(id, SERVICE_ID, "localhost", port, false);
+    }
+
+    private record Call(ServiceInstance instance, long startedAt, long endsAt) {
+    }
+}
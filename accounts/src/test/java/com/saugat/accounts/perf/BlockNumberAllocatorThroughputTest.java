@@ -0,0 +1,90 @@
+package com.saugat.accounts.perf;
+
+import com.saugat.accounts.generator.BlockNumberAllocator;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.support.incrementer.AbstractDataFieldMaxValueIncrementer;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Prints {@link BlockNumberAllocator} allocations per second for increasing thread counts, with a simulated 1 ms
+ * sequence round-trip.
+ * <pre>
+ * ./mvnw test -Pperf -Dtest=BlockNumberAllocatorThroughputTest
+ * </pre>
+ */
+@Tag("perf")
+class BlockNumberAllocatorThroughputTest {
+
+    private static final long BLOCK_SIZE = 100;
+    private static final int ALLOCATIONS = 1_000_000;
+
+    @Test
+    void allocationThroughput() throws Exception {
+        for (int threads : new int[]{1, 4, 16, 64}) {
+            SlowSequence sequence = new SlowSequence(1_000, TimeUnit.MILLISECONDS.toNanos(1));
+            BlockNumberAllocator allocator = new BlockNumberAllocator(sequence, BLOCK_SIZE);
+            int perThread = ALLOCATIONS / threads;
+
+            long start = System.nanoTime();
+            run(threads, () -> {
+                for (int i = 0; i < perThread; i++) {
+                    allocator.next();
+                }
+            });
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+            System.out.printf("threads=%d allocations/sec=%.0f sequenceCalls=%d%n",
+                    threads, threads * perThread / seconds, sequence.calls.get());
+        }
+    }
+
+    private static void run(int threads, Runnable task) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch ready = new CountDownLatch(1);
+        for (int i = 0; i < threads; i++) {
+            executor.execute(() -> {
+                try {
+                    ready.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                task.run();
+            });
+        }
+        ready.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(2, TimeUnit.MINUTES));
+    }
+
+    /**
+     * Stand-in for a database sequence declared with {@code INCREMENT BY BLOCK_SIZE}, answering after a delay.
+     */
+    private static final class SlowSequence extends AbstractDataFieldMaxValueIncrementer {
+
+        private final AtomicLong value;
+        private final AtomicLong calls = new AtomicLong();
+        private final long latencyNanos;
+
+        private SlowSequence(long start, long latencyNanos) {
+            this.value = new AtomicLong(start);
+            this.latencyNanos = latencyNanos;
+        }
+
+        @Override
+        protected long getNextKey() {
+            calls.incrementAndGet();
+            LockSupport.parkNanos(latencyNanos);
+            return value.getAndAdd(BLOCK_SIZE);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.saugat.accounts.perf;
+
+import com.saugat.accounts.dto.LoansDto;
+import com.saugat.accounts.service.client.LoansFeignClient;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Drives {@link LoansFeignClient#fetchLoanDetails} against a local stub of the loans {@code /api/fetch} endpoint
+ * from many threads and reports throughput and latency percentiles of the Feign transport. Run it once per
+ * transport and compare the output:
+ * <pre>
+ * ./mvnw test -Pperf -Dtest=FeignTransportLoadTest -Dspring.cloud.openfeign.httpclient.hc5.enabled=false
+ * ./mvnw test -Pperf -Dtest=FeignTransportLoadTest
+ * </pre>
+ * The first run uses Feign's default client ({@code HttpURLConnection}), the second the pooled Apache HttpClient 5.
+ */
+@SpringBootTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "eureka.client.enabled=false",
+        "spring.jpa.show-sql=false",
+        "logging.level.com.saugat.accounts=INFO"
+})
+@Tag("perf")
+class FeignTransportLoadTest {
+
+    private static final String LOANS_JSON = "{\"mobileNumber\":\"4354437687\",\"loanNumber\":\"548732457654\","
+            + "\"loanType\":\"Home Loan\",\"totalLoan\":100000,\"amountPaid\":1000,\"outstandingAmount\":99000}";
+
+    private static HttpServer loansStub;
+
+    @Autowired
+    private LoansFeignClient loansFeignClient;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${spring.cloud.openfeign.httpclient.hc5.enabled:true}")
+    private boolean pooled;
+
+    @BeforeAll
+    static void startLoansStub() throws IOException {
+        loansStub = HttpServer.create(new InetSocketAddress("localhost", 0), 1024);
+        loansStub.setExecutor(Executors.newFixedThreadPool(32));
+        byte[] body = LOANS_JSON.getBytes(StandardCharsets.UTF_8);
+        loansStub.createContext("/api/fetch", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        loansStub.start();
+    }
+
+    @AfterAll
+    static void stopLoansStub() {
+        loansStub.stop(0);
+    }
+
+    @DynamicPropertySource
+    static void loansUrl(DynamicPropertyRegistry registry) {
+        registry.add("spring.cloud.openfeign.client.config.loans.url",
+                () -> "http://localhost:" + loansStub.getAddress().getPort());
+    }
+
+    @Test
+    void fetchLoanDetailsUnderLoad() throws Exception {
+        int threads = Integer.getInteger("loadtest.concurrency", 64);
+        int requestsPerThread = Integer.getInteger("loadtest.requests", 40_000) / threads;
+
+        // warm up connections, JIT and the circuit breaker
+        for (int i = 0; i < 2_000; i++) {
+            loansFeignClient.fetchLoanDetails("load-test", "4354437687");
+        }
+
+        long[][] latencies = new long[threads][requestsPerThread];
+        AtomicInteger failures = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            long[] samples = latencies[t];
+            executor.execute(() -> {
+                for (int i = 0; i < samples.length; i++) {
+                    long callStart = System.nanoTime();
+                    ResponseEntity<LoansDto> response = loansFeignClient.fetchLoanDetails("load-test", "4354437687");
+                    samples[i] = System.nanoTime() - callStart;
+                    if (response == null || response.getBody() == null) {
+                        failures.incrementAndGet();
+                    }
+                }
+                done.countDown();
+            });
+        }
+        done.await();
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+
+        long[] all = Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+        System.out.printf("transport=%s requests=%d concurrency=%d throughput=%.0f req/s p50=%.2fms p99=%.2fms "
+                        + "p999=%.2fms max=%.2fms poolConnections=%s failures=%d%n",
+                pooled ? "hc5-pooled" : "default", all.length, threads, all.length / seconds,
+                millis(all, 0.5), millis(all, 0.99), millis(all, 0.999), all[all.length - 1] / 1_000_000.0,
+                poolConnections(), failures.get());
+        assertEquals(0, failures.get());
+    }
+
+    private String poolConnections() {
+        var gauge = meterRegistry.find("httpcomponents.httpclient.pool.total.connections")
+                .tag("state", "available").gauge();
+        return gauge != null ? String.valueOf((long) gauge.value()) : "n/a";
+    }
+
+    private static double millis(long[] sorted, double percentile) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(percentile * sorted.length) - 1)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,94 @@
+package com.saugat.accounts.repository;
+
+import com.saugat.accounts.dto.CustomerDto;
+import com.saugat.accounts.entity.Customer;
+import com.saugat.accounts.service.IAccountsService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * With the second-level and query caches switched on, as a single-replica deployment would, repeated lookups
+ * are answered without a JDBC statement.
+ */
+@SpringBootTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "eureka.client.enabled=false",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+class SecondLevelCacheTest {
+
+    @Autowired
+    private IAccountsService accountsService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private AccountsRepository accountsRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void statistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void findByIdIsAnsweredFromTheEntityCache() {
+        Customer customer = createCustomer("7900000001");
+        Long accountNumber = accountsRepository.findByCustomerId(customer.getCustomerId()).orElseThrow().getAccountNumber();
+        customerRepository.findById(customer.getCustomerId());
+        accountsRepository.findById(accountNumber);
+
+        statistics.clear();
+        assertTrue(customerRepository.findById(customer.getCustomerId()).isPresent());
+        assertTrue(accountsRepository.findById(accountNumber).isPresent());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(2, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    void fetchAccountDetailsIsAnsweredFromTheQueryCache() {
+        createCustomer("7900000002");
+        accountsService.fetchAccountDetails("7900000002");
+
+        statistics.clear();
+        assertEquals("7900000002", accountsService.fetchAccountDetails("7900000002").getMobileNumber());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    void anUpdateInvalidatesTheCachedQuery() {
+        createCustomer("7900000003");
+        CustomerDto customerDto = accountsService.fetchAccountDetails("7900000003");
+        customerDto.setName("Eazy Renamed");
+        accountsService.updateAccountsDetails(customerDto);
+
+        assertEquals("Eazy Renamed", accountsService.fetchAccountDetails("7900000003").getName());
+    }
+
+    private Customer createCustomer(String mobileNumber) {
+        CustomerDto customerDto = new CustomerDto();
+        customerDto.setName("Eazy Bytes");
+        customerDto.setEmail("tutor@eazybytes.com");
+        customerDto.setMobileNumber(mobileNumber);
+        accountsService.createAccount(customerDto);
+        return customerRepository.findByMobileNumber(mobileNumber).orElseThrow();
+    }
+}
@@ -0,0 +1,107 @@
+package com.saugat.accounts.service.client;
+
+import com.saugat.accounts.config.BulkheadProperties;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadConfig;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DownstreamBulkheadsTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void shutdown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void fullSemaphoreAnswersFromTheFallbackWithoutCalling() throws Exception {
+        DownstreamBulkheads bulkheads = bulkheads(BulkheadProperties.Type.SEMAPHORE);
+        CountDownLatch started = new CountDownLatch(1);
+
+        CompletableFuture<String> slow = bulkheads.submit(DownstreamBulkheads.CARDS,
+                () -> awaitRelease(started), () -> "fallback", executor);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<String> rejected = bulkheads.submit(DownstreamBulkheads.CARDS,
+                () -> "called", () -> "fallback", executor);
+        assertEquals("fallback", rejected.getNow("pending"));
+        assertEquals(1.0, meterRegistry.get(DownstreamBulkheads.CONCURRENT_CALLS_GAUGE)
+                .tag("downstream", DownstreamBulkheads.CARDS).gauge().value());
+        assertEquals(1.0, meterRegistry.get(DownstreamBulkheads.REJECTED_COUNTER)
+                .tag("downstream", DownstreamBulkheads.CARDS).counter().count());
+
+        // the other downstream is unaffected
+        assertEquals("loans", bulkheads.call(DownstreamBulkheads.LOANS, () -> "loans", () -> "fallback"));
+
+        release.countDown();
+        assertEquals("slow", slow.get(5, TimeUnit.SECONDS));
+        assertEquals("called", bulkheads.call(DownstreamBulkheads.CARDS, () -> "called", () -> "fallback"));
+    }
+
+    @Test
+    void fullThreadPoolAnswersFromTheFallbackWithoutCalling() throws Exception {
+        DownstreamBulkheads bulkheads = bulkheads(BulkheadProperties.Type.THREAD_POOL);
+        CountDownLatch started = new CountDownLatch(1);
+
+        CompletableFuture<String> slow = bulkheads.submit(DownstreamBulkheads.CARDS,
+                () -> awaitRelease(started), () -> "fallback", executor);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = bulkheads.submit(DownstreamBulkheads.CARDS,
+                () -> "queued", () -> "fallback", executor);
+
+        CompletableFuture<String> rejected = bulkheads.submit(DownstreamBulkheads.CARDS,
+                () -> "called", () -> "fallback", executor);
+        assertEquals("fallback", rejected.getNow("pending"));
+        assertEquals(1.0, meterRegistry.get(DownstreamBulkheads.QUEUE_DEPTH_GAUGE)
+                .tag("downstream", DownstreamBulkheads.CARDS).gauge().value());
+
+        release.countDown();
+        assertEquals("slow", slow.get(5, TimeUnit.SECONDS));
+        assertEquals("queued", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    private DownstreamBulkheads bulkheads(BulkheadProperties.Type type) {
+        BulkheadProperties properties = new BulkheadProperties();
+        properties.setLoans(type);
+        properties.setCards(type);
+        BulkheadRegistry bulkheadRegistry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(1)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        ThreadPoolBulkheadRegistry threadPoolBulkheadRegistry = ThreadPoolBulkheadRegistry.of(
+                ThreadPoolBulkheadConfig.custom()
+                        .coreThreadPoolSize(1)
+                        .maxThreadPoolSize(1)
+                        .queueCapacity(1)
+                        .build());
+        return new DownstreamBulkheads(properties, bulkheadRegistry, threadPoolBulkheadRegistry, meterRegistry);
+    }
+
+    private String awaitRelease(CountDownLatch started) {
+        started.countDown();
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        return "slow";
+    }
+}
@@ -0,0 +1,102 @@
+package com.saugat.accounts.service.client;
+
+import com.saugat.accounts.cache.LastKnownGoodCache;
+import com.saugat.accounts.config.LastKnownGoodProperties;
+import com.saugat.accounts.dto.LoansDto;
+import feign.FeignException;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class LoansFallBackTest {
+
+    private final LoansFallBack fallBack = new LoansFallBack(new LastKnownGoodProperties(), new SimpleMeterRegistry());
+
+    @Test
+    void answersNullUntilTheLoansServiceHasAnswered() {
+        assertNull(fallBack.fetchLoanDetails("correlation-id", "4354437687"));
+        assertNull(fallBack.fetchLoanDetailsBatch("correlation-id", List.of("4354437687")));
+    }
+
+    @Test
+    void servesTheLastKnownGoodCopyMarkedAsStale() {
+        LoansDto loansDto = loans("4354437687");
+        fallBack.remember(loansDto);
+
+        ResponseEntity<LoansDto> response = fallBack.fetchLoanDetails("correlation-id", "4354437687");
+
+        assertEquals(loansDto, response.getBody());
+        assertNotNull(LastKnownGoodCache.fetchedAt(response));
+    }
+
+    @Test
+    void batchServesTheCopiesItHas() {
+        fallBack.remember(loans("4354437687"));
+
+        ResponseEntity<List<LoansDto>> response = fallBack.fetchLoanDetailsBatch("correlation-id",
+                List.of("4354437687", "9999999999"));
+
+        assertEquals(1, response.getBody().size());
+        assertNotNull(LastKnownGoodCache.fetchedAt(response));
+    }
+
+    @Test
+    void unavailabilityServesTheLastKnownGoodCopy() {
+        fallBack.remember(loans("4354437687"));
+
+        assertSame(fallBack, fallBack.create(errorStatus(503)));
+        assertNotNull(fallBack.create(new IOException("Connection refused"))
+                .fetchLoanDetails("correlation-id", "4354437687"));
+    }
+
+    @Test
+    void notFoundIsPassedOnAndDropsTheStoredCopy() {
+        fallBack.remember(loans("4354437687"));
+
+        ResponseEntity<LoansDto> response = fallBack.create(errorStatus(404))
+                .fetchLoanDetails("correlation-id", "4354437687");
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertNull(response.getBody());
+        assertNull(LastKnownGoodCache.fetchedAt(response));
+        assertNull(fallBack.fetchLoanDetails("correlation-id", "4354437687"));
+    }
+
+    @Test
+    void batchNotFoundDropsTheStoredCopies() {
+        fallBack.remember(loans("4354437687"));
+
+        ResponseEntity<List<LoansDto>> response = fallBack.create(errorStatus(404))
+                .fetchLoanDetailsBatch("correlation-id", List.of("4354437687"));
+
+        assertNull(response.getBody());
+        assertNull(fallBack.fetchLoanDetailsBatch("correlation-id", List.of("4354437687")));
+    }
+
+    private static FeignException errorStatus(int status) {
+        Request request = Request.create(Request.HttpMethod.GET, "http://loans/api/fetch", Map.of(), null,
+                StandardCharsets.UTF_8, null);
+        return FeignException.errorStatus("LoansFeignClient#fetchLoanDetails",
+                Response.builder().status(status).reason("status " + status).request(request).headers(Map.of()).build());
+    }
+
+    private static LoansDto loans(String mobileNumber) {
+        LoansDto loansDto = new LoansDto();
+        loansDto.setMobileNumber(mobileNumber);
+        loansDto.setLoanNumber("548732457654");
+        return loansDto;
+    }
+}
@@ -0,0 +1,117 @@
+package com.saugat.accounts.service.impl;
+
+import com.saugat.accounts.constants.AccountsConstants;
+import com.saugat.accounts.dto.CustomerDto;
+import com.saugat.accounts.entity.Customer;
+import com.saugat.accounts.exception.CustomerAlreadyExistsException;
+import com.saugat.accounts.exception.ResourceNotFoundException;
+import com.saugat.accounts.repository.AccountsRepository;
+import com.saugat.accounts.repository.CustomerRepository;
+import com.saugat.accounts.service.IAccountsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "eureka.client.enabled=false",
+        "spring.jpa.show-sql=false"
+})
+class AccountsServiceImplTest {
+
+    @Autowired
+    private IAccountsService accountsService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private AccountsRepository accountsRepository;
+
+    @Test
+    void createAccountsCreatesEveryCustomerWithAnAccount() {
+        // more than two flushes' worth, with a partial last batch
+        List<CustomerDto> customers = customers("71", 120);
+
+        assertEquals(120, accountsService.createAccounts(customers));
+
+        List<Customer> saved = customerRepository.findByMobileNumberIn(mobileNumbers(customers));
+        assertEquals(120, saved.size());
+        assertEquals(120, accountsRepository.findByCustomerIdIn(saved.stream().map(Customer::getCustomerId).toList()).size());
+    }
+
+    @Test
+    void createAccountsRejectsANumberRepeatedInTheRequest() {
+        List<CustomerDto> customers = customers("72", 3);
+        customers.add(customer(customers.get(0).getMobileNumber()));
+
+        assertThrows(CustomerAlreadyExistsException.class, () -> accountsService.createAccounts(customers));
+        assertTrue(customerRepository.findByMobileNumberIn(mobileNumbers(customers)).isEmpty());
+    }
+
+    @Test
+    void createAccountsCreatesNothingWhenOneCustomerExists() {
+        List<CustomerDto> customers = customers("73", 60);
+        accountsService.createAccount(customers.get(59));
+
+        assertThrows(CustomerAlreadyExistsException.class, () -> accountsService.createAccounts(customers));
+        assertEquals(1, customerRepository.findByMobileNumberIn(mobileNumbers(customers)).size());
+    }
+
+    @Test
+    void createAccountRejectsAnExistingNumber() {
+        CustomerDto customer = customers("74", 1).get(0);
+        accountsService.createAccount(customer);
+
+        assertThrows(CustomerAlreadyExistsException.class, () -> accountsService.createAccount(customer));
+        assertTrue(accountsRepository.findByCustomerId(
+                customerRepository.findByMobileNumber(customer.getMobileNumber()).orElseThrow().getCustomerId()).isPresent());
+    }
+
+    @Test
+    void fetchAccountDetailsReturnsTheCustomerWithItsAccount() {
+        CustomerDto customer = customers("75", 1).get(0);
+        accountsService.createAccount(customer);
+        Customer saved = customerRepository.findByMobileNumber(customer.getMobileNumber()).orElseThrow();
+
+        CustomerDto fetched = accountsService.fetchAccountDetails(customer.getMobileNumber());
+
+        assertEquals(customer.getName(), fetched.getName());
+        assertEquals(customer.getEmail(), fetched.getEmail());
+        assertEquals(accountsRepository.findByCustomerId(saved.getCustomerId()).orElseThrow().getAccountNumber(),
+                fetched.getAccountsDto().getAccountNumber());
+        assertEquals(AccountsConstants.SAVINGS, fetched.getAccountsDto().getAccountType());
+    }
+
+    @Test
+    void fetchAccountDetailsRejectsAnUnknownNumber() {
+        assertThrows(ResourceNotFoundException.class, () -> accountsService.fetchAccountDetails("7699999999"));
+    }
+
+    private static List<CustomerDto> customers(String prefix, int count) {
+        List<CustomerDto> customers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            customers.add(customer(prefix + String.format("%08d", i)));
+        }
+        return customers;
+    }
+
+    private static CustomerDto customer(String mobileNumber) {
+        CustomerDto customerDto = new CustomerDto();
+        customerDto.setName("Eazy Bytes");
+        customerDto.setEmail("tutor@eazybytes.com");
+        customerDto.setMobileNumber(mobileNumber);
+        return customerDto;
+    }
+
+    private static List<String> mobileNumbers(List<CustomerDto> customers) {
+        return customers.stream().map(CustomerDto::getMobileNumber).toList();
+    }
+}
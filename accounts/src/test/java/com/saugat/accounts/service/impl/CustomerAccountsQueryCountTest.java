@@ -0,0 +1,105 @@
+package com.saugat.accounts.service.impl;
+
+import com.saugat.accounts.dto.CustomerDetailsDto;
+import com.saugat.accounts.dto.CustomerDto;
+import com.saugat.accounts.repository.CustomerRepository;
+import com.saugat.accounts.service.IAccountsService;
+import com.saugat.accounts.service.ICustomerDetailsService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Counts the JDBC statements each customer lookup and delete sends, using Hibernate's statistics. Loans and cards
+ * are not running here, so the aggregated lookups answer those sections from their fallbacks without touching
+ * the database.
+ */
+@SpringBootTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "eureka.client.enabled=false",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+class CustomerAccountsQueryCountTest {
+
+    @Autowired
+    private IAccountsService accountsService;
+
+    @Autowired
+    private ICustomerDetailsService customerDetailsService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void statistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void fetchAccountDetailsIsOneQuery() {
+        createCustomer("7800000001");
+
+        assertStatements(1, () -> accountsService.fetchAccountDetails("7800000001"));
+    }
+
+    @Test
+    void fetchCustomerDetailsIsOneQuery() {
+        createCustomer("7800000002");
+
+        CustomerDetailsDto customerDetailsDto = assertStatements(1,
+                () -> customerDetailsService.fetchCustomerDetails("7800000002", "query-count").getBody());
+        assertNotNull(customerDetailsDto.getAccountsDto());
+    }
+
+    @Test
+    void fetchCustomerDetailsBatchIsOneQuery() {
+        createCustomer("7800000003");
+        createCustomer("7800000004");
+
+        List<CustomerDetailsDto> customerDetailsDtos = assertStatements(1,
+                () -> customerDetailsService.fetchCustomerDetailsBatch(
+                        List.of("7800000003", "7800000004", "7899999999"), "query-count").getBody());
+        assertEquals(2, customerDetailsDtos.size());
+    }
+
+    @Test
+    void deleteAccountDetailsIsOneQueryAndTwoDeletes() {
+        createCustomer("7800000005");
+
+        assertStatements(3, () -> accountsService.deleteAccountDetails("7800000005"));
+        assertFalse(customerRepository.findByMobileNumber("7800000005").isPresent());
+    }
+
+    private void createCustomer(String mobileNumber) {
+        CustomerDto customerDto = new CustomerDto();
+        customerDto.setName("Eazy Bytes");
+        customerDto.setEmail("tutor@eazybytes.com");
+        customerDto.setMobileNumber(mobileNumber);
+        accountsService.createAccount(customerDto);
+    }
+
+    private <T> T assertStatements(long expected, Supplier<T> call) {
+        statistics.clear();
+        T result = call.get();
+        assertEquals(expected, statistics.getPrepareStatementCount(), "JDBC statements sent");
+        return result;
+    }
+}
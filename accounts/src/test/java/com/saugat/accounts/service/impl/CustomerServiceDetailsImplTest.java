@@ -0,0 +1,72 @@
+package com.saugat.accounts.service.impl;
+
+import com.saugat.accounts.dto.CustomerDetailsDto;
+import com.saugat.accounts.dto.CustomerDto;
+import com.saugat.accounts.dto.LoansDto;
+import com.saugat.accounts.service.IAccountsService;
+import com.saugat.accounts.service.ICustomerDetailsService;
+import com.saugat.accounts.service.client.DownstreamBulkheads;
+import com.saugat.accounts.service.client.LoansFallBack;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs without Eureka, so every loans and cards call fails and is answered by the fallbacks.
+ */
+@SpringBootTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "eureka.client.enabled=false",
+        "spring.jpa.show-sql=false"
+})
+class CustomerServiceDetailsImplTest {
+
+    @Autowired
+    private ICustomerDetailsService customerDetailsService;
+
+    @Autowired
+    private IAccountsService accountsService;
+
+    @Autowired
+    private LoansFallBack loansFallBack;
+
+    @Test
+    void batchAnsweredFromLastKnownGoodMarksCustomersWithoutACopyUnavailable() {
+        accountsService.createAccount(customer("7600000001"));
+        accountsService.createAccount(customer("7600000002"));
+        LoansDto remembered = new LoansDto();
+        remembered.setMobileNumber("7600000001");
+        remembered.setLoanNumber("548732457654");
+        loansFallBack.remember(remembered);
+
+        List<CustomerDetailsDto> details = customerDetailsService.fetchCustomerDetailsBatch(
+                List.of("7600000001", "7600000002"), "correlation-id").getBody();
+
+        CustomerDetailsDto withCopy = details.get(0);
+        assertEquals(remembered.getLoanNumber(), withCopy.getLoansDto().getLoanNumber());
+        assertTrue(withCopy.getStaleSections().containsKey(DownstreamBulkheads.LOANS));
+        assertEquals(Set.of(DownstreamBulkheads.CARDS), withCopy.getUnavailableSections());
+
+        CustomerDetailsDto withoutCopy = details.get(1);
+        assertNull(withoutCopy.getLoansDto());
+        assertNull(withoutCopy.getStaleSections());
+        assertEquals(Set.of(DownstreamBulkheads.LOANS, DownstreamBulkheads.CARDS), withoutCopy.getUnavailableSections());
+        assertFalse(withoutCopy.isComplete());
+    }
+
+    private static CustomerDto customer(String mobileNumber) {
+        CustomerDto customerDto = new CustomerDto();
+        customerDto.setName("Eazy Bytes");
+        customerDto.setEmail("tutor@eazybytes.com");
+        customerDto.setMobileNumber(mobileNumber);
+        return customerDto;
+    }
+}
@@ -0,0 +1,66 @@
+package com.saugat.apigateway.filters;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.HexFormat;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Makes sure every request carries an {@value #CORRELATION_ID} header and returns it to the caller.
+ * <p>
+ * The incoming header is read once. When it is missing a 16 hex digit random id is created (no
+ * {@code SecureRandom}, unlike {@code UUID.randomUUID()}) and added to the request with a single exchange mutation;
+ * when it is present the exchange is passed on as is. The id is also put in the exchange attributes
+ * ({@link #CORRELATION_ID_ATTR}) and the Reactor context ({@value #CORRELATION_ID}) for later filters, and set on
+ * the response headers before the response is committed.
+ */
+@Component
+public class CorrelationIdFilter implements GlobalFilter, Ordered {
+
+    public static final String CORRELATION_ID = "eazybank-correlation-id";
+    public static final String CORRELATION_ID_ATTR = CorrelationIdFilter.class.getName() + ".correlationId";
+
+    private static final Logger logger = LoggerFactory.getLogger(CorrelationIdFilter.class);
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        String incoming = exchange.getRequest().getHeaders().getFirst(CORRELATION_ID);
+        boolean present = incoming != null && !incoming.isEmpty();
+        String correlationId = present ? incoming : newCorrelationId();
+
+        ServerWebExchange routed = exchange;
+        if (present) {
+            logger.debug("eazyBank-correlation-id found in CorrelationIdFilter : {}", correlationId);
+        } else {
+            ServerHttpRequest request = exchange.getRequest().mutate()
+                    .headers(headers -> headers.set(CORRELATION_ID, correlationId))
+                    .build();
+            routed = exchange.mutate().request(request).build();
+            logger.debug("eazyBank-correlation-id generated in CorrelationIdFilter : {}", correlationId);
+        }
+
+        routed.getAttributes().put(CORRELATION_ID_ATTR, correlationId);
+        routed.getResponse().getHeaders().set(CORRELATION_ID, correlationId);
+        return chain.filter(routed).contextWrite(context -> context.put(CORRELATION_ID, correlationId));
+    }
+
+    static String newCorrelationId() {
+        return HEX.toHexDigits(ThreadLocalRandom.current().nextLong());
+    }
+
+    @Override
+    public int getOrder() {
+        // right after ResponseTimingFilter, so the timings include this filter
+        return Ordered.HIGHEST_PRECEDENCE + 1;
+    }
+}
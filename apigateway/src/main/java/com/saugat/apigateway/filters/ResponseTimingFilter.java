@@ -0,0 +1,115 @@
+package com.saugat.apigateway.filters;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures every routed exchange and reports where the time went.
+ * <p>
+ * Two durations are tracked: {@code total}, from the start of the gateway filter chain, and {@code upstream}, the
+ * time spent waiting for the downstream service to answer (summed over retries, measured by
+ * {@link UpstreamTimingFilter}). Both are added to the response as {@code Server-Timing} entries, the total also
+ * as {@code X-Response-Time} in milliseconds, when the response is committed. When the exchange completes they
+ * are recorded in the {@value #TOTAL_TIMER} and {@value #UPSTREAM_TIMER} timers, tagged by route id and status.
+ * Requests answered without calling a downstream (rate limited, fallback) have no upstream entry.
+ */
+@Component
+public class ResponseTimingFilter implements GlobalFilter, Ordered {
+
+    public static final String RESPONSE_TIME_HEADER = "X-Response-Time";
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+    public static final String TOTAL_TIMER = "gateway.route.total";
+    public static final String UPSTREAM_TIMER = "gateway.route.upstream";
+
+    static final String UPSTREAM_NANOS_ATTR = ResponseTimingFilter.class.getName() + ".upstreamNanos";
+
+    private static final long NOT_CALLED = -1L;
+    private static final double[] PERCENTILES = {0.5, 0.99, 0.999};
+
+    private final MeterRegistry meterRegistry;
+
+    public ResponseTimingFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        long start = System.nanoTime();
+        AtomicLong upstreamNanos = new AtomicLong(NOT_CALLED);
+        exchange.getAttributes().put(UPSTREAM_NANOS_ATTR, upstreamNanos);
+
+        exchange.getResponse().beforeCommit(() -> {
+            addTimingHeaders(exchange.getResponse().getHeaders(), System.nanoTime() - start, upstreamNanos.get());
+            return Mono.empty();
+        });
+        Runnable record = () -> record(exchange, System.nanoTime() - start, upstreamNanos.get());
+        return chain.filter(exchange)
+                .doOnTerminate(record)
+                .doOnCancel(record);
+    }
+
+    /**
+     * Adds the time spent in the downstream call to the running upstream total of the exchange.
+     */
+    static void addUpstreamTime(ServerWebExchange exchange, long nanos) {
+        AtomicLong upstreamNanos = exchange.getAttribute(UPSTREAM_NANOS_ATTR);
+        if (upstreamNanos != null) {
+            upstreamNanos.accumulateAndGet(nanos, (current, added) -> Math.max(current, 0L) + added);
+        }
+    }
+
+    private static void addTimingHeaders(HttpHeaders headers, long totalNanos, long upstreamNanos) {
+        String serverTiming = upstreamNanos == NOT_CALLED
+                ? String.format(Locale.ROOT, "total;dur=%.1f", millis(totalNanos))
+                : String.format(Locale.ROOT, "upstream;dur=%.1f, total;dur=%.1f", millis(upstreamNanos), millis(totalNanos));
+        headers.add(SERVER_TIMING_HEADER, serverTiming);
+        headers.set(RESPONSE_TIME_HEADER, String.format(Locale.ROOT, "%.1fms", millis(totalNanos)));
+    }
+
+    private void record(ServerWebExchange exchange, long totalNanos, long upstreamNanos) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        String routeId = route != null ? route.getId() : "unknown";
+        HttpStatusCode statusCode = exchange.getResponse().getStatusCode();
+        String status = statusCode != null ? Integer.toString(statusCode.value()) : "UNKNOWN";
+
+        timer(TOTAL_TIMER, "Time from entering the gateway filter chain until the exchange completed", routeId, status)
+                .record(totalNanos, TimeUnit.NANOSECONDS);
+        if (upstreamNanos != NOT_CALLED) {
+            timer(UPSTREAM_TIMER, "Time spent waiting for the downstream service", routeId, status)
+                    .record(upstreamNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timer(String name, String description, String routeId, String status) {
+        return Timer.builder(name)
+                .description(description)
+                .tag("routeId", routeId)
+                .tag("status", status)
+                .publishPercentiles(PERCENTILES)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000d;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,43 @@
+package com.saugat.apigateway.filters;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+
+/**
+ * Runs right before {@link NettyRoutingFilter} (and the hedging filter that can stand in for it) and times the
+ * downstream call, i.e. until the downstream response headers have arrived. The body is streamed to the client
+ * afterwards and only counts towards the total time.
+ * Retries run this filter once per attempt and the attempts add up.
+ */
+@Component
+public class UpstreamTimingFilter implements GlobalFilter, Ordered {
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        URI requestUrl = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR);
+        String scheme = requestUrl != null ? requestUrl.getScheme() : null;
+        if (!"http".equals(scheme) && !"https".equals(scheme)) {
+            return chain.filter(exchange);
+        }
+        long start = System.nanoTime();
+        Runnable addUpstreamTime = () -> ResponseTimingFilter.addUpstreamTime(exchange, System.nanoTime() - start);
+        // not doFinally, which runs only after the completion has reached the write filter and the response may
+        // already be committed without the upstream entry
+        return chain.filter(exchange)
+                .doOnTerminate(addUpstreamTime)
+                .doOnCancel(addUpstreamTime);
+    }
+
+    @Override
+    public int getOrder() {
+        return NettyRoutingFilter.ORDER - 2;
+    }
+}
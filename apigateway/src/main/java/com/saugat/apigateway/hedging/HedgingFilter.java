@@ -0,0 +1,345 @@
+package com.saugat.apigateway.hedging;
+
+import com.saugat.apigateway.route.RouteTableProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.netty.channel.ChannelOption;
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.RouteMetadataUtils;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.cloud.gateway.support.TimeoutException;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+import reactor.netty.Connection;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.client.HttpClientResponse;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Hedges GET requests on routes that carry a {@link RouteTableProperties.Hedge} under {@value #HEDGE_METADATA}
+ * in their metadata (set from the {@code hedge} section of the route table).
+ * <p>
+ * Runs after the load balancer has picked an instance and takes over the call from {@link NettyRoutingFilter},
+ * sending it the same way: request headers through the gateway's {@link HttpHeadersFilter}s (forwarded headers
+ * included), the route's {@code response-timeout} or the global one. If no response has arrived after the hedge
+ * delay, a second identical request goes to a different instance of the same service. Whichever answers first
+ * wins and the other is cancelled, closing its connection. The winner's status and filtered headers are set on
+ * the exchange and its connection handed to {@link NettyWriteResponseFilter}, which streams the body, so the
+ * route's own filters (retry, circuit breaker) still see the status before anything is committed.
+ * <p>
+ * The hedge delay is the configured percentile of the route's recent attempt latencies (time to response
+ * headers), clamped to {@code [min-delay, max-delay]}. Metrics: {@value #REQUESTS_COUNTER} by outcome
+ * ({@code not_hedged}, {@code primary_won}, {@code hedge_won}, {@code no_alternative}), which gives the hedge
+ * rate, and {@value #SAVED_TIMER}, an estimate of how much sooner a winning hedge answered than the first
+ * attempt would have: the median of recent attempts slower than the first attempt had been running when it was
+ * cancelled, less that time.
+ */
+@Component
+public class HedgingFilter implements GlobalFilter, Ordered {
+
+    public static final String HEDGE_METADATA = "hedge";
+
+    public static final String REQUESTS_COUNTER = "gateway.hedge.requests";
+    public static final String SAVED_TIMER = "gateway.hedge.latency.saved";
+
+    private static final int NOT_HEDGED = 0;
+    private static final int HEDGE_SENT = 1;
+    private static final int NO_ALTERNATIVE = 2;
+
+    private final Function<String, ServiceInstanceListSupplier> instanceSuppliers;
+    private final MeterRegistry meterRegistry;
+    private final HttpClient httpClient;
+    private final Supplier<List<HttpHeadersFilter>> headersFiltersProvider;
+    private final HttpClientProperties httpClientProperties;
+    private final Map<String, LatencyWindow> windows = new ConcurrentHashMap<>();
+    private final Map<String, RouteMeters> meters = new ConcurrentHashMap<>();
+    private volatile List<HttpHeadersFilter> headersFilters;
+
+    @Autowired
+    public HedgingFilter(LoadBalancerClientFactory loadBalancerClientFactory, MeterRegistry meterRegistry,
+                         HttpClient httpClient, ObjectProvider<List<HttpHeadersFilter>> headersFiltersProvider,
+                         HttpClientProperties httpClientProperties) {
+        // the gateway's own client, so hedged calls share its connection pool; header filters resolved lazily,
+        // as NettyRoutingFilter does
+        this(serviceId -> loadBalancerClientFactory
+                        .getLazyProvider(serviceId, ServiceInstanceListSupplier.class).getIfAvailable(),
+                meterRegistry, httpClient, () -> headersFiltersProvider.getIfAvailable(List::of),
+                httpClientProperties);
+    }
+
+    HedgingFilter(Function<String, ServiceInstanceListSupplier> instanceSuppliers, MeterRegistry meterRegistry,
+                  HttpClient httpClient, Supplier<List<HttpHeadersFilter>> headersFiltersProvider,
+                  HttpClientProperties httpClientProperties) {
+        this.instanceSuppliers = instanceSuppliers;
+        this.meterRegistry = meterRegistry;
+        this.httpClient = httpClient;
+        this.headersFiltersProvider = headersFiltersProvider;
+        this.httpClientProperties = httpClientProperties;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        URI requestUrl = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR);
+        if (route == null || requestUrl == null || ServerWebExchangeUtils.isAlreadyRouted(exchange)
+                || exchange.getRequest().getMethod() != HttpMethod.GET
+                || !("http".equals(requestUrl.getScheme()) || "https".equals(requestUrl.getScheme()))
+                || !(route.getMetadata().get(HEDGE_METADATA) instanceof RouteTableProperties.Hedge hedge)) {
+            return chain.filter(exchange);
+        }
+        ServerWebExchangeUtils.setAlreadyRouted(exchange);
+
+        LatencyWindow window = windows.compute(route.getId(), (id, current) ->
+                current != null && current.percentile() == hedge.getPercentile()
+                        ? current : new LatencyWindow(hedge.getPercentile()));
+        RouteMeters routeMeters = meters.computeIfAbsent(route.getId(), id -> new RouteMeters(id, meterRegistry));
+        HttpClient client = requestClient(route, exchange);
+        Duration responseTimeout = responseTimeout(route);
+        String serviceId = route.getUri().getHost();
+        long start = System.nanoTime();
+        AtomicBoolean answered = new AtomicBoolean();
+        AtomicInteger hedgeState = new AtomicInteger(NOT_HEDGED);
+        AtomicReference<Throwable> primaryError = new AtomicReference<>();
+
+        Mono<Attempt> primary = send(client, requestUrl, responseTimeout, start, false, answered, window)
+                .doOnError(primaryError::set);
+        Mono<Attempt> hedged = Mono.delay(delay(hedge, window))
+                .flatMap(tick -> alternative(serviceId, requestUrl))
+                .doOnSuccess(uri -> hedgeState.set(uri != null ? HEDGE_SENT : NO_ALTERNATIVE))
+                .flatMap(uri -> send(client, uri, responseTimeout, start, true, answered, window));
+
+        return Mono.firstWithValue(primary, hedged)
+                .onErrorMap(ex -> primaryError.get() != null ? primaryError.get() : ex)
+                .flatMap(winner -> {
+                    routeMeters.record(winner, hedgeState.get(), window);
+                    apply(exchange, winner);
+                    return chain.filter(exchange);
+                });
+    }
+
+    private Mono<Attempt> send(HttpClient client, URI uri, Duration responseTimeout, long start, boolean hedge,
+                               AtomicBoolean answered, LatencyWindow window) {
+        return Mono.defer(() -> {
+            long attemptStart = System.nanoTime();
+            Mono<Attempt> attempt = client.get()
+                    .uri(uri.toASCIIString())
+                    .responseConnection((response, connection) -> {
+                        long now = System.nanoTime();
+                        window.record(now - attemptStart);
+                        if (!answered.compareAndSet(false, true)) {
+                            // the other attempt answered first
+                            connection.dispose();
+                            return Mono.empty();
+                        }
+                        return Mono.just(new Attempt(response, connection, now - start, hedge));
+                    })
+                    .singleOrEmpty();
+            if (responseTimeout != null) {
+                attempt = attempt
+                        .timeout(responseTimeout, Mono.error(() ->
+                                new TimeoutException("Response took longer than timeout: " + responseTimeout)))
+                        .onErrorMap(TimeoutException.class,
+                                ex -> new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, ex.getMessage(), ex));
+            }
+            // a first attempt cancelled by a winning hedge took at least this long; keeping it in the window stops
+            // the percentile from drifting down to the attempts that were allowed to finish
+            return hedge ? attempt : attempt.doOnCancel(() -> window.record(System.nanoTime() - attemptStart));
+        });
+    }
+
+    private HttpClient requestClient(Route route, ServerWebExchange exchange) {
+        HttpHeaders filtered = HttpHeadersFilter.filterRequest(getHeadersFilters(), exchange);
+        DefaultHttpHeaders requestHeaders = new DefaultHttpHeaders();
+        filtered.forEach(requestHeaders::set);
+        boolean preserveHost = exchange.getAttributeOrDefault(
+                ServerWebExchangeUtils.PRESERVE_HOST_HEADER_ATTRIBUTE, false);
+        String host = exchange.getRequest().getHeaders().getFirst(HttpHeaders.HOST);
+
+        HttpClient client = httpClient;
+        Object connectTimeout = route.getMetadata().get(RouteMetadataUtils.CONNECT_TIMEOUT_ATTR);
+        if (connectTimeout != null) {
+            client = client.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, Integer.parseInt(connectTimeout.toString()));
+        }
+        return client.headers(headers -> {
+            headers.add(requestHeaders);
+            headers.remove(HttpHeaders.HOST);
+            if (preserveHost && host != null) {
+                headers.add(HttpHeaders.HOST, host);
+            }
+        });
+    }
+
+    /**
+     * The route's {@code response-timeout} metadata in milliseconds (negative disables it), else the global
+     * {@code httpclient.response-timeout}; the same rule {@link NettyRoutingFilter} applies.
+     */
+    private Duration responseTimeout(Route route) {
+        Object routeTimeout = route.getMetadata().get(RouteMetadataUtils.RESPONSE_TIMEOUT_ATTR);
+        if (routeTimeout != null) {
+            long millis = routeTimeout instanceof Number number
+                    ? number.longValue() : Long.parseLong(routeTimeout.toString());
+            return millis >= 0 ? Duration.ofMillis(millis) : null;
+        }
+        return httpClientProperties.getResponseTimeout();
+    }
+
+    private Duration delay(RouteTableProperties.Hedge hedge, LatencyWindow window) {
+        long percentileNanos = window.percentileNanos();
+        if (percentileNanos < 0) {
+            return hedge.getInitialDelay();
+        }
+        long nanos = Math.max(hedge.getMinDelay().toNanos(), Math.min(hedge.getMaxDelay().toNanos(), percentileNanos));
+        return Duration.ofNanos(nanos);
+    }
+
+    /**
+     * A random instance of the service other than the one the first attempt went to; empty when there is none.
+     */
+    private Mono<URI> alternative(String serviceId, URI primaryUrl) {
+        ServiceInstanceListSupplier supplier = instanceSuppliers.apply(serviceId);
+        if (supplier == null) {
+            return Mono.empty();
+        }
+        return supplier.get().next().flatMap(instances -> {
+            List<ServiceInstance> others = instances.stream()
+                    .filter(instance -> !(instance.getHost().equals(primaryUrl.getHost())
+                            && instance.getPort() == primaryUrl.getPort()))
+                    .toList();
+            if (others.isEmpty()) {
+                return Mono.empty();
+            }
+            ServiceInstance instance = others.get(ThreadLocalRandom.current().nextInt(others.size()));
+            return Mono.just(UriComponentsBuilder.fromUri(primaryUrl)
+                    .scheme(instance.isSecure() ? "https" : "http")
+                    .host(instance.getHost())
+                    .port(instance.getPort())
+                    .build(true)
+                    .toUri());
+        });
+    }
+
+    /**
+     * Sets the winner on the exchange the way {@link NettyRoutingFilter} does for its response, so
+     * {@link NettyWriteResponseFilter} streams the body from the winner's connection.
+     */
+    private void apply(ServerWebExchange exchange, Attempt winner) {
+        exchange.getAttributes().put(ServerWebExchangeUtils.CLIENT_RESPONSE_ATTR, winner.response());
+        exchange.getAttributes().put(ServerWebExchangeUtils.CLIENT_RESPONSE_CONN_ATTR, winner.connection());
+
+        HttpHeaders headers = new HttpHeaders();
+        winner.response().responseHeaders().forEach(entry -> headers.add(entry.getKey(), entry.getValue()));
+        String contentType = headers.getFirst(HttpHeaders.CONTENT_TYPE);
+        if (StringUtils.hasLength(contentType)) {
+            exchange.getAttributes().put(ServerWebExchangeUtils.ORIGINAL_RESPONSE_CONTENT_TYPE_ATTR, contentType);
+        }
+
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatusCode.valueOf(winner.response().status().code()));
+        HttpHeaders filtered = HttpHeadersFilter.filter(getHeadersFilters(), headers, exchange,
+                HttpHeadersFilter.Type.RESPONSE);
+        if (!filtered.containsKey(HttpHeaders.TRANSFER_ENCODING) && filtered.containsKey(HttpHeaders.CONTENT_LENGTH)) {
+            response.getHeaders().remove(HttpHeaders.TRANSFER_ENCODING);
+        }
+        exchange.getAttributes().put(ServerWebExchangeUtils.CLIENT_RESPONSE_HEADER_NAMES, filtered.keySet());
+        response.getHeaders().addAll(filtered);
+    }
+
+    private List<HttpHeadersFilter> getHeadersFilters() {
+        if (headersFilters == null) {
+            headersFilters = headersFiltersProvider.get();
+        }
+        return headersFilters;
+    }
+
+    @Override
+    public int getOrder() {
+        return NettyRoutingFilter.ORDER - 1;
+    }
+
+    private record Attempt(HttpClientResponse response, Connection connection, long nanos, boolean hedge) {
+    }
+
+    /**
+     * The meters of one route, registered on its first hedged request.
+     */
+    private static final class RouteMeters {
+
+        private final Counter notHedged;
+        private final Counter primaryWon;
+        private final Counter hedgeWon;
+        private final Counter noAlternative;
+        private final Timer saved;
+
+        RouteMeters(String routeId, MeterRegistry meterRegistry) {
+            this.notHedged = counter(meterRegistry, routeId, "not_hedged");
+            this.primaryWon = counter(meterRegistry, routeId, "primary_won");
+            this.hedgeWon = counter(meterRegistry, routeId, "hedge_won");
+            this.noAlternative = counter(meterRegistry, routeId, "no_alternative");
+            this.saved = Timer.builder(SAVED_TIMER)
+                    .description("Estimated time a winning hedge saved over the first attempt")
+                    .tag("routeId", routeId)
+                    .publishPercentiles(0.5, 0.99)
+                    .register(meterRegistry);
+        }
+
+        void record(Attempt winner, int hedgeState, LatencyWindow window) {
+            if (!winner.hedge()) {
+                (switch (hedgeState) {
+                    case HEDGE_SENT -> primaryWon;
+                    case NO_ALTERNATIVE -> noAlternative;
+                    default -> notHedged;
+                }).increment();
+                return;
+            }
+            hedgeWon.increment();
+            // the first attempt started with the request and was cancelled as the hedge answered
+            long expected = window.medianSlowerThan(winner.nanos());
+            if (expected >= 0) {
+                saved.record(expected - winner.nanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+
+        private static Counter counter(MeterRegistry meterRegistry, String routeId, String outcome) {
+            return Counter.builder(REQUESTS_COUNTER)
+                    .description("GET requests on hedged routes, by which attempt answered")
+                    .tag("routeId", routeId)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.saugat.apigateway.hedging;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The latencies of the last {@value #SIZE} attempts of one route, and a percentile of them that is recomputed
+ * every {@value #RECOMPUTE_EVERY} samples, so reading it costs nothing on the request path. The sorted samples
+ * of the last recompute are kept for {@link #medianSlowerThan(long)}.
+ */
+final class LatencyWindow {
+
+    private static final int SIZE = 512;
+    private static final int RECOMPUTE_EVERY = 64;
+    private static final int MIN_SAMPLES = 64;
+
+    private final double percentile;
+    private final AtomicLongArray samples = new AtomicLongArray(SIZE);
+    private final AtomicLong recorded = new AtomicLong();
+    private volatile long percentileNanos = -1L;
+    private volatile long[] sorted = new long[0];
+
+    LatencyWindow(double percentile) {
+        this.percentile = percentile;
+    }
+
+    double percentile() {
+        return percentile;
+    }
+
+    void record(long nanos) {
+        long count = recorded.getAndIncrement();
+        samples.set((int) (count % SIZE), nanos);
+        if (count + 1 >= MIN_SAMPLES && (count + 1) % RECOMPUTE_EVERY == 0) {
+            recompute((int) Math.min(count + 1, SIZE));
+        }
+    }
+
+    /**
+     * @return the configured percentile of recent attempts in nanoseconds, or -1 while there are too few samples
+     */
+    long percentileNanos() {
+        return percentileNanos;
+    }
+
+    /**
+     * @return the median of the recent attempts that took longer than {@code nanos}, or -1 when none did (or
+     * there are too few samples yet)
+     */
+    long medianSlowerThan(long nanos) {
+        long[] snapshot = sorted;
+        int low = 0;
+        int high = snapshot.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (snapshot[mid] <= nanos) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low < snapshot.length ? snapshot[low + (snapshot.length - 1 - low) / 2] : -1L;
+    }
+
+    private void recompute(int filled) {
+        long[] snapshot = new long[filled];
+        for (int i = 0; i < filled; i++) {
+            snapshot[i] = samples.get(i);
+        }
+        Arrays.sort(snapshot);
+        sorted = snapshot;
+        percentileNanos = snapshot[(int) Math.min(filled - 1, Math.ceil(percentile * filled) - 1)];
+    }
+}
@@ -0,0 +1,95 @@
+package com.saugat.apigateway.loadbalancer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Picks an instance of one service with the strategy configured for it, looked up on every call so a
+ * configuration refresh takes effect at once.
+ * <p>
+ * The latency-aware strategies compare two instances drawn at random ("power of two choices") rather than
+ * scanning for the best one: cheap, and it keeps replicas that share the same view of the instances from all
+ * piling onto the same one.
+ */
+public class LatencyAwareLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+
+    private static final Logger logger = LoggerFactory.getLogger(LatencyAwareLoadBalancer.class);
+
+    private final ObjectProvider<ServiceInstanceListSupplier> suppliers;
+    private final String serviceId;
+    private final LoadBalancingProperties properties;
+    private final InstanceStatsRegistry stats;
+    private final LongSupplier nanoClock;
+    private final AtomicInteger position = new AtomicInteger(ThreadLocalRandom.current().nextInt(1000));
+
+    public LatencyAwareLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> suppliers, String serviceId,
+                                    LoadBalancingProperties properties, InstanceStatsRegistry stats) {
+        this(suppliers, serviceId, properties, stats, System::nanoTime);
+    }
+
+    /**
+     * @param nanoClock the {@link System#nanoTime()} time base the latency estimates decay against
+     */
+    LatencyAwareLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> suppliers, String serviceId,
+                             LoadBalancingProperties properties, InstanceStatsRegistry stats, LongSupplier nanoClock) {
+        this.suppliers = suppliers;
+        this.serviceId = serviceId;
+        this.properties = properties;
+        this.stats = stats;
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = suppliers.getIfAvailable(NoopServiceInstanceListSupplier::new);
+        return supplier.get(request).next().map(this::choose);
+    }
+
+    private Response<ServiceInstance> choose(List<ServiceInstance> instances) {
+        if (instances.isEmpty()) {
+            logger.warn("No servers available for service: {}", serviceId);
+            return new EmptyResponse();
+        }
+        return new DefaultResponse(select(instances));
+    }
+
+    private ServiceInstance select(List<ServiceInstance> instances) {
+        int size = instances.size();
+        if (size == 1) {
+            return instances.get(0);
+        }
+        LoadBalancingProperties.Strategy strategy = properties.strategyFor(serviceId);
+        if (strategy == LoadBalancingProperties.Strategy.ROUND_ROBIN) {
+            return instances.get((position.incrementAndGet() & Integer.MAX_VALUE) % size);
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+        ServiceInstance a = instances.get(first);
+        ServiceInstance b = instances.get(second);
+        if (strategy == LoadBalancingProperties.Strategy.LEAST_OUTSTANDING) {
+            return stats.outstanding(a) <= stats.outstanding(b) ? a : b;
+        }
+        long now = nanoClock.getAsLong();
+        return stats.cost(a, now) <= stats.cost(b, now) ? a : b;
+    }
+}
@@ -0,0 +1,60 @@
+package com.saugat.apigateway.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.cloud.client.loadbalancer.TimedRequestContext;
+
+/**
+ * Feeds {@link InstanceStatsRegistry} from the load-balanced calls: counts a call as in flight from the moment an
+ * instance is chosen and records its latency when it completes. Failed calls and 5xx answers are recorded as at
+ * least the configured failure penalty, so an instance that fails fast does not look like the fastest one.
+ * <p>
+ * Spring Cloud LoadBalancer looks lifecycle beans up in each service's load-balancer context, including the
+ * application context above it, and calls them for blocking (Feign) and reactive clients alike.
+ */
+public class LatencyRecordingLifecycle implements LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+
+    private final InstanceStatsRegistry stats;
+
+    public LatencyRecordingLifecycle(InstanceStatsRegistry stats) {
+        this.stats = stats;
+    }
+
+    @Override
+    public void onStart(Request<Object> request) {
+    }
+
+    @Override
+    public void onStartRequest(Request<Object> request, Response<ServiceInstance> lbResponse) {
+        if (lbResponse == null || !lbResponse.hasServer()) {
+            return;
+        }
+        if (request.getContext() instanceof TimedRequestContext context) {
+            context.setRequestStartTime(System.nanoTime());
+        }
+        stats.started(lbResponse.getServer());
+    }
+
+    @Override
+    public void onComplete(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+        Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+        if (lbResponse == null || !lbResponse.hasServer()) {
+            return;
+        }
+        long now = System.nanoTime();
+        long rtt = -1;
+        Request<Object> request = completionContext.getLoadBalancerRequest();
+        if (completionContext.status() != CompletionContext.Status.DISCARD && request != null
+                && request.getContext() instanceof TimedRequestContext context && context.getRequestStartTime() != 0) {
+            rtt = now - context.getRequestStartTime();
+        }
+        boolean failed = completionContext.status() == CompletionContext.Status.FAILED
+                || completionContext.getClientResponse() instanceof ResponseData response
+                && response.getHttpStatus() != null && response.getHttpStatus().is5xxServerError();
+        stats.completed(lbResponse.getServer(), rtt, failed, now);
+    }
+}
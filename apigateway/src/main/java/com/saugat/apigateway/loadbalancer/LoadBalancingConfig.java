@@ -0,0 +1,31 @@
+package com.saugat.apigateway.loadbalancer;
+
+import org.springframework.cloud.context.config.annotation.RefreshScope;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Replaces the round-robin load balancer behind the {@code lb://} routes with one whose strategy is chosen per
+ * service under {@code gateway.load-balancing}.
+ */
+@Configuration
+@LoadBalancerClients(defaultConfiguration = LatencyAwareLoadBalancerConfiguration.class)
+public class LoadBalancingConfig {
+
+    @Bean
+    @RefreshScope
+    public LoadBalancingProperties loadBalancingProperties() {
+        return new LoadBalancingProperties();
+    }
+
+    @Bean
+    public InstanceStatsRegistry instanceStatsRegistry(LoadBalancingProperties properties) {
+        return new InstanceStatsRegistry(properties);
+    }
+
+    @Bean
+    public LatencyRecordingLifecycle latencyRecordingLifecycle(InstanceStatsRegistry instanceStatsRegistry) {
+        return new LatencyRecordingLifecycle(instanceStatsRegistry);
+    }
+}
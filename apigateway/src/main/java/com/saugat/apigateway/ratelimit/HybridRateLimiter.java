@@ -0,0 +1,102 @@
+package com.saugat.apigateway.ratelimit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/**
+ * {@link LocalRateLimiter} whose buckets are shared across gateway replicas through Redis, without a Redis call
+ * on the request path.
+ * <p>
+ * Each decision is taken locally. Every sync interval the tokens a bucket consumed since the last sync are added
+ * to a per-key counter in Redis with {@code INCRBY}; the returned total minus this replica's own share is what the
+ * other replicas consumed meanwhile, and that is debited from the local bucket. The limit therefore holds across
+ * replicas, overshooting by at most one sync interval's worth of traffic. If Redis is slow or down, requests keep
+ * being decided locally and the unsynced tokens are pushed again on the next interval.
+ */
+public class HybridRateLimiter extends LocalRateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(HybridRateLimiter.class);
+
+    private static final Duration KEY_TTL = Duration.ofMinutes(10);
+    private static final int MAX_CONCURRENT_SYNCS = 64;
+
+    private final String routeId;
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final AtomicBoolean redisAvailable = new AtomicBoolean(true);
+
+    public HybridRateLimiter(String routeId, RateLimitProperties.RouteRateLimit limit, int stripeCount,
+                             ReactiveStringRedisTemplate redisTemplate) {
+        this(routeId, limit, stripeCount, redisTemplate, System::nanoTime);
+    }
+
+    HybridRateLimiter(String routeId, RateLimitProperties.RouteRateLimit limit, int stripeCount,
+                      ReactiveStringRedisTemplate redisTemplate, LongSupplier nanoClock) {
+        super(limit, stripeCount, nanoClock);
+        this.routeId = routeId;
+        this.redisTemplate = redisTemplate;
+    }
+
+    /**
+     * Starts the periodic sync; dispose the result to stop it.
+     */
+    public Disposable startSync(Duration interval) {
+        return Flux.interval(interval)
+                .onBackpressureDrop()
+                .concatMap(tick -> sync())
+                .subscribe();
+    }
+
+    @Override
+    void onConsumed(TokenBucket bucket, long tokens) {
+        bucket.unsynced.addAndGet(tokens);
+    }
+
+    Mono<Void> sync() {
+        return Flux.fromIterable(buckets())
+                .filter(entry -> entry.getValue().unsynced.get() > 0)
+                .flatMap(entry -> push(entry.getKey(), entry.getValue()), MAX_CONCURRENT_SYNCS)
+                .then();
+    }
+
+    private Mono<Void> push(String id, TokenBucket bucket) {
+        long consumed = bucket.unsynced.getAndSet(0);
+        String key = "request_rate_limiter.{" + routeId + "." + id + "}.consumed";
+        return redisTemplate.opsForValue().increment(key, consumed)
+                .flatMap(total -> redisTemplate.expire(key, KEY_TTL).thenReturn(total))
+                .doOnNext(total -> {
+                    apply(bucket, consumed, total);
+                    if (redisAvailable.compareAndSet(false, true)) {
+                        logger.info("Rate limit sync for route {} reached Redis again", routeId);
+                    }
+                })
+                .onErrorResume(ex -> {
+                    bucket.unsynced.addAndGet(consumed);
+                    if (redisAvailable.compareAndSet(true, false)) {
+                        logger.warn("Rate limit sync for route {} failed, deciding locally until Redis is back: {}",
+                                routeId, ex.toString());
+                    }
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private void apply(TokenBucket bucket, long consumed, long total) {
+        long previous = bucket.lastSyncedTotal;
+        bucket.lastSyncedTotal = total;
+        // a total below the previous one means the key expired; start over from the new total
+        if (previous >= 0 && total > previous) {
+            long remote = total - previous - consumed;
+            if (remote > 0) {
+                debit(bucket, remote);
+            }
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.saugat.apigateway.ratelimit;
+
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.filter.ratelimit.RedisRateLimiter;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory token-bucket rate limiter for one route, a drop-in for {@link RedisRateLimiter} that needs no network
+ * round trip per request.
+ * <p>
+ * Buckets are kept per key (the {@code KeyResolver} result) in a table split into stripes; each bucket is a
+ * {@link TokenBucket}, so decisions never lock. Every 1024th decision sweeps one stripe and drops buckets that
+ * have refilled, which keeps memory bounded by the number of recently active keys. Responses carry the same
+ * {@code X-RateLimit-*} headers as the Redis limiter.
+ */
+public class LocalRateLimiter extends AbstractRateLimiter<RateLimitProperties.RouteRateLimit> {
+
+    public static final String CONFIGURATION_PROPERTY_NAME = "local-rate-limiter";
+
+    private static final int SWEEP_EVERY = 1024;
+
+    private final RateLimitProperties.RouteRateLimit limit;
+    private final long emissionIntervalNanos;
+    private final long capacityNanos;
+    private final Map<String, String> headersTemplate;
+    private final ConcurrentHashMap<String, TokenBucket>[] stripes;
+    private final AtomicLong decisions = new AtomicLong();
+    private final LongSupplier nanoClock;
+
+    public LocalRateLimiter(RateLimitProperties.RouteRateLimit limit, int stripeCount) {
+        this(limit, stripeCount, System::nanoTime);
+    }
+
+    LocalRateLimiter(RateLimitProperties.RouteRateLimit limit, int stripeCount, LongSupplier nanoClock) {
+        super(RateLimitProperties.RouteRateLimit.class, CONFIGURATION_PROPERTY_NAME, null);
+        if (limit.getReplenishRate() <= 0 || limit.getRequestedTokens() <= 0
+                || limit.getBurstCapacity() < limit.getRequestedTokens()) {
+            throw new IllegalArgumentException("Rate limit needs replenishRate > 0, requestedTokens > 0 "
+                    + "and burstCapacity >= requestedTokens");
+        }
+        this.limit = limit;
+        this.emissionIntervalNanos = 1_000_000_000L / limit.getReplenishRate();
+        this.capacityNanos = limit.getBurstCapacity() * emissionIntervalNanos;
+        this.headersTemplate = Map.of(
+                RedisRateLimiter.REPLENISH_RATE_HEADER, Integer.toString(limit.getReplenishRate()),
+                RedisRateLimiter.BURST_CAPACITY_HEADER, Integer.toString(limit.getBurstCapacity()),
+                RedisRateLimiter.REQUESTED_TOKENS_HEADER, Integer.toString(limit.getRequestedTokens()));
+
+        this.stripes = newStripes(Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1);
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        long now = nanoClock.getAsLong();
+        TokenBucket bucket = stripeFor(id).computeIfAbsent(id, key -> new TokenBucket());
+        long result = bucket.tryConsume(limit.getRequestedTokens(), now, emissionIntervalNanos, capacityNanos);
+        boolean allowed = result >= 0;
+        if (allowed) {
+            onConsumed(bucket, limit.getRequestedTokens());
+        }
+        long decision = decisions.incrementAndGet();
+        if (decision % SWEEP_EVERY == 0) {
+            sweep(stripes[(int) (decision / SWEEP_EVERY) & (stripes.length - 1)], now);
+        }
+        return Mono.just(new Response(allowed, headers(allowed ? result : -1L - result)));
+    }
+
+    /**
+     * Called for every allowed request; the hybrid limiter records the consumption for its next sync.
+     */
+    void onConsumed(TokenBucket bucket, long tokens) {
+    }
+
+    /**
+     * Takes tokens that were consumed by other gateway replicas out of the given bucket.
+     */
+    void debit(TokenBucket bucket, long tokens) {
+        bucket.debit(tokens, nanoClock.getAsLong(), emissionIntervalNanos, capacityNanos);
+    }
+
+    /**
+     * Snapshot of the active buckets, for the hybrid sync.
+     */
+    List<Map.Entry<String, TokenBucket>> buckets() {
+        List<Map.Entry<String, TokenBucket>> buckets = new ArrayList<>();
+        for (ConcurrentHashMap<String, TokenBucket> stripe : stripes) {
+            buckets.addAll(stripe.entrySet());
+        }
+        return buckets;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ConcurrentHashMap<String, TokenBucket>[] newStripes(int count) {
+        ConcurrentHashMap<String, TokenBucket>[] stripes =
+                (ConcurrentHashMap<String, TokenBucket>[]) new ConcurrentHashMap<?, ?>[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+        }
+        return stripes;
+    }
+
+    private ConcurrentHashMap<String, TokenBucket> stripeFor(String id) {
+        int hash = id.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+
+    private static void sweep(ConcurrentHashMap<String, TokenBucket> stripe, long now) {
+        stripe.values().removeIf(bucket -> bucket.isIdle(now));
+    }
+
+    private Map<String, String> headers(long tokensLeft) {
+        Map<String, String> headers = new HashMap<>(headersTemplate);
+        headers.put(RedisRateLimiter.REMAINING_HEADER, Long.toString(tokensLeft));
+        return headers;
+    }
+}
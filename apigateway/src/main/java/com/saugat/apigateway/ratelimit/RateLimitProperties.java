@@ -0,0 +1,114 @@
+package com.saugat.apigateway.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Rate limits of the gateway routes, keyed by route id.
+ * <p>
+ * Not registered as a bean: {@link RouteRateLimiters} binds a new instance whenever the routes are built, for the
+ * same reason as {@code RouteTableProperties}; a rebound bean would keep the limits of routes removed from the map.
+ */
+@ConfigurationProperties(prefix = RateLimitProperties.PREFIX)
+public class RateLimitProperties {
+
+    public static final String PREFIX = "gateway.rate-limit";
+
+    /**
+     * Number of stripes the local bucket table is split into; rounded up to a power of two.
+     */
+    private int stripes = 64;
+
+    /**
+     * How often the hybrid mode pushes locally consumed tokens to Redis and pulls the other replicas' consumption.
+     */
+    private Duration syncInterval = Duration.ofMillis(500);
+
+    private Map<String, RouteRateLimit> routes = new LinkedHashMap<>();
+
+    public int getStripes() {
+        return stripes;
+    }
+
+    public void setStripes(int stripes) {
+        this.stripes = stripes;
+    }
+
+    public Duration getSyncInterval() {
+        return syncInterval;
+    }
+
+    public void setSyncInterval(Duration syncInterval) {
+        this.syncInterval = syncInterval;
+    }
+
+    public Map<String, RouteRateLimit> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(Map<String, RouteRateLimit> routes) {
+        this.routes = routes;
+    }
+
+    public enum Mode {
+        /**
+         * Every request runs the token-bucket script in Redis ({@code RedisRateLimiter}).
+         */
+        REDIS,
+        /**
+         * Buckets live in gateway memory only; each replica enforces the limit on its own.
+         */
+        LOCAL,
+        /**
+         * Buckets live in gateway memory and consumption is exchanged with Redis in batches, so the limit holds
+         * across replicas with a lag of about one sync interval.
+         */
+        HYBRID
+    }
+
+    public static class RouteRateLimit {
+
+        private Mode mode = Mode.REDIS;
+
+        private int replenishRate = 1;
+
+        private int burstCapacity = 1;
+
+        private int requestedTokens = 1;
+
+        public Mode getMode() {
+            return mode;
+        }
+
+        public void setMode(Mode mode) {
+            this.mode = mode;
+        }
+
+        public int getReplenishRate() {
+            return replenishRate;
+        }
+
+        public void setReplenishRate(int replenishRate) {
+            this.replenishRate = replenishRate;
+        }
+
+        public int getBurstCapacity() {
+            return burstCapacity;
+        }
+
+        public void setBurstCapacity(int burstCapacity) {
+            this.burstCapacity = burstCapacity;
+        }
+
+        public int getRequestedTokens() {
+            return requestedTokens;
+        }
+
+        public void setRequestedTokens(int requestedTokens) {
+            this.requestedTokens = requestedTokens;
+        }
+    }
+}
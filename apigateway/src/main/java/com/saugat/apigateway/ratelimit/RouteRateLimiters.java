@@ -0,0 +1,101 @@
+package com.saugat.apigateway.ratelimit;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter;
+import org.springframework.cloud.gateway.filter.ratelimit.RedisRateLimiter;
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hands out the rate limiter configured for a route under {@code gateway.rate-limit.routes.<route-id>}.
+ * <p>
+ * {@code redis} routes share the application's {@link RedisRateLimiter} bean with their own per-route limits;
+ * {@code local} and {@code hybrid} routes get their own in-memory limiter, which is reused for as long as the
+ * route's settings stay the same. When the routes are rebuilt after a configuration refresh, a route whose settings
+ * changed gets a new limiter (with fresh buckets). Routes without an entry, including routes whose entry was removed
+ * from the configuration, use the Redis limiter with its default limits.
+ */
+@Component
+public class RouteRateLimiters implements DisposableBean {
+
+    private final Environment environment;
+    private final RedisRateLimiter redisRateLimiter;
+    private final ObjectProvider<ReactiveStringRedisTemplate> redisTemplate;
+    private final Map<String, Entry> limiters = new ConcurrentHashMap<>();
+
+    public RouteRateLimiters(Environment environment, RedisRateLimiter redisRateLimiter,
+                             ObjectProvider<ReactiveStringRedisTemplate> redisTemplate) {
+        this.environment = environment;
+        this.redisRateLimiter = redisRateLimiter;
+        this.redisTemplate = redisTemplate;
+    }
+
+    public RateLimiter<?> forRoute(String routeId) {
+        RateLimitProperties properties = Binder.get(environment)
+                .bind(RateLimitProperties.PREFIX, RateLimitProperties.class)
+                .orElseGet(RateLimitProperties::new);
+        RateLimitProperties.RouteRateLimit limit = properties.getRoutes().get(routeId);
+        String settings = describe(properties, limit);
+        return limiters.compute(routeId, (id, current) -> {
+            if (current != null && current.settings().equals(settings)) {
+                return current;
+            }
+            if (current != null) {
+                current.dispose();
+            }
+            return create(id, properties, limit, settings);
+        }).limiter();
+    }
+
+    private Entry create(String routeId, RateLimitProperties properties, RateLimitProperties.RouteRateLimit limit,
+                         String settings) {
+        if (limit == null) {
+            redisRateLimiter.getConfig().remove(routeId);
+            return new Entry(settings, redisRateLimiter, null);
+        }
+        return switch (limit.getMode()) {
+            case REDIS -> {
+                redisRateLimiter.getConfig().put(routeId, new RedisRateLimiter.Config()
+                        .setReplenishRate(limit.getReplenishRate())
+                        .setBurstCapacity(limit.getBurstCapacity())
+                        .setRequestedTokens(limit.getRequestedTokens()));
+                yield new Entry(settings, redisRateLimiter, null);
+            }
+            case LOCAL -> new Entry(settings, new LocalRateLimiter(limit, properties.getStripes()), null);
+            case HYBRID -> {
+                HybridRateLimiter hybrid = new HybridRateLimiter(routeId, limit, properties.getStripes(),
+                        redisTemplate.getObject());
+                yield new Entry(settings, hybrid, hybrid.startSync(properties.getSyncInterval()));
+            }
+        };
+    }
+
+    private static String describe(RateLimitProperties properties, RateLimitProperties.RouteRateLimit limit) {
+        if (limit == null) {
+            return "default";
+        }
+        return limit.getMode() + "/" + limit.getReplenishRate() + "/" + limit.getBurstCapacity() + "/"
+                + limit.getRequestedTokens() + "/" + properties.getStripes() + "/" + properties.getSyncInterval();
+    }
+
+    @Override
+    public void destroy() {
+        limiters.values().forEach(Entry::dispose);
+    }
+
+    private record Entry(String settings, RateLimiter<?> limiter, Disposable sync) {
+
+        void dispose() {
+            if (sync != null) {
+                sync.dispose();
+            }
+        }
+    }
+}
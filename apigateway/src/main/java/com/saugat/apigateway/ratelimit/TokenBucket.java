@@ -0,0 +1,62 @@
+package com.saugat.apigateway.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket kept in a single {@link AtomicLong}.
+ * <p>
+ * Instead of a token count and a refill timestamp the bucket stores the "theoretical arrival time" (GCRA): the
+ * instant at which the bucket would be full again. Taking {@code n} tokens pushes it {@code n} emission intervals
+ * further into the future and is allowed as long as it stays within {@code burstCapacity} intervals of now. This
+ * is the same limit as {@code request_rate_limiter.lua}, but a decision is one compare-and-set instead of two
+ * Redis keys.
+ */
+final class TokenBucket {
+
+    private final AtomicLong fullAt = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * Tokens taken locally that have not been pushed to Redis yet (hybrid mode only).
+     */
+    final AtomicLong unsynced = new AtomicLong();
+
+    /**
+     * Last total the hybrid sync read from Redis, or -1 before the first sync; only touched by the sync.
+     */
+    volatile long lastSyncedTotal = -1L;
+
+    /**
+     * Tries to take {@code tokens} tokens.
+     *
+     * @return the tokens left after the call, or {@code -1 - left} when the request was refused
+     */
+    long tryConsume(long tokens, long now, long emissionIntervalNanos, long capacityNanos) {
+        long cost = tokens * emissionIntervalNanos;
+        while (true) {
+            long current = fullAt.get();
+            long base = Math.max(current, now);
+            long next = base + cost;
+            if (next - now > capacityNanos) {
+                return -1L - (capacityNanos - (base - now)) / emissionIntervalNanos;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return (capacityNanos - (next - now)) / emissionIntervalNanos;
+            }
+        }
+    }
+
+    /**
+     * Takes tokens that were consumed elsewhere (another replica); never leaves the bucket more than empty.
+     */
+    void debit(long tokens, long now, long emissionIntervalNanos, long capacityNanos) {
+        long cost = tokens * emissionIntervalNanos;
+        fullAt.accumulateAndGet(now, (current, at) -> Math.min(Math.max(current, at) + cost, at + capacityNanos));
+    }
+
+    /**
+     * A bucket that has refilled completely and has nothing left to sync carries no state and can be dropped.
+     */
+    boolean isIdle(long now) {
+        return fullAt.get() <= now && unsynced.get() == 0;
+    }
+}
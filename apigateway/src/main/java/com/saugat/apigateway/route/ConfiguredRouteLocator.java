@@ -0,0 +1,97 @@
+package com.saugat.apigateway.route;
+
+import com.saugat.apigateway.hedging.HedgingFilter;
+import com.saugat.apigateway.ratelimit.RouteRateLimiters;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.cloud.gateway.route.builder.GatewayFilterSpec;
+import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
+import org.springframework.cloud.gateway.route.builder.UriSpec;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.util.Map;
+
+/**
+ * Builds the gateway routes from {@link RouteTableProperties}, bound afresh from the environment on every build so
+ * the routes match the current configuration exactly.
+ * <p>
+ * The gateway wraps every {@link RouteLocator} in its caching locator, which calls {@link #getRoutes()} only on
+ * start-up and on a {@code RefreshRoutesEvent} (published after {@code /actuator/refresh} has reloaded the
+ * properties, or by {@code /actuator/gateway/refresh}). The new routes, with their path patterns and rewrite
+ * expressions compiled, then replace the old list in one step; requests already in flight keep the route they
+ * matched, and requests never parse route configuration.
+ */
+@Component
+public class ConfiguredRouteLocator implements RouteLocator {
+
+    private final RouteLocatorBuilder routeLocatorBuilder;
+    private final Environment environment;
+    private final RouteRateLimiters rateLimiters;
+    private final KeyResolver userKeyResolver;
+
+    public ConfiguredRouteLocator(RouteLocatorBuilder routeLocatorBuilder, Environment environment,
+                                  RouteRateLimiters rateLimiters, KeyResolver userKeyResolver) {
+        this.routeLocatorBuilder = routeLocatorBuilder;
+        this.environment = environment;
+        this.rateLimiters = rateLimiters;
+        this.userKeyResolver = userKeyResolver;
+    }
+
+    @Override
+    public Flux<Route> getRoutes() {
+        RouteTableProperties properties = Binder.get(environment)
+                .bind(RouteTableProperties.PREFIX, RouteTableProperties.class)
+                .orElseGet(RouteTableProperties::new);
+        RouteLocatorBuilder.Builder routes = routeLocatorBuilder.routes();
+        for (Map.Entry<String, RouteTableProperties.RouteSpec> entry : properties.getRoutes().entrySet()) {
+            String routeId = entry.getKey();
+            RouteTableProperties.RouteSpec spec = entry.getValue();
+            if (!spec.isEnabled()) {
+                continue;
+            }
+            routes.route(routeId, p -> {
+                UriSpec route = p.path(spec.getPath()).filters(f -> filters(f, routeId, spec));
+                if (spec.getHedge() != null) {
+                    route.metadata(HedgingFilter.HEDGE_METADATA, spec.getHedge());
+                }
+                return route.uri(spec.getUri());
+            });
+        }
+        return routes.build().getRoutes();
+    }
+
+    private GatewayFilterSpec filters(GatewayFilterSpec f, String routeId, RouteTableProperties.RouteSpec spec) {
+        RouteTableProperties.RewritePath rewritePath = spec.getRewritePath();
+        if (rewritePath != null) {
+            f.rewritePath(rewritePath.getRegexp(), rewritePath.getReplacement());
+        }
+        RouteTableProperties.CircuitBreaker circuitBreaker = spec.getCircuitBreaker();
+        if (circuitBreaker != null) {
+            f.circuitBreaker(cb -> {
+                cb.setName(circuitBreaker.getName());
+                if (circuitBreaker.getFallbackUri() != null) {
+                    cb.setFallbackUri(circuitBreaker.getFallbackUri());
+                }
+            });
+        }
+        RouteTableProperties.Retry retry = spec.getRetry();
+        if (retry != null) {
+            f.retry(r -> r
+                    .setRetries(retry.getRetries())
+                    .setMethods(retry.getMethods().toArray(new HttpMethod[0]))
+                    .setBackoff(retry.getFirstBackoff(), retry.getMaxBackoff(), retry.getFactor(),
+                            retry.isBasedOnPreviousValue()));
+        }
+        if (spec.isRateLimited()) {
+            f.requestRateLimiter(config -> config
+                    .setRateLimiter(rateLimiters.forRoute(routeId))
+                    .setKeyResolver(userKeyResolver));
+        }
+        return f;
+    }
+}
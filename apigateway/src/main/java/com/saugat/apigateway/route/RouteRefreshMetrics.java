@@ -0,0 +1,60 @@
+package com.saugat.apigateway.route;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.event.RefreshRoutesEvent;
+import org.springframework.cloud.gateway.event.RefreshRoutesResultEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records how long a route refresh takes, from the {@link RefreshRoutesEvent} until the gateway has swapped in
+ * the new routes ({@link RefreshRoutesResultEvent}), as the {@value #REFRESH_TIMER} timer tagged by result.
+ * Refreshes requested while one is still running are folded into it.
+ */
+@Component
+public class RouteRefreshMetrics {
+
+    public static final String REFRESH_TIMER = "gateway.routes.refresh";
+
+    private static final Logger logger = LoggerFactory.getLogger(RouteRefreshMetrics.class);
+
+    private static final long IDLE = 0L;
+
+    private final MeterRegistry meterRegistry;
+    private final AtomicLong refreshStartedAt = new AtomicLong(IDLE);
+
+    public RouteRefreshMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @EventListener
+    public void onRefreshRequested(RefreshRoutesEvent event) {
+        refreshStartedAt.compareAndSet(IDLE, System.nanoTime());
+    }
+
+    @EventListener
+    public void onRefreshCompleted(RefreshRoutesResultEvent event) {
+        long startedAt = refreshStartedAt.getAndSet(IDLE);
+        if (startedAt == IDLE) {
+            return;
+        }
+        long elapsed = System.nanoTime() - startedAt;
+        Timer.builder(REFRESH_TIMER)
+                .description("Time from a route refresh request until the new routes are in use")
+                .tag("result", event.isSuccess() ? "success" : "failure")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry)
+                .record(elapsed, TimeUnit.NANOSECONDS);
+        if (event.isSuccess()) {
+            logger.debug("Gateway routes refreshed in {} ms", TimeUnit.NANOSECONDS.toMillis(elapsed));
+        } else {
+            logger.warn("Gateway route refresh failed, keeping the previous routes", event.getThrowable());
+        }
+    }
+}
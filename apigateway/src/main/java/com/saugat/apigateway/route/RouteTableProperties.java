@@ -0,0 +1,287 @@
+package com.saugat.apigateway.route;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.http.HttpMethod;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The gateway's route table, keyed by route id. Rate limits live next to it under {@code gateway.rate-limit}.
+ * <p>
+ * Not registered as a bean: {@link ConfiguredRouteLocator} binds a new instance each time it builds the routes.
+ * Rebinding a bean on refresh merges into its existing map, so removed or renamed routes would survive.
+ */
+@ConfigurationProperties(prefix = RouteTableProperties.PREFIX)
+public class RouteTableProperties {
+
+    public static final String PREFIX = "gateway";
+
+    private Map<String, RouteSpec> routes = new LinkedHashMap<>();
+
+    public Map<String, RouteSpec> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(Map<String, RouteSpec> routes) {
+        this.routes = routes;
+    }
+
+    public static class RouteSpec {
+
+        private boolean enabled = true;
+
+        /**
+         * Path pattern the route matches, e.g. {@code /eazybank/accounts/**}.
+         */
+        private String path;
+
+        /**
+         * Destination, usually {@code lb://SERVICE-ID}.
+         */
+        private String uri;
+
+        private RewritePath rewritePath;
+
+        private CircuitBreaker circuitBreaker;
+
+        private Retry retry;
+
+        /**
+         * Apply the rate limiter configured for this route under {@code gateway.rate-limit.routes}.
+         */
+        private boolean rateLimited;
+
+        /**
+         * Hedge GET requests of this route; absent means no hedging.
+         */
+        private Hedge hedge;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public String getUri() {
+            return uri;
+        }
+
+        public void setUri(String uri) {
+            this.uri = uri;
+        }
+
+        public RewritePath getRewritePath() {
+            return rewritePath;
+        }
+
+        public void setRewritePath(RewritePath rewritePath) {
+            this.rewritePath = rewritePath;
+        }
+
+        public CircuitBreaker getCircuitBreaker() {
+            return circuitBreaker;
+        }
+
+        public void setCircuitBreaker(CircuitBreaker circuitBreaker) {
+            this.circuitBreaker = circuitBreaker;
+        }
+
+        public Retry getRetry() {
+            return retry;
+        }
+
+        public void setRetry(Retry retry) {
+            this.retry = retry;
+        }
+
+        public boolean isRateLimited() {
+            return rateLimited;
+        }
+
+        public void setRateLimited(boolean rateLimited) {
+            this.rateLimited = rateLimited;
+        }
+
+        public Hedge getHedge() {
+            return hedge;
+        }
+
+        public void setHedge(Hedge hedge) {
+            this.hedge = hedge;
+        }
+    }
+
+    public static class RewritePath {
+
+        private String regexp;
+
+        /**
+         * Replacement; in YAML write {@code /$\{segment}} so the placeholder is not resolved by Spring.
+         */
+        private String replacement = "/${segment}";
+
+        public String getRegexp() {
+            return regexp;
+        }
+
+        public void setRegexp(String regexp) {
+            this.regexp = regexp;
+        }
+
+        public String getReplacement() {
+            return replacement;
+        }
+
+        public void setReplacement(String replacement) {
+            this.replacement = replacement;
+        }
+    }
+
+    public static class CircuitBreaker {
+
+        private String name;
+
+        private String fallbackUri;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getFallbackUri() {
+            return fallbackUri;
+        }
+
+        public void setFallbackUri(String fallbackUri) {
+            this.fallbackUri = fallbackUri;
+        }
+    }
+
+    public static class Retry {
+
+        private int retries = 3;
+
+        private List<HttpMethod> methods = List.of(HttpMethod.GET);
+
+        private Duration firstBackoff = Duration.ofMillis(100);
+
+        private Duration maxBackoff = Duration.ofMillis(1000);
+
+        private int factor = 2;
+
+        private boolean basedOnPreviousValue = true;
+
+        public int getRetries() {
+            return retries;
+        }
+
+        public void setRetries(int retries) {
+            this.retries = retries;
+        }
+
+        public List<HttpMethod> getMethods() {
+            return methods;
+        }
+
+        public void setMethods(List<HttpMethod> methods) {
+            this.methods = methods;
+        }
+
+        public Duration getFirstBackoff() {
+            return firstBackoff;
+        }
+
+        public void setFirstBackoff(Duration firstBackoff) {
+            this.firstBackoff = firstBackoff;
+        }
+
+        public Duration getMaxBackoff() {
+            return maxBackoff;
+        }
+
+        public void setMaxBackoff(Duration maxBackoff) {
+            this.maxBackoff = maxBackoff;
+        }
+
+        public int getFactor() {
+            return factor;
+        }
+
+        public void setFactor(int factor) {
+            this.factor = factor;
+        }
+
+        public boolean isBasedOnPreviousValue() {
+            return basedOnPreviousValue;
+        }
+
+        public void setBasedOnPreviousValue(boolean basedOnPreviousValue) {
+            this.basedOnPreviousValue = basedOnPreviousValue;
+        }
+    }
+
+    public static class Hedge {
+
+        /**
+         * A second attempt is sent once the first has taken longer than this percentile of recent attempts.
+         */
+        private double percentile = 0.95;
+
+        /**
+         * Delay used until enough attempts have been seen to estimate the percentile.
+         */
+        private Duration initialDelay = Duration.ofMillis(100);
+
+        private Duration minDelay = Duration.ofMillis(10);
+
+        private Duration maxDelay = Duration.ofMillis(500);
+
+        public double getPercentile() {
+            return percentile;
+        }
+
+        public void setPercentile(double percentile) {
+            this.percentile = percentile;
+        }
+
+        public Duration getInitialDelay() {
+            return initialDelay;
+        }
+
+        public void setInitialDelay(Duration initialDelay) {
+            this.initialDelay = initialDelay;
+        }
+
+        public Duration getMinDelay() {
+            return minDelay;
+        }
+
+        public void setMinDelay(Duration minDelay) {
+            this.minDelay = minDelay;
+        }
+
+        public Duration getMaxDelay() {
+            return maxDelay;
+        }
+
+        public void setMaxDelay(Duration maxDelay) {
+            this.maxDelay = maxDelay;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.saugat.apigateway.filters;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CorrelationIdFilterTest {
+
+    private static final String PATH = "/eazybank/accounts/api/fetch?mobileNumber=4354437687";
+
+    private final CorrelationIdFilter filter = new CorrelationIdFilter();
+    private final AtomicReference<ServerWebExchange> routed = new AtomicReference<>();
+    private final AtomicReference<String> contextId = new AtomicReference<>();
+
+    @Test
+    void generatesAnIdWhenTheRequestHasNone() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(PATH));
+
+        filter(exchange);
+
+        String correlationId = routed.get().getRequest().getHeaders().getFirst(CorrelationIdFilter.CORRELATION_ID);
+        assertTrue(correlationId.matches("[0-9a-f]{16}"), correlationId);
+        assertEquals(correlationId, routed.get().getAttribute(CorrelationIdFilter.CORRELATION_ID_ATTR));
+        assertEquals(correlationId, contextId.get());
+    }
+
+    @Test
+    void generatesADifferentIdForEachRequest() {
+        filter(MockServerWebExchange.from(MockServerHttpRequest.get(PATH)));
+        String first = contextId.get();
+        filter(MockServerWebExchange.from(MockServerHttpRequest.get(PATH)));
+
+        assertNotEquals(first, contextId.get());
+    }
+
+    @Test
+    void keepsTheIdTheCallerSent() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(PATH)
+                .header(CorrelationIdFilter.CORRELATION_ID, "7d1c0e5f9a2b4c36"));
+
+        filter(exchange);
+
+        assertSame(exchange, routed.get());
+        assertEquals("7d1c0e5f9a2b4c36",
+                routed.get().getRequest().getHeaders().getFirst(CorrelationIdFilter.CORRELATION_ID));
+        assertEquals("7d1c0e5f9a2b4c36", routed.get().getAttribute(CorrelationIdFilter.CORRELATION_ID_ATTR));
+        assertEquals("7d1c0e5f9a2b4c36", contextId.get());
+    }
+
+    @Test
+    void replacesAnEmptyId() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(PATH)
+                .header(CorrelationIdFilter.CORRELATION_ID, ""));
+
+        filter(exchange);
+
+        assertTrue(contextId.get().matches("[0-9a-f]{16}"), contextId.get());
+        assertEquals(contextId.get(),
+                routed.get().getRequest().getHeaders().getFirst(CorrelationIdFilter.CORRELATION_ID));
+    }
+
+    @Test
+    void echoesTheIdOnTheResponse() {
+        MockServerWebExchange sent = MockServerWebExchange.from(MockServerHttpRequest.get(PATH)
+                .header(CorrelationIdFilter.CORRELATION_ID, "7d1c0e5f9a2b4c36"));
+        MockServerWebExchange generated = MockServerWebExchange.from(MockServerHttpRequest.get(PATH));
+
+        filter(sent);
+        filter(generated);
+
+        assertEquals("7d1c0e5f9a2b4c36", sent.getResponse().getHeaders().getFirst(CorrelationIdFilter.CORRELATION_ID));
+        assertEquals(contextId.get(), generated.getResponse().getHeaders().getFirst(CorrelationIdFilter.CORRELATION_ID));
+    }
+
+    /**
+     * Runs the filter in front of a chain that keeps the exchange it is handed and the id in the Reactor context,
+     * then completes the response as the routing filters would.
+     */
+    private void filter(MockServerWebExchange exchange) {
+        filter.filter(exchange, next -> {
+            routed.set(next);
+            return Mono.deferContextual(context -> {
+                contextId.set(context.get(CorrelationIdFilter.CORRELATION_ID));
+                return next.getResponse().setComplete();
+            });
+        }).block();
+    }
+}
@@ -0,0 +1,124 @@
+package com.saugat.apigateway.filters;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs {@link ResponseTimingFilter} and {@link UpstreamTimingFilter} around a downstream call that takes
+ * {@value #DOWNSTREAM_MILLIS} ms. As with the write filter of the gateway, the response is committed once the
+ * routing part of the chain has completed.
+ */
+class ResponseTimingFilterTest {
+
+    private static final long DOWNSTREAM_MILLIS = 50;
+    private static final Pattern SERVER_TIMING =
+            Pattern.compile("upstream;dur=(\\d+\\.\\d), total;dur=(\\d+\\.\\d)");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ResponseTimingFilter responseTimingFilter = new ResponseTimingFilter(meterRegistry);
+    private final UpstreamTimingFilter upstreamTimingFilter = new UpstreamTimingFilter();
+
+    @Test
+    void addsTheUpstreamAndTotalTimeToTheResponse() {
+        MockServerWebExchange exchange = exchange("http://localhost:8090/api/fetch");
+
+        filter(exchange, downstream(1));
+
+        Matcher serverTiming = SERVER_TIMING.matcher(
+                exchange.getResponse().getHeaders().getFirst(ResponseTimingFilter.SERVER_TIMING_HEADER));
+        assertTrue(serverTiming.matches(), serverTiming.toString());
+        double upstream = Double.parseDouble(serverTiming.group(1));
+        double total = Double.parseDouble(serverTiming.group(2));
+        assertTrue(upstream >= DOWNSTREAM_MILLIS, "upstream " + upstream);
+        assertTrue(total >= upstream, "total " + total + " upstream " + upstream);
+        assertTrue(exchange.getResponse().getHeaders().getFirst(ResponseTimingFilter.RESPONSE_TIME_HEADER)
+                .matches("\\d+\\.\\dms"));
+    }
+
+    @Test
+    void recordsTimersByRouteAndStatus() {
+        filter(exchange("http://localhost:8090/api/fetch"), downstream(1));
+
+        Timer total = meterRegistry.get(ResponseTimingFilter.TOTAL_TIMER)
+                .tag("routeId", "loans").tag("status", "200").timer();
+        Timer upstream = meterRegistry.get(ResponseTimingFilter.UPSTREAM_TIMER)
+                .tag("routeId", "loans").tag("status", "200").timer();
+        assertEquals(1, total.count());
+        assertEquals(1, upstream.count());
+        assertTrue(upstream.totalTime(TimeUnit.MILLISECONDS) >= DOWNSTREAM_MILLIS);
+        assertTrue(total.totalTime(TimeUnit.NANOSECONDS) >= upstream.totalTime(TimeUnit.NANOSECONDS));
+    }
+
+    @Test
+    void retriedAttemptsAddUp() {
+        filter(exchange("http://localhost:8090/api/fetch"), downstream(2));
+
+        Timer upstream = meterRegistry.get(ResponseTimingFilter.UPSTREAM_TIMER).timer();
+        assertEquals(1, upstream.count());
+        assertTrue(upstream.totalTime(TimeUnit.MILLISECONDS) >= 2 * DOWNSTREAM_MILLIS);
+    }
+
+    @Test
+    void answersWithoutADownstreamCallHaveNoUpstreamTime() {
+        MockServerWebExchange exchange = exchange("forward:/fallback");
+
+        filter(exchange, downstream(1));
+
+        assertTrue(exchange.getResponse().getHeaders().getFirst(ResponseTimingFilter.SERVER_TIMING_HEADER)
+                .matches("total;dur=\\d+\\.\\d"));
+        assertEquals(1, meterRegistry.get(ResponseTimingFilter.TOTAL_TIMER).timer().count());
+        assertNull(meterRegistry.find(ResponseTimingFilter.UPSTREAM_TIMER).timer());
+    }
+
+    /**
+     * The routing part of the chain: runs {@link UpstreamTimingFilter} once per attempt, like the retry filter.
+     */
+    private GatewayFilterChain downstream(int attempts) {
+        GatewayFilterChain call = exchange -> Mono.delay(Duration.ofMillis(DOWNSTREAM_MILLIS))
+                .doOnNext(tick -> exchange.getResponse().setStatusCode(HttpStatus.OK))
+                .then();
+        return exchange -> {
+            Mono<Void> routed = Mono.empty();
+            for (int i = 0; i < attempts; i++) {
+                routed = routed.then(upstreamTimingFilter.filter(exchange, call));
+            }
+            return routed;
+        };
+    }
+
+    private void filter(MockServerWebExchange exchange, GatewayFilterChain routing) {
+        responseTimingFilter.filter(exchange, routed -> routing.filter(routed)
+                        .then(Mono.defer(() -> routed.getResponse().setComplete())))
+                .block(Duration.ofSeconds(5));
+    }
+
+    private static MockServerWebExchange exchange(String requestUrl) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get("http://gateway/eazybank/loans/api/fetch"));
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, Route.async()
+                .id("loans")
+                .uri(URI.create("lb://loans"))
+                .predicate(ex -> true)
+                .build());
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR, URI.create(requestUrl));
+        return exchange;
+    }
+}
@@ -0,0 +1,238 @@
+package com.saugat.apigateway.hedging;
+
+import com.saugat.apigateway.route.RouteTableProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.RouteMetadataUtils;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.cloud.loadbalancer.support.ServiceInstanceListSuppliers;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import reactor.netty.Connection;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the filter against two local upstream instances of the loans service whose response delay each test sets.
+ */
+class HedgingFilterTest {
+
+    private static final Duration SLOW = Duration.ofSeconds(5);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final HttpClientProperties httpClientProperties = new HttpClientProperties();
+    private final List<Upstream> upstreams = new ArrayList<>();
+
+    @AfterEach
+    void stopUpstreams() {
+        upstreams.forEach(upstream -> upstream.server.disposeNow());
+    }
+
+    @Test
+    void fastFirstAttemptIsNotHedged() {
+        Upstream primary = upstream("primary", Duration.ZERO);
+        Upstream other = upstream("other", Duration.ZERO);
+
+        MockServerWebExchange exchange = hedge(filter(primary, other), primary, hedge(Duration.ofMillis(500)));
+
+        assertEquals("primary", body(exchange));
+        assertEquals(0, other.requests.get());
+        assertEquals(1.0, outcome("not_hedged"));
+    }
+
+    @Test
+    void hedgeFiresAfterTheDelayAndWinsWhileTheFirstAttemptIsCancelled() {
+        Upstream primary = upstream("primary", SLOW);
+        Upstream other = upstream("other", Duration.ZERO);
+
+        long start = System.nanoTime();
+        MockServerWebExchange exchange = hedge(filter(primary, other), primary, hedge(Duration.ofMillis(50)));
+
+        assertEquals("other", body(exchange));
+        assertTrue(System.nanoTime() - start < SLOW.toNanos() / 2);
+        assertEquals(1.0, outcome("hedge_won"));
+        assertTrue(primary.await(primary.cancelled), "first attempt was not cancelled");
+    }
+
+    @Test
+    void firstAttemptCanStillWinOnceTheHedgeIsSent() {
+        Upstream primary = upstream("primary", Duration.ofMillis(200));
+        Upstream other = upstream("other", SLOW);
+
+        MockServerWebExchange exchange = hedge(filter(primary, other), primary, hedge(Duration.ofMillis(20)));
+
+        assertEquals("primary", body(exchange));
+        assertEquals(1.0, outcome("primary_won"));
+        assertTrue(other.await(other.cancelled), "hedge was not cancelled");
+    }
+
+    @Test
+    void withoutAnotherInstanceOnlyTheFirstAttemptIsSent() {
+        Upstream primary = upstream("primary", Duration.ofMillis(200));
+
+        MockServerWebExchange exchange = hedge(filter(primary), primary, hedge(Duration.ofMillis(20)));
+
+        assertEquals("primary", body(exchange));
+        assertEquals(1.0, outcome("no_alternative"));
+    }
+
+    @Test
+    void routeResponseTimeoutApplies() {
+        Upstream primary = upstream("primary", SLOW);
+        Upstream other = upstream("other", SLOW);
+        Route route = route(hedge(Duration.ofMillis(20)), Map.of(RouteMetadataUtils.RESPONSE_TIMEOUT_ATTR, 300));
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> hedge(filter(primary, other), primary, route));
+
+        assertEquals(HttpStatus.GATEWAY_TIMEOUT, ex.getStatusCode());
+    }
+
+    @Test
+    void requestHeadersGoThroughTheHeaderFilters() {
+        Upstream primary = upstream("primary", Duration.ZERO);
+        HttpHeadersFilter forwarded = (headers, exchange) -> {
+            HttpHeaders filtered = new HttpHeaders();
+            filtered.putAll(headers);
+            filtered.set("X-Forwarded-Host", "gateway");
+            return filtered;
+        };
+        HedgingFilter filter = new HedgingFilter(
+                serviceId -> ServiceInstanceListSuppliers.from(serviceId, primary.instance()),
+                meterRegistry, HttpClient.create(), () -> List.of(forwarded), httpClientProperties);
+
+        MockServerWebExchange exchange = hedge(filter, primary, hedge(Duration.ofMillis(500)));
+
+        assertEquals("gateway", exchange.getResponse().getHeaders().getFirst("x-seen-forwarded-host"));
+    }
+
+    @Test
+    void largeBodiesAreStreamed() {
+        Upstream primary = upstream("primary", Duration.ZERO);
+        primary.body = "x".repeat(1024 * 1024);
+
+        MockServerWebExchange exchange = hedge(filter(primary), primary, hedge(Duration.ofMillis(500)));
+
+        assertEquals(1024 * 1024, body(exchange).length());
+    }
+
+    private HedgingFilter filter(Upstream... instances) {
+        ServiceInstance[] serviceInstances = new ServiceInstance[instances.length];
+        for (int i = 0; i < instances.length; i++) {
+            serviceInstances[i] = instances[i].instance();
+        }
+        return new HedgingFilter(serviceId -> ServiceInstanceListSuppliers.from(serviceId, serviceInstances),
+                meterRegistry, HttpClient.create(), List::of, httpClientProperties);
+    }
+
+    private static MockServerWebExchange hedge(HedgingFilter filter, Upstream primary,
+                                               RouteTableProperties.Hedge hedge) {
+        return hedge(filter, primary, route(hedge, Map.of()));
+    }
+
+    private static MockServerWebExchange hedge(HedgingFilter filter, Upstream primary, Route route) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get("http://gateway/eazybank/loans/api/fetch"));
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR,
+                URI.create("http://localhost:" + primary.server.port() + "/api/fetch"));
+        filter.filter(exchange, ex -> Mono.empty()).block(Duration.ofSeconds(10));
+        return exchange;
+    }
+
+    private static Route route(RouteTableProperties.Hedge hedge, Map<String, Object> metadata) {
+        return Route.async()
+                .id("loans")
+                .uri(URI.create("lb://loans"))
+                .predicate(exchange -> true)
+                .metadata(metadata)
+                .metadata(HedgingFilter.HEDGE_METADATA, hedge)
+                .build();
+    }
+
+    private static RouteTableProperties.Hedge hedge(Duration delay) {
+        RouteTableProperties.Hedge hedge = new RouteTableProperties.Hedge();
+        hedge.setInitialDelay(delay);
+        return hedge;
+    }
+
+    /**
+     * The winner's body, read from the connection the filter hands to the write filter.
+     */
+    private static String body(MockServerWebExchange exchange) {
+        Connection connection = exchange.getAttribute(ServerWebExchangeUtils.CLIENT_RESPONSE_CONN_ATTR);
+        return connection.inbound().receive().aggregate().asString().block(Duration.ofSeconds(10));
+    }
+
+    private double outcome(String outcome) {
+        return meterRegistry.get(HedgingFilter.REQUESTS_COUNTER).tag("outcome", outcome).counter().count();
+    }
+
+    private Upstream upstream(String name, Duration delay) {
+        Upstream upstream = new Upstream(name, delay);
+        upstreams.add(upstream);
+        return upstream;
+    }
+
+    private static final class Upstream {
+
+        private final String name;
+        private final AtomicInteger requests = new AtomicInteger();
+        private final CountDownLatch cancelled = new CountDownLatch(1);
+        private final DisposableServer server;
+        private volatile String body;
+
+        Upstream(String name, Duration delay) {
+            this.name = name;
+            this.body = name;
+            this.server = HttpServer.create()
+                    .host("localhost")
+                    .port(0)
+                    .handle((request, response) -> {
+                        requests.incrementAndGet();
+                        String forwardedHost = request.requestHeaders().get("X-Forwarded-Host");
+                        return response
+                                .header("x-seen-forwarded-host", forwardedHost != null ? forwardedHost : "")
+                                .sendString(Mono.delay(delay).map(tick -> body).doOnCancel(cancelled::countDown));
+                    })
+                    .bindNow();
+        }
+
+        ServiceInstance instance() {
+            return new DefaultServiceInstance(name, "loans", "localhost", server.port(), false);
+        }
+
+        boolean await(CountDownLatch latch) {
+            try {
+                return latch.await(2, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.saugat.apigateway.hedging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LatencyWindowTest {
+
+    @Test
+    void hasNoPercentileUntilEnoughAttemptsAreRecorded() {
+        LatencyWindow window = new LatencyWindow(0.95);
+        for (int i = 1; i < 64; i++) {
+            window.record(millis(i));
+        }
+
+        assertEquals(-1L, window.percentileNanos());
+        assertEquals(-1L, window.medianSlowerThan(0L));
+    }
+
+    @Test
+    void percentileOfTheRecordedAttempts() {
+        LatencyWindow window = new LatencyWindow(0.95);
+        for (int i = 1; i <= 64; i++) {
+            window.record(millis(i));
+        }
+
+        assertEquals(millis(61), window.percentileNanos());
+    }
+
+    @Test
+    void keepsOnlyTheMostRecentAttempts() {
+        LatencyWindow window = new LatencyWindow(0.5);
+        for (int i = 0; i < 512; i++) {
+            window.record(millis(1_000));
+        }
+        for (int i = 0; i < 512; i++) {
+            window.record(millis(10));
+        }
+
+        assertEquals(millis(10), window.percentileNanos());
+    }
+
+    @Test
+    void medianOfTheAttemptsSlowerThanAGivenTime() {
+        LatencyWindow window = new LatencyWindow(0.95);
+        for (int i = 1; i <= 64; i++) {
+            window.record(millis(i));
+        }
+
+        // 61, 62, 63 and 64 ms are slower than 60 ms
+        assertEquals(millis(62), window.medianSlowerThan(millis(60)));
+        assertEquals(millis(64), window.medianSlowerThan(millis(63)));
+        assertEquals(-1L, window.medianSlowerThan(millis(64)));
+    }
+
+    private static long millis(long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+}
@@ -0,0 +1,143 @@
+package com.saugat.apigateway.perf;
+
+import com.saugat.apigateway.ratelimit.HybridRateLimiter;
+import com.saugat.apigateway.ratelimit.LocalRateLimiter;
+import com.saugat.apigateway.ratelimit.RateLimitProperties;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter;
+import org.springframework.cloud.gateway.filter.ratelimit.RedisRateLimiter;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.Disposable;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the per-request cost of the rate limiters the gateway can use on a route: {@link RedisRateLimiter}
+ * (one script call per request), {@link LocalRateLimiter} and {@link HybridRateLimiter}. Needs a Redis on
+ * localhost:6379 ({@code docker run -p 6379:6379 redis}).
+ * <pre>
+ * ./mvnw test -Pperf -Dtest=RateLimiterOverheadBenchmarkTest
+ * </pre>
+ * For the end-to-end effect through the gateway, run the load test with {@code --rate-limiter=redis|local|hybrid}.
+ */
+@Tag("perf")
+class RateLimiterOverheadBenchmarkTest {
+
+    private static final String ROUTE_ID = "cards";
+    private static final int KEYS = 1_000;
+    private static final int WARMUP_CALLS = 20_000;
+    private static final int MEASURED_CALLS = 100_000;
+    private static final int THREADS = 16;
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static ReactiveStringRedisTemplate redisTemplate;
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory("localhost", 6379);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new ReactiveStringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void isAllowedLatency() throws Exception {
+        // limits high enough that every call is allowed, so all limiters do the same work
+        RateLimitProperties.RouteRateLimit limit = new RateLimitProperties.RouteRateLimit();
+        limit.setReplenishRate(1_000_000);
+        limit.setBurstCapacity(1_000_000);
+        limit.setRequestedTokens(1);
+
+        RedisRateLimiter redis = new RedisRateLimiter(redisTemplate, rateLimiterScript(), null);
+        redis.getConfig().put(ROUTE_ID, new RedisRateLimiter.Config()
+                .setReplenishRate(limit.getReplenishRate())
+                .setBurstCapacity(limit.getBurstCapacity())
+                .setRequestedTokens(limit.getRequestedTokens()));
+        LocalRateLimiter local = new LocalRateLimiter(limit, 64);
+        HybridRateLimiter hybrid = new HybridRateLimiter(ROUTE_ID, limit, 64, redisTemplate);
+        Disposable sync = hybrid.startSync(Duration.ofMillis(500));
+
+        try {
+            System.out.printf("%-8s %8s %12s %12s %12s %16s%n",
+                    "limiter", "threads", "p50 (us)", "p99 (us)", "p999 (us)", "throughput/s");
+            for (int threads : new int[]{1, THREADS}) {
+                report("redis", threads, redis);
+                report("local", threads, local);
+                report("hybrid", threads, hybrid);
+            }
+        } finally {
+            sync.dispose();
+        }
+    }
+
+    private static void report(String name, int threads, RateLimiter<?> limiter) throws Exception {
+        measure(limiter, threads, WARMUP_CALLS);
+        long start = System.nanoTime();
+        long[] latencies = measure(limiter, threads, MEASURED_CALLS);
+        double seconds = (System.nanoTime() - start) / 1_000_000_000d;
+
+        Arrays.sort(latencies);
+        System.out.printf("%-8s %8d %12.1f %12.1f %12.1f %16.0f%n", name, threads,
+                percentile(latencies, 0.50), percentile(latencies, 0.99), percentile(latencies, 0.999),
+                latencies.length / seconds);
+    }
+
+    private static long[] measure(RateLimiter<?> limiter, int threads, int calls) throws Exception {
+        long[] latencies = new long[calls];
+        int perThread = calls / threads;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            Future<?>[] futures = new Future<?>[threads];
+            for (int t = 0; t < threads; t++) {
+                int offset = t * perThread;
+                futures[t] = executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        String key = "user-" + ThreadLocalRandom.current().nextInt(KEYS);
+                        long begin = System.nanoTime();
+                        RateLimiter.Response response = limiter.isAllowed(ROUTE_ID, key).block();
+                        latencies[offset + i] = System.nanoTime() - begin;
+                        assertTrue(response != null && response.isAllowed());
+                    }
+                });
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+        return Arrays.copyOf(latencies, perThread * threads);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static RedisScript<List<Long>> rateLimiterScript() {
+        // the script shipped with the gateway, as used by its RedisRateLimiter bean
+        return (RedisScript<List<Long>>) (RedisScript<?>) RedisScript.of(
+                new ClassPathResource("META-INF/scripts/request_rate_limiter.lua"), List.class);
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.round(percentile * sorted.length))] / 1_000d;
+    }
+}
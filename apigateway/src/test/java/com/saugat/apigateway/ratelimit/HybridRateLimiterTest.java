@@ -0,0 +1,138 @@
+package com.saugat.apigateway.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Two replicas of the same route sharing an in-memory stand-in for the Redis counters, with the clock stopped so
+ * no tokens are refilled.
+ */
+class HybridRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final FakeRedis redis = new FakeRedis();
+    private final HybridRateLimiter first = replica();
+    private final HybridRateLimiter second = replica();
+
+    @Test
+    void eachReplicaIsDebitedWhatTheOtherConsumed() {
+        consume(first, 3);
+        consume(second, 2);
+        // the first sync of a bucket only learns the running total, whoever consumed it
+        first.sync().block();
+        second.sync().block();
+        assertEquals(5L, redis.counters.get("request_rate_limiter.{cards.user}.consumed"));
+
+        consume(first, 1);
+        consume(second, 1);
+        first.sync().block();
+        second.sync().block();
+
+        // 10 tokens: the first replica used 4 and was debited the second's 2 that came after its first sync; the
+        // second used 3 and was debited the first's 1 that came after its own
+        assertEquals(4, remaining(first));
+        assertEquals(6, remaining(second));
+    }
+
+    @Test
+    void consumptionIsPushedAgainAfterRedisWasDown() {
+        first.sync().block();
+        consume(first, 2);
+        redis.down = true;
+
+        first.sync().block();
+        assertEquals(2L, first.buckets().get(0).getValue().unsynced.get());
+
+        redis.down = false;
+        first.sync().block();
+        assertEquals(2L, redis.counters.get("request_rate_limiter.{cards.user}.consumed"));
+        assertEquals(0L, first.buckets().get(0).getValue().unsynced.get());
+    }
+
+    @Test
+    void onlyAllowedRequestsAreSynced() {
+        consume(first, 12);
+
+        first.sync().block();
+
+        assertEquals(10L, redis.counters.get("request_rate_limiter.{cards.user}.consumed"));
+    }
+
+    private HybridRateLimiter replica() {
+        return new HybridRateLimiter("cards", LocalRateLimiterTest.limit(1, 10, 1), 64, redis.template(),
+                clock::get);
+    }
+
+    private static void consume(HybridRateLimiter limiter, int requests) {
+        for (int i = 0; i < requests; i++) {
+            limiter.isAllowed("cards", "user").block();
+        }
+    }
+
+    /**
+     * Tokens left, by taking them until a request is refused.
+     */
+    private static int remaining(HybridRateLimiter limiter) {
+        int taken = 0;
+        while (limiter.isAllowed("cards", "user").block().isAllowed()) {
+            taken++;
+        }
+        return taken;
+    }
+
+    /**
+     * Answers the {@code INCRBY} and {@code EXPIRE} calls of the sync from a map, or fails them while down.
+     */
+    private static final class FakeRedis {
+
+        private final Map<String, Long> counters = new ConcurrentHashMap<>();
+        private volatile boolean down;
+
+        ReactiveStringRedisTemplate template() {
+            ReactiveRedisConnectionFactory connectionFactory = proxy(ReactiveRedisConnectionFactory.class);
+            @SuppressWarnings("unchecked")
+            ReactiveValueOperations<String, String> valueOperations = (ReactiveValueOperations<String, String>)
+                    Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{ReactiveValueOperations.class},
+                            (proxy, method, args) -> {
+                                if (!method.getName().equals("increment") || args.length != 2) {
+                                    throw new UnsupportedOperationException(method.getName());
+                                }
+                                return down
+                                        ? Mono.error(new IllegalStateException("Redis is down"))
+                                        : Mono.just(counters.merge((String) args[0], (Long) args[1], Long::sum));
+                            });
+            return new ReactiveStringRedisTemplate(connectionFactory) {
+
+                @Override
+                public ReactiveValueOperations<String, String> opsForValue() {
+                    return valueOperations;
+                }
+
+                @Override
+                public Mono<Boolean> expire(String key, Duration timeout) {
+                    return Mono.just(true);
+                }
+            };
+        }
+
+        private static <T> T proxy(Class<T> type) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                    (proxy, method, args) -> {
+                        throw new UnsupportedOperationException(method.getName());
+                    }));
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.saugat.apigateway.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter;
+import org.springframework.cloud.gateway.filter.ratelimit.RedisRateLimiter;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LocalRateLimiterTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void answersWithTheHeadersOfTheRedisLimiter() {
+        LocalRateLimiter limiter = new LocalRateLimiter(limit(1, 2, 1), 64, clock::get);
+
+        RateLimiter.Response first = limiter.isAllowed("cards", "user").block();
+        limiter.isAllowed("cards", "user").block();
+        RateLimiter.Response refused = limiter.isAllowed("cards", "user").block();
+
+        assertTrue(first.isAllowed());
+        assertEquals(Map.of(
+                RedisRateLimiter.REMAINING_HEADER, "1",
+                RedisRateLimiter.REPLENISH_RATE_HEADER, "1",
+                RedisRateLimiter.BURST_CAPACITY_HEADER, "2",
+                RedisRateLimiter.REQUESTED_TOKENS_HEADER, "1"), first.getHeaders());
+        assertFalse(refused.isAllowed());
+        assertEquals("0", refused.getHeaders().get(RedisRateLimiter.REMAINING_HEADER));
+    }
+
+    @Test
+    void keysHaveTheirOwnBuckets() {
+        LocalRateLimiter limiter = new LocalRateLimiter(limit(1, 1, 1), 64, clock::get);
+
+        assertTrue(limiter.isAllowed("cards", "first").block().isAllowed());
+        assertFalse(limiter.isAllowed("cards", "first").block().isAllowed());
+        assertTrue(limiter.isAllowed("cards", "second").block().isAllowed());
+
+        clock.addAndGet(SECOND);
+        assertTrue(limiter.isAllowed("cards", "first").block().isAllowed());
+    }
+
+    @Test
+    void sweepDropsBucketsThatHaveRefilled() {
+        LocalRateLimiter limiter = new LocalRateLimiter(limit(1_000, 1_000_000, 1), 1, clock::get);
+        limiter.isAllowed("cards", "gone").block();
+
+        clock.addAndGet(SECOND);
+        // the 1024th decision sweeps the table; the active key keeps its bucket
+        for (int i = 1; i < 1024; i++) {
+            limiter.isAllowed("cards", "active").block();
+        }
+
+        assertEquals(1, limiter.buckets().size());
+        assertEquals("active", limiter.buckets().get(0).getKey());
+    }
+
+    @Test
+    void rejectsALimitThatCanNeverAllowARequest() {
+        assertThrows(IllegalArgumentException.class, () -> new LocalRateLimiter(limit(0, 1, 1), 64));
+        assertThrows(IllegalArgumentException.class, () -> new LocalRateLimiter(limit(1, 1, 2), 64));
+    }
+
+    static RateLimitProperties.RouteRateLimit limit(int replenishRate, int burstCapacity, int requestedTokens) {
+        RateLimitProperties.RouteRateLimit limit = new RateLimitProperties.RouteRateLimit();
+        limit.setMode(RateLimitProperties.Mode.LOCAL);
+        limit.setReplenishRate(replenishRate);
+        limit.setBurstCapacity(burstCapacity);
+        limit.setRequestedTokens(requestedTokens);
+        return limit;
+    }
+}
@@ -0,0 +1,83 @@
+package com.saugat.apigateway.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the bucket against {@code request_rate_limiter.lua}: a new key starts full, each second adds
+ * {@code replenishRate} tokens up to {@code burstCapacity}, and a refused request takes nothing.
+ */
+class TokenBucketTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    // replenishRate 1, burstCapacity 3
+    private static final long EMISSION_INTERVAL = SECOND;
+    private static final long CAPACITY = 3 * SECOND;
+
+    private final TokenBucket bucket = new TokenBucket();
+
+    @Test
+    void newBucketAllowsTheBurstThenRefuses() {
+        assertEquals(2, bucket.tryConsume(1, 0, EMISSION_INTERVAL, CAPACITY));
+        assertEquals(1, bucket.tryConsume(1, 0, EMISSION_INTERVAL, CAPACITY));
+        assertEquals(0, bucket.tryConsume(1, 0, EMISSION_INTERVAL, CAPACITY));
+        assertEquals(-1, bucket.tryConsume(1, 0, EMISSION_INTERVAL, CAPACITY));
+    }
+
+    @Test
+    void refillsAtTheReplenishRateUpToTheBurstCapacity() {
+        for (int i = 0; i < 3; i++) {
+            bucket.tryConsume(1, 0, EMISSION_INTERVAL, CAPACITY);
+        }
+
+        assertEquals(0, bucket.tryConsume(1, SECOND, EMISSION_INTERVAL, CAPACITY));
+        assertEquals(-1, bucket.tryConsume(1, SECOND, EMISSION_INTERVAL, CAPACITY));
+        // idle long enough to refill more than the capacity: full again, not beyond
+        assertEquals(2, bucket.tryConsume(1, 60 * SECOND, EMISSION_INTERVAL, CAPACITY));
+    }
+
+    @Test
+    void refusalEncodesTheTokensLeftAndTakesNone() {
+        assertEquals(1, bucket.tryConsume(2, 0, EMISSION_INTERVAL, CAPACITY));
+
+        // two tokens requested, one left: refused as -1 - 1
+        assertEquals(-2, bucket.tryConsume(2, 0, EMISSION_INTERVAL, CAPACITY));
+        assertEquals(-2, bucket.tryConsume(2, SECOND / 2, EMISSION_INTERVAL, CAPACITY));
+        assertEquals(0, bucket.tryConsume(2, SECOND, EMISSION_INTERVAL, CAPACITY));
+    }
+
+    @Test
+    void debitNeverLeavesTheBucketMoreThanEmpty() {
+        bucket.debit(10, 0, EMISSION_INTERVAL, CAPACITY);
+
+        assertEquals(-1, bucket.tryConsume(1, 0, EMISSION_INTERVAL, CAPACITY));
+        // empty rather than seven tokens in debt: one second refills one token
+        assertEquals(0, bucket.tryConsume(1, SECOND, EMISSION_INTERVAL, CAPACITY));
+    }
+
+    @Test
+    void debitTakesFromWhatIsLeft() {
+        bucket.tryConsume(1, 0, EMISSION_INTERVAL, CAPACITY);
+
+        bucket.debit(1, 0, EMISSION_INTERVAL, CAPACITY);
+
+        assertEquals(0, bucket.tryConsume(1, 0, EMISSION_INTERVAL, CAPACITY));
+    }
+
+    @Test
+    void isIdleOnceRefilledWithNothingToSync() {
+        assertTrue(bucket.isIdle(0));
+
+        bucket.tryConsume(1, 0, EMISSION_INTERVAL, CAPACITY);
+        assertFalse(bucket.isIdle(0));
+        assertFalse(bucket.isIdle(SECOND - 1));
+        assertTrue(bucket.isIdle(SECOND));
+
+        bucket.unsynced.addAndGet(1);
+        assertFalse(bucket.isIdle(SECOND));
+    }
+}
@@ -0,0 +1,109 @@
+package com.saugat.apigateway.route;
+
+import com.saugat.apigateway.hedging.HedgingFilter;
+import com.saugat.apigateway.ratelimit.LocalRateLimiter;
+import com.saugat.apigateway.ratelimit.RouteRateLimiters;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.gateway.filter.ratelimit.RedisRateLimiter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Changes the route table and rate limits in the environment, as {@code /actuator/refresh} does, and checks the
+ * routes and limiters built next.
+ */
+@SpringBootTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "eureka.client.enabled=false"
+})
+class ConfiguredRouteLocatorTest {
+
+    private static final String REFRESHED = "refreshed";
+
+    @Autowired
+    private ConfiguredRouteLocator routeLocator;
+
+    @Autowired
+    private RouteRateLimiters rateLimiters;
+
+    @Autowired
+    private RedisRateLimiter redisRateLimiter;
+
+    @Autowired
+    private ConfigurableEnvironment environment;
+
+    @AfterEach
+    void restoreConfiguration() {
+        environment.getPropertySources().remove(REFRESHED);
+    }
+
+    @Test
+    void aRouteRemovedFromTheConfigurationIsDropped() {
+        environment.getPropertySources().addFirst(new MapPropertySource(REFRESHED, Map.of(
+                "gateway.routes.temporary.path", "/eazybank/temporary/**",
+                "gateway.routes.temporary.uri", "lb://TEMPORARY")));
+        assertTrue(routeIds().contains("temporary"));
+
+        environment.getPropertySources().remove(REFRESHED);
+
+        List<String> routeIds = routeIds();
+        assertFalse(routeIds.contains("temporary"));
+        assertTrue(routeIds.containsAll(List.of("accounts", "loans", "cards")));
+    }
+
+    @Test
+    void aDisabledRouteIsDropped() {
+        environment.getPropertySources().addFirst(new MapPropertySource(REFRESHED, Map.of(
+                "gateway.routes.cards.enabled", "false")));
+
+        assertFalse(routeIds().contains("cards"));
+    }
+
+    @Test
+    void hedgeSettingsTravelInTheRouteMetadata() {
+        environment.getPropertySources().addFirst(new MapPropertySource(REFRESHED, Map.of(
+                "gateway.routes.loans.hedge.percentile", "0.9")));
+
+        Route loans = route("loans");
+        RouteTableProperties.Hedge hedge = assertInstanceOf(RouteTableProperties.Hedge.class,
+                loans.getMetadata().get(HedgingFilter.HEDGE_METADATA));
+        assertEquals(0.9, hedge.getPercentile());
+        assertNull(route("cards").getMetadata().get(HedgingFilter.HEDGE_METADATA));
+    }
+
+    @Test
+    void aRateLimitRemovedFromTheConfigurationFallsBackToTheDefault() {
+        environment.getPropertySources().addFirst(new MapPropertySource(REFRESHED, Map.of(
+                "gateway.rate-limit.routes.loans.mode", "local",
+                "gateway.rate-limit.routes.loans.replenish-rate", "50",
+                "gateway.rate-limit.routes.loans.burst-capacity", "100")));
+        assertInstanceOf(LocalRateLimiter.class, rateLimiters.forRoute("loans"));
+
+        environment.getPropertySources().remove(REFRESHED);
+
+        assertSame(redisRateLimiter, rateLimiters.forRoute("loans"));
+        assertFalse(redisRateLimiter.getConfig().containsKey("loans"));
+    }
+
+    private List<String> routeIds() {
+        return routeLocator.getRoutes().map(Route::getId).collectList().block();
+    }
+
+    private Route route(String routeId) {
+        return routeLocator.getRoutes().filter(route -> route.getId().equals(routeId)).blockFirst();
+    }
+}
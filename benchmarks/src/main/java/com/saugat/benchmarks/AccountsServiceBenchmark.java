@@ -0,0 +1,78 @@
+package com.saugat.benchmarks;
+
+import com.saugat.accounts.AccountsApplication;
+import com.saugat.accounts.constants.AccountsConstants;
+import com.saugat.accounts.dto.CustomerDto;
+import com.saugat.accounts.service.IAccountsService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code AccountsServiceImpl} against embedded H2 with {@value #ROWS} customers and accounts, with and without
+ * Hibernate's second-level and query caches.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccountsServiceBenchmark {
+
+    static final int ROWS = 1_000;
+
+    @Param({"false", "true"})
+    public boolean secondLevelCache;
+
+    private ConfigurableApplicationContext context;
+    private IAccountsService accountsService;
+    private CustomerDto customerDto;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ServiceContexts.start(AccountsApplication.class, "accounts", "none",
+                "spring.jpa.properties.hibernate.cache.use_second_level_cache=" + secondLevelCache,
+                "spring.jpa.properties.hibernate.cache.use_query_cache=" + secondLevelCache);
+        ServiceContexts.createSequence(context, AccountsConstants.ACCOUNT_NUMBER_SEQUENCE, 1900000000L,
+                AccountsConstants.ACCOUNT_NUMBER_BLOCK_SIZE);
+        accountsService = context.getBean(IAccountsService.class);
+        for (int i = 0; i < ROWS; i++) {
+            CustomerDto newCustomer = new CustomerDto();
+            newCustomer.setName("Customer " + i);
+            newCustomer.setEmail("customer" + i + "@eazybank.com");
+            newCustomer.setMobileNumber(ServiceContexts.mobileNumber(i));
+            accountsService.createAccount(newCustomer);
+        }
+        customerDto = accountsService.fetchAccountDetails(ServiceContexts.mobileNumber(0));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CustomerDto fetchAccountDetails() {
+        return accountsService.fetchAccountDetails(ServiceContexts.mobileNumber(ThreadLocalRandom.current().nextInt(ROWS)));
+    }
+
+    @Benchmark
+    public boolean updateAccountsDetails() {
+        return accountsService.updateAccountsDetails(customerDto);
+    }
+}
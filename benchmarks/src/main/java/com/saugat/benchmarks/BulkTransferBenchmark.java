@@ -0,0 +1,209 @@
+package com.saugat.benchmarks;
+
+import com.saugat.accounts.AccountsApplication;
+import com.saugat.accounts.bulk.AccountsBulkTransfer;
+import com.saugat.accounts.constants.AccountsConstants;
+import com.saugat.cards.CardsApplication;
+import com.saugat.cards.bulk.CardsBulkTransfer;
+import com.saugat.cards.constants.CardsConstants;
+import com.saugat.loans.LoansApplication;
+import com.saugat.loans.bulk.LoansBulkTransfer;
+import com.saugat.loans.constants.LoansConstants;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * The bulk import and export of each service against embedded H2, {@code rows} records per operation. Every
+ * iteration also prints rows per second and the peak heap in use while it ran (the sum of the heap pools' peaks,
+ * so an upper bound). The database is file-based here so its rows are not on the heap: with streaming on both
+ * sides the peak should not grow with {@code rows}, and the capped heap turns a regression that buffers whole
+ * tables into an {@code OutOfMemoryError}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx256m")
+public class BulkTransferBenchmark {
+
+    @Param({"accounts", "loans", "cards"})
+    public String service;
+
+    @Param({"ndjson", "csv"})
+    public String format;
+
+    @Param({"100000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private Path directory;
+    private Path payload;
+    private long startNanos;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("bulk-" + service);
+        String url = "spring.datasource.url=jdbc:h2:file:" + directory.resolve("db").toAbsolutePath();
+        switch (service) {
+            case "accounts" -> {
+                context = ServiceContexts.start(AccountsApplication.class, service, "none", url);
+                ServiceContexts.createSequence(context, AccountsConstants.ACCOUNT_NUMBER_SEQUENCE, 1900000000L,
+                        AccountsConstants.ACCOUNT_NUMBER_BLOCK_SIZE);
+            }
+            case "loans" -> {
+                context = ServiceContexts.start(LoansApplication.class, service, "none", url);
+                ServiceContexts.createSequence(context, LoansConstants.LOAN_NUMBER_SEQUENCE, 200000000000L,
+                        LoansConstants.LOAN_NUMBER_BLOCK_SIZE);
+            }
+            default -> {
+                context = ServiceContexts.start(CardsApplication.class, service, "none", url);
+                ServiceContexts.createSequence(context, CardsConstants.CARD_NUMBER_SEQUENCE, 200000000000L,
+                        CardsConstants.CARD_NUMBER_BLOCK_SIZE);
+            }
+        }
+        payload = directory.resolve("payload." + format);
+        try (BufferedWriter writer = Files.newBufferedWriter(payload, StandardCharsets.UTF_8)) {
+            if ("csv".equals(format)) {
+                writer.write(csvHeader());
+                writer.newLine();
+            }
+            for (int i = 0; i < rows; i++) {
+                writer.write("csv".equals(format) ? csvRecord(i) : ndjsonRecord(i));
+                writer.newLine();
+            }
+        }
+        // the export benchmark reads what one import wrote
+        importRows();
+    }
+
+    @Setup(Level.Iteration)
+    public void setUpIteration(BenchmarkParams params) {
+        if (params.getBenchmark().endsWith("importRows")) {
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            switch (service) {
+                case "accounts" -> {
+                    jdbcTemplate.execute("TRUNCATE TABLE accounts");
+                    jdbcTemplate.execute("TRUNCATE TABLE customer");
+                }
+                case "loans" -> jdbcTemplate.execute("TRUNCATE TABLE loans");
+                default -> jdbcTemplate.execute("TRUNCATE TABLE cards");
+            }
+        }
+        System.gc();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+        startNanos = System.nanoTime();
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDownIteration() {
+        long elapsedNanos = System.nanoTime() - startNanos;
+        long peakHeap = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peakHeap += pool.getPeakUsage().getUsed();
+            }
+        }
+        System.out.printf("%n%s %s rows=%d rows/s=%.0f peakHeapMB=%.1f%n", service, format, rows,
+                rows / (elapsedNanos / 1_000_000_000.0), peakHeap / (1024.0 * 1024.0));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public long importRows() throws IOException {
+        try (InputStream body = new BufferedInputStream(Files.newInputStream(payload))) {
+            return switch (service) {
+                case "accounts" -> context.getBean(AccountsBulkTransfer.class).importCustomers(body,
+                        com.saugat.accounts.bulk.BulkFormat.valueOf(format.toUpperCase()));
+                case "loans" -> context.getBean(LoansBulkTransfer.class).importLoans(body,
+                        com.saugat.loans.bulk.BulkFormat.valueOf(format.toUpperCase()));
+                default -> context.getBean(CardsBulkTransfer.class).importCards(body,
+                        com.saugat.cards.bulk.BulkFormat.valueOf(format.toUpperCase()));
+            };
+        }
+    }
+
+    @Benchmark
+    public void exportRows() {
+        OutputStream out = OutputStream.nullOutputStream();
+        switch (service) {
+            case "accounts" -> context.getBean(AccountsBulkTransfer.class).exportCustomers(out,
+                    com.saugat.accounts.bulk.BulkFormat.valueOf(format.toUpperCase()));
+            case "loans" -> context.getBean(LoansBulkTransfer.class).exportLoans(out,
+                    com.saugat.loans.bulk.BulkFormat.valueOf(format.toUpperCase()));
+            default -> context.getBean(CardsBulkTransfer.class).exportCards(out,
+                    com.saugat.cards.bulk.BulkFormat.valueOf(format.toUpperCase()));
+        }
+    }
+
+    private String csvHeader() {
+        return switch (service) {
+            case "accounts" -> "name,email,mobileNumber";
+            case "loans" -> "mobileNumber,loanType,totalLoan,amountPaid,outstandingAmount";
+            default -> "mobileNumber,cardType,totalLimit,amountUsed,availableAmount";
+        };
+    }
+
+    private String csvRecord(int i) {
+        String mobileNumber = ServiceContexts.mobileNumber(i);
+        return switch (service) {
+            case "accounts" -> "Customer " + i + ",customer" + i + "@eazybank.com," + mobileNumber;
+            case "loans" -> mobileNumber + ",Home Loan,100000,1000,99000";
+            default -> mobileNumber + ",Credit Card,100000,1000,99000";
+        };
+    }
+
+    private String ndjsonRecord(int i) {
+        String mobileNumber = ServiceContexts.mobileNumber(i);
+        return switch (service) {
+            case "accounts" -> "{\"name\":\"Customer " + i + "\",\"email\":\"customer" + i
+                    + "@eazybank.com\",\"mobileNumber\":\"" + mobileNumber + "\"}";
+            case "loans" -> "{\"mobileNumber\":\"" + mobileNumber + "\",\"loanType\":\"Home Loan\","
+                    + "\"totalLoan\":100000,\"amountPaid\":1000,\"outstandingAmount\":99000}";
+            default -> "{\"mobileNumber\":\"" + mobileNumber + "\",\"cardType\":\"Credit Card\","
+                    + "\"totalLimit\":100000,\"amountUsed\":1000,\"availableAmount\":99000}";
+        };
+    }
+}
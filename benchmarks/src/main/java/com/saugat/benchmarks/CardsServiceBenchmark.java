@@ -0,0 +1,71 @@
+package com.saugat.benchmarks;
+
+import com.saugat.cards.CardsApplication;
+import com.saugat.cards.constants.CardsConstants;
+import com.saugat.cards.dto.CardsDto;
+import com.saugat.cards.service.ICardsService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code CardsServiceImpl} against embedded H2 with {@value #ROWS} cards, with and without the fetch cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CardsServiceBenchmark {
+
+    static final int ROWS = 1_000;
+
+    @Param({"none", "caffeine"})
+    public String cacheType;
+
+    private ConfigurableApplicationContext context;
+    private ICardsService cardsService;
+    private CardsDto cardsDto;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ServiceContexts.start(CardsApplication.class, "cards", cacheType);
+        ServiceContexts.createSequence(context, CardsConstants.CARD_NUMBER_SEQUENCE, 200000000000L,
+                CardsConstants.CARD_NUMBER_BLOCK_SIZE);
+        cardsService = context.getBean(ICardsService.class);
+        for (int i = 0; i < ROWS; i++) {
+            cardsService.createCard(ServiceContexts.mobileNumber(i));
+        }
+        cardsDto = cardsService.fetchCard(ServiceContexts.mobileNumber(0));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CardsDto fetchCard() {
+        return cardsService.fetchCard(ServiceContexts.mobileNumber(ThreadLocalRandom.current().nextInt(ROWS)));
+    }
+
+    @Benchmark
+    public boolean updateCard() {
+        return cardsService.updateCard(cardsDto);
+    }
+}
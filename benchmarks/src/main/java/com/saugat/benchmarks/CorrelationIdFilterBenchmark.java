@@ -0,0 +1,57 @@
+package com.saugat.benchmarks;
+
+import com.saugat.apigateway.filters.CorrelationIdFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of {@link CorrelationIdFilter} in front of an empty filter chain, for requests that already
+ * carry a correlation id and for requests that need one generated. {@code noFilter} is the cost of building and
+ * running the exchange alone; the difference to it is the filter's overhead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CorrelationIdFilterBenchmark {
+
+    private static final String PATH = "/eazybank/accounts/api/fetch?mobileNumber=4354437687";
+
+    private final CorrelationIdFilter filter = new CorrelationIdFilter();
+    private final GatewayFilterChain chain = exchange -> Mono.empty();
+
+    @Benchmark
+    public Object noFilter() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(PATH)
+                .header(CorrelationIdFilter.CORRELATION_ID, "7d1c0e5f9a2b4c36"));
+        return chain.filter(exchange).block();
+    }
+
+    @Benchmark
+    public Object headerPresent() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(PATH)
+                .header(CorrelationIdFilter.CORRELATION_ID, "7d1c0e5f9a2b4c36"));
+        return filter.filter(exchange, chain).block();
+    }
+
+    @Benchmark
+    public Object headerMissing() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(PATH));
+        return filter.filter(exchange, chain).block();
+    }
+}
@@ -0,0 +1,71 @@
+package com.saugat.benchmarks;
+
+import com.saugat.loans.LoansApplication;
+import com.saugat.loans.constants.LoansConstants;
+import com.saugat.loans.dto.LoansDto;
+import com.saugat.loans.service.ILoansService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code LoansServiceImpl} against embedded H2 with {@value #ROWS} loans, with and without the fetch cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoansServiceBenchmark {
+
+    static final int ROWS = 1_000;
+
+    @Param({"none", "caffeine"})
+    public String cacheType;
+
+    private ConfigurableApplicationContext context;
+    private ILoansService loansService;
+    private LoansDto loansDto;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ServiceContexts.start(LoansApplication.class, "loans", cacheType);
+        ServiceContexts.createSequence(context, LoansConstants.LOAN_NUMBER_SEQUENCE, 200000000000L,
+                LoansConstants.LOAN_NUMBER_BLOCK_SIZE);
+        loansService = context.getBean(ILoansService.class);
+        for (int i = 0; i < ROWS; i++) {
+            loansService.createLoan(ServiceContexts.mobileNumber(i));
+        }
+        loansDto = loansService.fetchLoan(ServiceContexts.mobileNumber(0));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public LoansDto fetchLoan() {
+        return loansService.fetchLoan(ServiceContexts.mobileNumber(ThreadLocalRandom.current().nextInt(ROWS)));
+    }
+
+    @Benchmark
+    public boolean updateLoan() {
+        return loansService.updateLoan(loansDto);
+    }
+}
@@ -0,0 +1,97 @@
+package com.saugat.benchmarks;
+
+import com.saugat.accounts.dto.AccountsDto;
+import com.saugat.accounts.dto.CustomerDetailsDto;
+import com.saugat.accounts.dto.CustomerDto;
+import com.saugat.accounts.entity.Accounts;
+import com.saugat.accounts.entity.Customer;
+import com.saugat.accounts.mapper.AccountsMapper;
+import com.saugat.accounts.mapper.CustomerMapper;
+import com.saugat.cards.dto.CardsDto;
+import com.saugat.cards.entity.Cards;
+import com.saugat.cards.mapper.CardsMapper;
+import com.saugat.loans.dto.LoansDto;
+import com.saugat.loans.entity.Loans;
+import com.saugat.loans.mapper.LoansMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private Customer customer;
+    private Accounts accounts;
+    private CustomerDto customerDto;
+    private Cards cards;
+    private CardsDto cardsDto;
+    private Loans loans;
+    private LoansDto loansDto;
+
+    @Setup
+    public void setUp() {
+        customer = new Customer(1L, "Eazy Bytes", "tutor@eazybytes.com", "9876543210");
+        accounts = new Accounts(1L, 1900000000L, "Savings", "123 Main Street, New York");
+        customerDto = CustomerMapper.mapToCustomerDto(customer, new CustomerDto());
+        customerDto.setAccountsDto(AccountsMapper.mapToAccountsDto(accounts, new AccountsDto()));
+
+        cards = new Cards(1L, "9876543210", "200000000000", "Credit Card", 100_000, 1_000, 99_000);
+        cardsDto = CardsMapper.mapToCardsDto(cards, new CardsDto());
+
+        loans = new Loans(1L, "9876543210", "200000000000", "Home Loan", 100_000, 1_000, 99_000);
+        loansDto = LoansMapper.mapToLoansDto(loans, new LoansDto());
+    }
+
+    @Benchmark
+    public CustomerDetailsDto customerToCustomerDetailsDto() {
+        CustomerDetailsDto customerDetailsDto = CustomerMapper.mapToCustomerDetailsDto(customer, new CustomerDetailsDto());
+        customerDetailsDto.setAccountsDto(AccountsMapper.mapToAccountsDto(accounts, new AccountsDto()));
+        return customerDetailsDto;
+    }
+
+    @Benchmark
+    public CustomerDto customerToCustomerDto() {
+        CustomerDto dto = CustomerMapper.mapToCustomerDto(customer, new CustomerDto());
+        dto.setAccountsDto(AccountsMapper.mapToAccountsDto(accounts, new AccountsDto()));
+        return dto;
+    }
+
+    @Benchmark
+    public Customer customerDtoToCustomer() {
+        return CustomerMapper.mapToCustomer(customerDto, new Customer());
+    }
+
+    @Benchmark
+    public CardsDto cardsToCardsDto() {
+        return CardsMapper.mapToCardsDto(cards, new CardsDto());
+    }
+
+    @Benchmark
+    public Cards cardsDtoToCards() {
+        return CardsMapper.mapToCards(cardsDto, new Cards());
+    }
+
+    @Benchmark
+    public LoansDto loansToLoansDto() {
+        return LoansMapper.mapToLoansDto(loans, new LoansDto());
+    }
+
+    @Benchmark
+    public Loans loansDtoToLoans() {
+        return LoansMapper.mapToLoans(loansDto, new Loans());
+    }
+}
@@ -0,0 +1,150 @@
+package com.saugat.benchmarks;
+
+import com.saugat.accounts.AccountsApplication;
+import com.saugat.accounts.constants.AccountsConstants;
+import com.saugat.accounts.dto.AccountsDto;
+import com.saugat.accounts.dto.CustomerDto;
+import com.saugat.accounts.entity.Accounts;
+import com.saugat.accounts.entity.Customer;
+import com.saugat.accounts.mapper.AccountsMapper;
+import com.saugat.accounts.mapper.CustomerMapper;
+import com.saugat.accounts.repository.AccountsRepository;
+import com.saugat.accounts.repository.CustomerAccountsRow;
+import com.saugat.accounts.repository.CustomerRepository;
+import com.saugat.accounts.service.IAccountsService;
+import com.saugat.cards.CardsApplication;
+import com.saugat.cards.constants.CardsConstants;
+import com.saugat.cards.dto.CardsDto;
+import com.saugat.cards.mapper.CardsMapper;
+import com.saugat.cards.repository.CardsRepository;
+import com.saugat.cards.service.ICardsService;
+import com.saugat.loans.LoansApplication;
+import com.saugat.loans.constants.LoansConstants;
+import com.saugat.loans.dto.LoansDto;
+import com.saugat.loans.mapper.LoansMapper;
+import com.saugat.loans.repository.LoansRepository;
+import com.saugat.loans.service.ILoansService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One uncached lookup by mobile number per service against embedded H2 with {@value #ROWS} rows, read either
+ * as managed entities copied by the mappers ({@code entity}, the former read path) or as the read-only DTO
+ * projections the services now use ({@code projection}). Compare {@code gc.alloc.rate.norm} for the
+ * allocation per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReadPathBenchmark {
+
+    static final int ROWS = 1_000;
+
+    @Param({"accounts", "loans", "cards"})
+    public String service;
+
+    @Param({"entity", "projection"})
+    public String path;
+
+    private ConfigurableApplicationContext context;
+    private CustomerRepository customerRepository;
+    private AccountsRepository accountsRepository;
+    private LoansRepository loansRepository;
+    private CardsRepository cardsRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        switch (service) {
+            case "accounts" -> {
+                context = ServiceContexts.start(AccountsApplication.class, service, "none");
+                ServiceContexts.createSequence(context, AccountsConstants.ACCOUNT_NUMBER_SEQUENCE, 1900000000L,
+                        AccountsConstants.ACCOUNT_NUMBER_BLOCK_SIZE);
+                IAccountsService accountsService = context.getBean(IAccountsService.class);
+                for (int i = 0; i < ROWS; i++) {
+                    CustomerDto newCustomer = new CustomerDto();
+                    newCustomer.setName("Customer " + i);
+                    newCustomer.setEmail("customer" + i + "@eazybank.com");
+                    newCustomer.setMobileNumber(ServiceContexts.mobileNumber(i));
+                    accountsService.createAccount(newCustomer);
+                }
+                customerRepository = context.getBean(CustomerRepository.class);
+                accountsRepository = context.getBean(AccountsRepository.class);
+            }
+            case "loans" -> {
+                context = ServiceContexts.start(LoansApplication.class, service, "none");
+                ServiceContexts.createSequence(context, LoansConstants.LOAN_NUMBER_SEQUENCE, 200000000000L,
+                        LoansConstants.LOAN_NUMBER_BLOCK_SIZE);
+                ILoansService loansService = context.getBean(ILoansService.class);
+                for (int i = 0; i < ROWS; i++) {
+                    loansService.createLoan(ServiceContexts.mobileNumber(i));
+                }
+                loansRepository = context.getBean(LoansRepository.class);
+            }
+            default -> {
+                context = ServiceContexts.start(CardsApplication.class, service, "none");
+                ServiceContexts.createSequence(context, CardsConstants.CARD_NUMBER_SEQUENCE, 200000000000L,
+                        CardsConstants.CARD_NUMBER_BLOCK_SIZE);
+                ICardsService cardsService = context.getBean(ICardsService.class);
+                for (int i = 0; i < ROWS; i++) {
+                    cardsService.createCard(ServiceContexts.mobileNumber(i));
+                }
+                cardsRepository = context.getBean(CardsRepository.class);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object fetch() {
+        String mobileNumber = ServiceContexts.mobileNumber(ThreadLocalRandom.current().nextInt(ROWS));
+        boolean projection = "projection".equals(path);
+        return switch (service) {
+            case "accounts" -> projection ? fetchCustomerProjection(mobileNumber) : fetchCustomerEntities(mobileNumber);
+            case "loans" -> projection
+                    ? loansRepository.findDtoByMobileNumber(mobileNumber).orElseThrow()
+                    : LoansMapper.mapToLoansDto(loansRepository.findByMobileNumber(mobileNumber).orElseThrow(),
+                            new LoansDto());
+            default -> projection
+                    ? cardsRepository.findDtoByMobileNumber(mobileNumber).orElseThrow()
+                    : CardsMapper.mapToCardsDto(cardsRepository.findByMobileNumber(mobileNumber).orElseThrow(),
+                            new CardsDto());
+        };
+    }
+
+    private CustomerDto fetchCustomerEntities(String mobileNumber) {
+        Customer customer = customerRepository.findByMobileNumber(mobileNumber).orElseThrow();
+        Accounts accounts = accountsRepository.findByCustomerId(customer.getCustomerId()).orElseThrow();
+        CustomerDto customerDto = CustomerMapper.mapToCustomerDto(customer, new CustomerDto());
+        customerDto.setAccountsDto(AccountsMapper.mapToAccountsDto(accounts, new AccountsDto()));
+        return customerDto;
+    }
+
+    private CustomerDto fetchCustomerProjection(String mobileNumber) {
+        CustomerAccountsRow row = customerRepository.findCustomerAccountsByMobileNumber(mobileNumber).orElseThrow();
+        CustomerDto customerDto = CustomerMapper.mapToCustomerDto(row, new CustomerDto());
+        customerDto.setAccountsDto(AccountsMapper.mapToAccountsDto(row, new AccountsDto()));
+        return customerDto;
+    }
+}
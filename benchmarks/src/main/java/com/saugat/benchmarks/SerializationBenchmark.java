@@ -0,0 +1,164 @@
+package com.saugat.benchmarks;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.saugat.accounts.dto.AccountsDto;
+import com.saugat.accounts.dto.CustomerDetailsDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson round trips of the DTOs that cross service boundaries, using the same {@link ObjectMapper}
+ * defaults Spring Boot applies to the HTTP message converters. {@code format} compares JSON (the gateway routes)
+ * with CBOR (what the accounts Feign clients ask loans and cards for); the payload sizes of both are printed
+ * when each trial starts.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private static final int BATCH_SIZE = 100;
+
+    @Param({"json", "cbor"})
+    private String format;
+
+    private ObjectMapper objectMapper;
+    private JavaType loansListType;
+
+    private CustomerDetailsDto customerDetailsDto;
+    private com.saugat.cards.dto.CardsDto cardsDto;
+    private com.saugat.loans.dto.LoansDto loansDto;
+    private List<com.saugat.loans.dto.LoansDto> loansBatch;
+
+    private byte[] customerDetailsPayload;
+    private byte[] cardsPayload;
+    private byte[] loansPayload;
+    private byte[] loansBatchPayload;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = "cbor".equals(format)
+                ? Jackson2ObjectMapperBuilder.cbor().build()
+                : Jackson2ObjectMapperBuilder.json().build();
+        loansListType = objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, com.saugat.accounts.dto.LoansDto.class);
+
+        cardsDto = new com.saugat.cards.dto.CardsDto();
+        cardsDto.setMobileNumber("9876543210");
+        cardsDto.setCardNumber("200000000000");
+        cardsDto.setCardType("Credit Card");
+        cardsDto.setTotalLimit(100_000);
+        cardsDto.setAmountUsed(1_000);
+        cardsDto.setAvailableAmount(99_000);
+
+        loansDto = new com.saugat.loans.dto.LoansDto();
+        loansDto.setMobileNumber("9876543210");
+        loansDto.setLoanNumber("200000000000");
+        loansDto.setLoanType("Home Loan");
+        loansDto.setTotalLoan(100_000);
+        loansDto.setAmountPaid(1_000);
+        loansDto.setOutstandingAmount(99_000);
+
+        cardsPayload = objectMapper.writeValueAsBytes(cardsDto);
+        loansPayload = objectMapper.writeValueAsBytes(loansDto);
+
+        loansBatch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            com.saugat.loans.dto.LoansDto loan = new com.saugat.loans.dto.LoansDto();
+            loan.setMobileNumber(String.valueOf(9_000_000_000L + i));
+            loan.setLoanNumber(String.valueOf(200_000_000_000L + i));
+            loan.setLoanType(i % 2 == 0 ? "Home Loan" : "Vehicle Loan");
+            loan.setTotalLoan(100_000 + i);
+            loan.setAmountPaid(1_000 * i);
+            loan.setOutstandingAmount(loan.getTotalLoan() - loan.getAmountPaid());
+            loansBatch.add(loan);
+        }
+        loansBatchPayload = objectMapper.writeValueAsBytes(loansBatch);
+
+        AccountsDto accountsDto = new AccountsDto();
+        accountsDto.setAccountNumber(1900000000L);
+        accountsDto.setAccountType("Savings");
+        accountsDto.setBranchAddress("123 Main Street, New York");
+
+        customerDetailsDto = new CustomerDetailsDto();
+        customerDetailsDto.setName("Eazy Bytes");
+        customerDetailsDto.setEmail("tutor@eazybytes.com");
+        customerDetailsDto.setMobileNumber("9876543210");
+        customerDetailsDto.setAccountsDto(accountsDto);
+        customerDetailsDto.setCardsDto(objectMapper.readValue(cardsPayload, com.saugat.accounts.dto.CardsDto.class));
+        customerDetailsDto.setLoansDto(objectMapper.readValue(loansPayload, com.saugat.accounts.dto.LoansDto.class));
+        customerDetailsPayload = objectMapper.writeValueAsBytes(customerDetailsDto);
+
+        System.out.printf("%n%s payload bytes: customerDetails=%d cards=%d loans=%d loansBatch[%d]=%d%n", format,
+                customerDetailsPayload.length, cardsPayload.length, loansPayload.length, BATCH_SIZE,
+                loansBatchPayload.length);
+    }
+
+    @Benchmark
+    public byte[] writeCustomerDetails() throws IOException {
+        return objectMapper.writeValueAsBytes(customerDetailsDto);
+    }
+
+    @Benchmark
+    public CustomerDetailsDto readCustomerDetails() throws IOException {
+        return objectMapper.readValue(customerDetailsPayload, CustomerDetailsDto.class);
+    }
+
+    @Benchmark
+    public byte[] writeCards() throws IOException {
+        return objectMapper.writeValueAsBytes(cardsDto);
+    }
+
+    /**
+     * What the accounts Feign client does with a cards response.
+     */
+    @Benchmark
+    public com.saugat.accounts.dto.CardsDto readCards() throws IOException {
+        return objectMapper.readValue(cardsPayload, com.saugat.accounts.dto.CardsDto.class);
+    }
+
+    @Benchmark
+    public byte[] writeLoans() throws IOException {
+        return objectMapper.writeValueAsBytes(loansDto);
+    }
+
+    /**
+     * What the accounts Feign client does with a loans response.
+     */
+    @Benchmark
+    public com.saugat.accounts.dto.LoansDto readLoans() throws IOException {
+        return objectMapper.readValue(loansPayload, com.saugat.accounts.dto.LoansDto.class);
+    }
+
+    @Benchmark
+    public byte[] writeLoansBatch() throws IOException {
+        return objectMapper.writeValueAsBytes(loansBatch);
+    }
+
+    /**
+     * What the accounts Feign client does with a {@code /api/fetch/batch} response.
+     */
+    @Benchmark
+    public List<com.saugat.accounts.dto.LoansDto> readLoansBatch() throws IOException {
+        return objectMapper.readValue(loansBatchPayload, loansListType);
+    }
+}
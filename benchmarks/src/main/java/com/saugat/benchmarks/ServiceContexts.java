@@ -0,0 +1,61 @@
+package com.saugat.benchmarks;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Starts one service's Spring context against its own in-memory H2 database, without web server,
+ * config server or Eureka.
+ */
+final class ServiceContexts {
+
+    private ServiceContexts() {
+    }
+
+    /**
+     * @param properties further {@code key=value} pairs, overriding the ones set here
+     */
+    static ConfigurableApplicationContext start(Class<?> application, String name, String cacheType,
+                                                String... properties) {
+        return new SpringApplicationBuilder(application)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .properties(
+                        // All three services ship an application.yml and the same db/migration path, so neither
+                        // is used here: properties are given inline and Hibernate creates the schema.
+                        "spring.config.name=benchmark",
+                        "spring.application.name=" + name,
+                        "spring.cloud.config.enabled=false",
+                        "eureka.client.enabled=false",
+                        // the gateway is on the classpath for its filter benchmarks, not part of these services
+                        "spring.cloud.gateway.server.webflux.enabled=false",
+                        "spring.datasource.url=jdbc:h2:mem:" + name + "-benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.flyway.enabled=false",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.open-in-view=false",
+                        // Hibernate would otherwise switch its second-level cache on by itself, jcache being present
+                        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                        "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+                        "spring.jpa.properties.hibernate.cache.region.factory_class=jcache",
+                        "spring.jpa.properties.hibernate.javax.cache.missing_cache_strategy=create",
+                        "spring.cache.type=" + cacheType,
+                        "spring.cache.caffeine.spec=maximumSize=10000,expireAfterWrite=60s",
+                        "build.version=benchmark",
+                        "logging.level.root=WARN")
+                .properties(properties)
+                .run();
+    }
+
+    static void createSequence(ConfigurableApplicationContext context, String name, long start, long increment) {
+        context.getBean(JdbcTemplate.class).execute(
+                "CREATE SEQUENCE IF NOT EXISTS " + name + " START WITH " + start + " INCREMENT BY " + increment);
+    }
+
+    static String mobileNumber(int i) {
+        return String.format("%010d", 9_000_000_000L + i);
+    }
+}
@@ -0,0 +1,216 @@
+package com.saugat.cards.bulk;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.saugat.cards.constants.CardsConstants;
+import com.saugat.cards.dto.CardsDto;
+import com.saugat.cards.exception.BulkImportException;
+import com.saugat.cards.generator.BlockNumberAllocator;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.hibernate.Cache;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.support.incrementer.H2SequenceMaxValueIncrementer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Streams cards between the {@code cards} table and NDJSON or CSV, holding at most one batch in memory.
+ * <p>
+ * An import reads the body record by record and inserts every {@value CardsConstants#IMPORT_BATCH_SIZE} records
+ * as one JDBC batch in its own transaction, so a bad record leaves the batches before it in place and the error
+ * says how many records got in. A blank card number is allocated as for {@code /api/create}. An export walks a
+ * forward-only cursor, {@value CardsConstants#EXPORT_FETCH_SIZE} rows per fetch, writing each row as it is read.
+ */
+@Component
+public class CardsBulkTransfer {
+
+    private static final String INSERT_SQL = "INSERT INTO cards (card_id, mobile_number, card_number, card_type, "
+            + "total_limit, amount_used, available_amount, created_at, created_by) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String EXPORT_SQL = "SELECT mobile_number, card_number, card_type, total_limit, amount_used, "
+            + "available_amount FROM cards ORDER BY card_id";
+    private static final CsvSchema CSV_SCHEMA = CsvSchema.builder()
+            .addColumn("mobileNumber")
+            .addColumn("cardNumber")
+            .addColumn("cardType")
+            .addNumberColumn("totalLimit")
+            .addNumberColumn("amountUsed")
+            .addNumberColumn("availableAmount")
+            .setUseHeader(true)
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate writeTransaction;
+    private final TransactionTemplate readTransaction;
+    private final BlockNumberAllocator cardNumberAllocator;
+    private final BlockNumberAllocator cardIdAllocator;
+    private final AuditorAware<String> auditorAware;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final EntityManagerFactory entityManagerFactory;
+    private final CsvMapper csvMapper = CsvMapper.builder()
+            .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+            .build();
+
+    public CardsBulkTransfer(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                             DataSource dataSource, BlockNumberAllocator cardNumberAllocator,
+                             AuditorAware<String> auditorAware, Validator validator, ObjectMapper objectMapper,
+                             EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.cardNumberAllocator = cardNumberAllocator;
+        this.cardIdAllocator = BlockNumberAllocator.forPooledIds(
+                new H2SequenceMaxValueIncrementer(dataSource, CardsConstants.CARD_ID_SEQUENCE),
+                CardsConstants.ID_ALLOCATION_SIZE);
+        this.auditorAware = auditorAware;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * @param body   - request body, read incrementally
+     * @param format - format of the body
+     * @return number of cards imported
+     */
+    public long importCards(InputStream body, BulkFormat format) throws IOException {
+        try {
+            return insertCards(body, format);
+        } finally {
+            // the rows bypass Hibernate, so cached query results, a cached "not found" included, must go
+            entityManagerFactory.getCache().unwrap(Cache.class).evictQueryRegions();
+        }
+    }
+
+    private long insertCards(InputStream body, BulkFormat format) throws IOException {
+        LocalDateTime createdAt = LocalDateTime.now();
+        String createdBy = auditorAware.getCurrentAuditor().orElse(null);
+        List<Object[]> batch = new ArrayList<>(CardsConstants.IMPORT_BATCH_SIZE);
+        long imported = 0;
+        try (MappingIterator<CardsDto> records = reader(format).readValues(body)) {
+            while (records.hasNextValue()) {
+                long record = imported + batch.size() + 1;
+                batch.add(toRow(records.nextValue(), record, imported, createdAt, createdBy));
+                if (batch.size() == CardsConstants.IMPORT_BATCH_SIZE) {
+                    imported += insert(batch, imported);
+                }
+            }
+        } catch (JsonProcessingException ex) {
+            throw new BulkImportException("Record " + (imported + batch.size() + 1) + " could not be read: "
+                    + ex.getOriginalMessage(), imported);
+        }
+        return imported + insert(batch, imported);
+    }
+
+    /**
+     * @param out    - response body
+     * @param format - format to write
+     */
+    public void exportCards(OutputStream out, BulkFormat format) {
+        readTransaction.executeWithoutResult(status -> {
+            try (SequenceWriter writer = writer(format).writeValues(out)) {
+                jdbcTemplate.query(this::exportStatement, (RowCallbackHandler) rs -> write(writer, toDto(rs)));
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+    }
+
+    private Object[] toRow(CardsDto cardsDto, long record, long imported, LocalDateTime createdAt, String createdBy) {
+        if (cardsDto.getCardNumber() == null || cardsDto.getCardNumber().isEmpty()) {
+            cardsDto.setCardNumber(Long.toString(cardNumberAllocator.next()));
+        }
+        Set<ConstraintViolation<CardsDto>> violations = validator.validate(cardsDto);
+        if (!violations.isEmpty()) {
+            throw new BulkImportException("Record " + record + ": " + violations.iterator().next().getMessage(),
+                    imported);
+        }
+        return new Object[]{cardIdAllocator.next(), cardsDto.getMobileNumber(), cardsDto.getCardNumber(),
+                cardsDto.getCardType(), cardsDto.getTotalLimit(), cardsDto.getAmountUsed(),
+                cardsDto.getAvailableAmount(), createdAt, createdBy};
+    }
+
+    private int insert(List<Object[]> batch, long imported) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        try {
+            writeTransaction.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, batch));
+        } catch (DataIntegrityViolationException ex) {
+            throw new BulkImportException("Records " + (imported + 1) + " to " + (imported + batch.size())
+                    + " were rejected: " + ex.getMostSpecificCause().getMessage(), imported);
+        }
+        int inserted = batch.size();
+        batch.clear();
+        return inserted;
+    }
+
+    private PreparedStatement exportStatement(Connection connection) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(EXPORT_SQL, ResultSet.TYPE_FORWARD_ONLY,
+                ResultSet.CONCUR_READ_ONLY);
+        statement.setFetchSize(CardsConstants.EXPORT_FETCH_SIZE);
+        return statement;
+    }
+
+    private static CardsDto toDto(ResultSet rs) throws SQLException {
+        CardsDto cardsDto = new CardsDto();
+        cardsDto.setMobileNumber(rs.getString(1));
+        cardsDto.setCardNumber(rs.getString(2));
+        cardsDto.setCardType(rs.getString(3));
+        cardsDto.setTotalLimit(rs.getInt(4));
+        cardsDto.setAmountUsed(rs.getInt(5));
+        cardsDto.setAvailableAmount(rs.getInt(6));
+        return cardsDto;
+    }
+
+    private static void write(SequenceWriter writer, CardsDto cardsDto) {
+        try {
+            writer.write(cardsDto);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private ObjectReader reader(BulkFormat format) {
+        return format == BulkFormat.CSV
+                ? csvMapper.readerFor(CardsDto.class).with(CsvSchema.emptySchema().withHeader())
+                : objectMapper.readerFor(CardsDto.class);
+    }
+
+    private ObjectWriter writer(BulkFormat format) {
+        ObjectWriter writer = format == BulkFormat.CSV
+                ? csvMapper.writerFor(CardsDto.class).with(CSV_SCHEMA)
+                : objectMapper.writerFor(CardsDto.class).withRootValueSeparator("\n");
+        // the response stream is closed by the container, not by the writer
+        return writer.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+}
@@ -0,0 +1,82 @@
+package com.saugat.cards.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Lets concurrent lookups of the same key share one load: the first caller runs it, and callers arriving while it
+ * is in flight wait for its result (or its exception) instead of repeating the work. Nothing is kept once the
+ * load has finished.
+ * <p>
+ * Counted as {@value #REQUESTS_COUNTER}, tagged with the flight's name and {@code result=leader} or
+ * {@code result=coalesced}.
+ */
+public class SingleFlight<K, V> {
+
+    public static final String REQUESTS_COUNTER = "singleflight.requests";
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter leaders;
+    private final Counter coalesced;
+
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.leaders = requests(meterRegistry, name, "leader");
+        this.coalesced = requests(meterRegistry, name, "coalesced");
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+        leaders.increment();
+        try {
+            V value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error ex) {
+            flight.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * Stops later callers from joining the load in flight for the key, e.g. because the data it reads has just
+     * changed; they start a new one instead.
+     */
+    public void forget(K key) {
+        inFlight.remove(key);
+    }
+
+    private static <V> V await(CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw ex;
+        }
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String name, String result) {
+        return Counter.builder(REQUESTS_COUNTER)
+                .description("Lookups by whether they ran the load or shared one already in flight")
+                .tag("name", name)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
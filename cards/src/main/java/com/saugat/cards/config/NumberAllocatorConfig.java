@@ -0,0 +1,20 @@
+package com.saugat.cards.config;
+
+import com.saugat.cards.constants.CardsConstants;
+import com.saugat.cards.generator.BlockNumberAllocator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.support.incrementer.H2SequenceMaxValueIncrementer;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class NumberAllocatorConfig {
+
+    @Bean
+    public BlockNumberAllocator cardNumberAllocator(DataSource dataSource) {
+        return new BlockNumberAllocator(
+                new H2SequenceMaxValueIncrementer(dataSource, CardsConstants.CARD_NUMBER_SEQUENCE),
+                CardsConstants.CARD_NUMBER_BLOCK_SIZE);
+    }
+}
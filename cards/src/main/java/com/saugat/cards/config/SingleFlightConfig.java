@@ -0,0 +1,20 @@
+package com.saugat.cards.config;
+
+import com.saugat.cards.cache.SingleFlight;
+import com.saugat.cards.constants.CardsConstants;
+import com.saugat.cards.dto.CardsDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SingleFlightConfig {
+
+    /**
+     * Shares one database lookup between concurrent fetches of the same mobile number that miss the cache.
+     */
+    @Bean
+    public SingleFlight<String, CardsDto> cardsLookups(MeterRegistry meterRegistry) {
+        return new SingleFlight<>(CardsConstants.CARDS_CACHE, meterRegistry);
+    }
+}
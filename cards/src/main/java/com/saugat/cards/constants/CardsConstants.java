@@ -8,8 +8,21 @@ public final class CardsConstants {
 
     public static final String  CREDIT_CARD = "Credit Card";
     public static final int  NEW_CARD_LIMIT = 1_00_000;
+    public static final String  CARDS_CACHE = "cards";
+    // Must match INCREMENT BY of card_number_seq in V3__number_sequences.sql
+    public static final long  CARD_NUMBER_BLOCK_SIZE = 100;
+    public static final String  CARD_NUMBER_SEQUENCE = "card_number_seq";
+    // Must match INCREMENT BY of card_id_seq in V4__id_sequences.sql
+    public static final int  ID_ALLOCATION_SIZE = 50;
+    public static final String  CARD_ID_SEQUENCE = "card_id_seq";
     public static final String  STATUS_201 = "201";
     public static final String  MESSAGE_201 = "Card created successfully";
+    public static final String  MESSAGE_201_IMPORT = "Cards imported: ";
+    public static final String  TEXT_CSV_VALUE = "text/csv";
+    // Records per JDBC batch (and transaction) of a bulk import
+    public static final int  IMPORT_BATCH_SIZE = 1000;
+    // Rows per round trip of the bulk export cursor
+    public static final int  EXPORT_FETCH_SIZE = 1000;
     public static final String  STATUS_200 = "200";
     public static final String  MESSAGE_200 = "Request processed successfully";
     public static final String  STATUS_417 = "417";
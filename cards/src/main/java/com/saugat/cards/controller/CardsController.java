@@ -1,5 +1,7 @@
 package com.saugat.cards.controller;
 
+import com.saugat.cards.bulk.BulkFormat;
+import com.saugat.cards.bulk.CardsBulkTransfer;
 import com.saugat.cards.constants.CardsConstants;
 import com.saugat.cards.dto.CardsContactInfoDto;
 import com.saugat.cards.dto.CardsDto;
@@ -14,16 +16,23 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
 
 @Tag(
         name = "CRUD REST APIs for Cards in EazyBank",
@@ -37,9 +46,11 @@ public class CardsController {
     private static final Logger logger = LoggerFactory.getLogger(CardsController.class);
 
     private final ICardsService iCardsService;
+    private final CardsBulkTransfer cardsBulkTransfer;
 
-    public CardsController(ICardsService iCardsService){
+    public CardsController(ICardsService iCardsService, CardsBulkTransfer cardsBulkTransfer){
         this.iCardsService = iCardsService;
+        this.cardsBulkTransfer = cardsBulkTransfer;
     }
 
     @Value("${build.version}")
@@ -96,7 +107,7 @@ public class CardsController {
                     )
             )
     })
-    @GetMapping("/fetch")
+    @GetMapping(path = "/fetch", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
     public ResponseEntity<CardsDto> fetchCardDetails(@RequestHeader("eazybank-correlation-id") String correlationId, @RequestParam
                                                      @Pattern(regexp="(^$|[0-9]{10})",message = "Mobile number must be 10 digits")
                                                      String mobileNumber) {
@@ -105,6 +116,77 @@ public class CardsController {
         return ResponseEntity.status(HttpStatus.OK).body(cardsDto);
     }
 
+    @Operation(
+            summary = "Fetch Card Details in Batch REST API",
+            description = "REST API to fetch card details for a list of mobile numbers in a single call"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "HTTP Status OK"
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            )
+    })
+    @PostMapping(path = "/fetch/batch", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<List<CardsDto>> fetchCardDetailsBatch(@RequestHeader("eazybank-correlation-id") String correlationId,
+                                                              @RequestBody
+                                                              @Size(min = 1, max = 100, message = "Between 1 and 100 mobile numbers are allowed per batch")
+                                                              List<@Pattern(regexp="(^$|[0-9]{10})",message = "Mobile number must be 10 digits") String> mobileNumbers) {
+        logger.debug("eazyBank-correlation-id found: {} ", correlationId);
+        List<CardsDto> cardsDtos = iCardsService.fetchCards(mobileNumbers);
+        return ResponseEntity.status(HttpStatus.OK).body(cardsDtos);
+    }
+
+    @Operation(
+            summary = "Import Cards REST API",
+            description = "REST API to load cards from an NDJSON or CSV body; records are read as they arrive and inserted in batches"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "201",
+                    description = "HTTP Status CREATED"
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "HTTP Status BAD REQUEST",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            )
+    })
+    @PostMapping(path = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, CardsConstants.TEXT_CSV_VALUE})
+    public ResponseEntity<ResponseDto> importCards(@RequestHeader HttpHeaders headers, InputStream body) throws IOException {
+        long imported = cardsBulkTransfer.importCards(body, BulkFormat.of(headers.getContentType()));
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(new ResponseDto(CardsConstants.STATUS_201, CardsConstants.MESSAGE_201_IMPORT + imported));
+    }
+
+    @Operation(
+            summary = "Export Cards REST API",
+            description = "REST API to stream every card as NDJSON or, with Accept: text/csv, as CSV"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "HTTP Status OK"
+            )
+    })
+    @GetMapping(path = "/export", produces = {MediaType.APPLICATION_NDJSON_VALUE, CardsConstants.TEXT_CSV_VALUE})
+    public ResponseEntity<StreamingResponseBody> exportCards(@RequestHeader HttpHeaders headers) {
+        BulkFormat format = BulkFormat.accepted(headers.getAccept());
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .contentType(format.mediaType())
+                .body(out -> cardsBulkTransfer.exportCards(out, format));
+    }
+
     @Operation(
             summary = "Update Card Details REST API",
             description = "REST API to update card details based on a card number"
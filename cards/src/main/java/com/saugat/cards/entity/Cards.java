@@ -1,12 +1,23 @@
 package com.saugat.cards.entity;
 
+import com.saugat.cards.constants.CardsConstants;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 @Entity
+// cached only when the second-level cache is switched on, see hibernate.cache in the cards config
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NaturalIdCache(region = "cards-natural-id")
 @Getter
 @Setter
 @ToString
@@ -15,9 +26,14 @@ import lombok.*;
 public class Cards extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Unlike IDENTITY, a sequence hands out ids before the INSERT, so Hibernate can batch inserts;
+    // shared with the bulk import, see BlockNumberAllocator.forPooledIds
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = CardsConstants.CARD_ID_SEQUENCE)
+    @SequenceGenerator(name = CardsConstants.CARD_ID_SEQUENCE, sequenceName = CardsConstants.CARD_ID_SEQUENCE,
+            allocationSize = CardsConstants.ID_ALLOCATION_SIZE)
     private Long cardId;
 
+    @NaturalId(mutable = true)
     private String mobileNumber;
 
     private String cardNumber;
@@ -0,0 +1,16 @@
+package com.saugat.cards.repository;
+
+import com.saugat.cards.entity.Cards;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+public interface CardsNaturalIdRepository {
+
+    /**
+     * Loads the card through its natural id. With the second-level cache on, a repeated lookup is answered from the
+     * natural-id and entity caches instead of a query.
+     */
+    @Transactional(readOnly = true)
+    Optional<Cards> loadByMobileNumber(String mobileNumber);
+}
@@ -0,0 +1,21 @@
+package com.saugat.cards.repository;
+
+import com.saugat.cards.entity.Cards;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+
+import java.util.Optional;
+
+public class CardsNaturalIdRepositoryImpl implements CardsNaturalIdRepository {
+
+    private final EntityManager entityManager;
+
+    public CardsNaturalIdRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Optional<Cards> loadByMobileNumber(String mobileNumber) {
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(Cards.class).loadOptional(mobileNumber);
+    }
+}
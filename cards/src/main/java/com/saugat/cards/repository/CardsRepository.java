@@ -1,16 +1,40 @@
 package com.saugat.cards.repository;
 
+import com.saugat.cards.dto.CardsDto;
 import com.saugat.cards.entity.Cards;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface CardsRepository extends JpaRepository<Cards, Long> {
+public interface CardsRepository extends JpaRepository<Cards, Long>, CardsNaturalIdRepository {
 
     Optional<Cards> findByMobileNumber(String mobileNumber);
 
     Optional<Cards> findByCardNumber(String cardNumber);
 
+    /**
+     * Read-only lookups that select the DTO's columns straight into it: no entity, audit fields, persistence
+     * context entry or dirty-checking snapshot. The single lookup also goes through the query cache when that is
+     * switched on.
+     */
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT new com.saugat.cards.dto.CardsDto(c.mobileNumber, c.cardNumber, c.cardType, c.totalLimit, "
+            + "c.amountUsed, c.availableAmount) FROM Cards c WHERE c.mobileNumber = :mobileNumber")
+    Optional<CardsDto> findDtoByMobileNumber(String mobileNumber);
+
+    @Transactional(readOnly = true)
+    @Query("SELECT new com.saugat.cards.dto.CardsDto(c.mobileNumber, c.cardNumber, c.cardType, c.totalLimit, "
+            + "c.amountUsed, c.availableAmount) FROM Cards c WHERE c.mobileNumber IN :mobileNumbers")
+    List<CardsDto> findDtosByMobileNumberIn(Collection<String> mobileNumbers);
+
 }
\ No newline at end of file
@@ -2,6 +2,8 @@ package com.saugat.cards.service;
 
 import com.saugat.cards.dto.CardsDto;
 
+import java.util.List;
+
 public interface ICardsService {
 
     /**
@@ -17,6 +19,13 @@ public interface ICardsService {
      */
     CardsDto fetchCard(String mobileNumber);
 
+    /**
+     *
+     * @param mobileNumbers - Input mobile Numbers
+     * @return Card Details for every given mobileNumber that has one, in a single query
+     */
+    List<CardsDto> fetchCards(List<String> mobileNumbers);
+
     /**
      *
      * @param cardsDto - CardsDto Object
@@ -1,35 +1,49 @@
 package com.saugat.cards.service.impl;
 
+import com.saugat.cards.cache.SingleFlight;
 import com.saugat.cards.constants.CardsConstants;
 import com.saugat.cards.dto.CardsDto;
 import com.saugat.cards.entity.Cards;
 import com.saugat.cards.exception.CardAlreadyExistsException;
 import com.saugat.cards.exception.ResourceNotFoundException;
+import com.saugat.cards.generator.BlockNumberAllocator;
 import com.saugat.cards.mapper.CardsMapper;
 import com.saugat.cards.repository.CardsRepository;
 import com.saugat.cards.service.ICardsService;
 import lombok.AllArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
-import java.util.Optional;
-import java.util.Random;
+import java.util.List;
 
 @Service
 @AllArgsConstructor
 public class CardsServiceImpl implements ICardsService {
 
     private CardsRepository cardsRepository;
+    private CacheManager cacheManager;
+    private BlockNumberAllocator cardNumberAllocator;
+    private SingleFlight<String, CardsDto> cardsLookups;
 
     /**
+     * Relies on the unique constraint on {@code mobile_number} to reject duplicates instead of checking first.
+     *
      * @param mobileNumber - Mobile Number of the Customer
      */
     @Override
     public void createCard(String mobileNumber) {
-        Optional<Cards> optionalCards= cardsRepository.findByMobileNumber(mobileNumber);
-        if(optionalCards.isPresent()){
-            throw new CardAlreadyExistsException("Card already registered with given mobileNumber "+mobileNumber);
+        try {
+            cardsRepository.saveAndFlush(createNewCard(mobileNumber));
+        } catch (DataIntegrityViolationException ex) {
+            if (cardsRepository.findByMobileNumber(mobileNumber).isPresent()) {
+                throw new CardAlreadyExistsException("Card already registered with given mobileNumber "+mobileNumber);
+            }
+            throw ex;
         }
-        cardsRepository.save(createNewCard(mobileNumber));
     }
 
     /**
@@ -38,8 +52,7 @@ public class CardsServiceImpl implements ICardsService {
      */
     private Cards createNewCard(String mobileNumber) {
         Cards newCard = new Cards();
-        long randomCardNumber = 100000000000L + new Random().nextInt(900000000);
-        newCard.setCardNumber(Long.toString(randomCardNumber));
+        newCard.setCardNumber(Long.toString(cardNumberAllocator.next()));
         newCard.setMobileNumber(mobileNumber);
         newCard.setCardType(CardsConstants.CREDIT_CARD);
         newCard.setTotalLimit(CardsConstants.NEW_CARD_LIMIT);
@@ -51,14 +64,24 @@ public class CardsServiceImpl implements ICardsService {
     /**
      *
      * @param mobileNumber - Input mobile Number
-     * @return Card Details based on a given mobileNumber
+     * @return Card Details based on a given mobileNumber; concurrent cache misses for the same number share one lookup
      */
     @Override
+    @Cacheable(cacheNames = CardsConstants.CARDS_CACHE, key = "#mobileNumber")
     public CardsDto fetchCard(String mobileNumber) {
-        Cards cards = cardsRepository.findByMobileNumber(mobileNumber).orElseThrow(
+        return cardsLookups.execute(mobileNumber, () -> cardsRepository.findDtoByMobileNumber(mobileNumber).orElseThrow(
                 () -> new ResourceNotFoundException("Card", "mobileNumber", mobileNumber)
-        );
-        return CardsMapper.mapToCardsDto(cards, new CardsDto());
+        ));
+    }
+
+    /**
+     *
+     * @param mobileNumbers - Input mobile Numbers
+     * @return Card Details for every given mobileNumber that has one
+     */
+    @Override
+    public List<CardsDto> fetchCards(List<String> mobileNumbers) {
+        return cardsRepository.findDtosByMobileNumberIn(mobileNumbers);
     }
 
     /**
@@ -70,8 +93,11 @@ public class CardsServiceImpl implements ICardsService {
     public boolean updateCard(CardsDto cardsDto) {
         Cards cards = cardsRepository.findByCardNumber(cardsDto.getCardNumber()).orElseThrow(
                 () -> new ResourceNotFoundException("Card", "CardNumber", cardsDto.getCardNumber()));
+        String previousMobileNumber = cards.getMobileNumber();
         CardsMapper.mapToCards(cardsDto, cards);
         cardsRepository.save(cards);
+        evictCachedCard(previousMobileNumber);
+        evictCachedCard(cardsDto.getMobileNumber());
         return  true;
     }
 
@@ -80,13 +106,24 @@ public class CardsServiceImpl implements ICardsService {
      * @return boolean indicating if the delete of card details is successful or not
      */
     @Override
+    @CacheEvict(cacheNames = CardsConstants.CARDS_CACHE, key = "#mobileNumber")
     public boolean deleteCard(String mobileNumber) {
-        Cards cards = cardsRepository.findByMobileNumber(mobileNumber).orElseThrow(
+        Cards cards = cardsRepository.loadByMobileNumber(mobileNumber).orElseThrow(
                 () -> new ResourceNotFoundException("Card", "mobileNumber", mobileNumber)
         );
         cardsRepository.deleteById(cards.getCardId());
+        cardsLookups.forget(mobileNumber);
         return true;
     }
 
+    private void evictCachedCard(String mobileNumber) {
+        Cache cache = cacheManager.getCache(CardsConstants.CARDS_CACHE);
+        if (cache != null && mobileNumber != null) {
+            cache.evict(mobileNumber);
+        }
+        if (mobileNumber != null) {
+            cardsLookups.forget(mobileNumber);
+        }
+    }
 
 }
\ No newline at end of file
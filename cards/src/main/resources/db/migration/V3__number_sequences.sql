@@ -0,0 +1,2 @@
+-- Each NEXT VALUE reserves a block of 100 numbers for one instance; starts above the old random range
+CREATE SEQUENCE `card_number_seq` START WITH 200000000000 INCREMENT BY 100;
@@ -0,0 +1,189 @@
+package com.saugat.cards.bulk;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.saugat.cards.constants.CardsConstants;
+import com.saugat.cards.dto.CardsDto;
+import com.saugat.cards.repository.CardsRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Imports and exports cards through {@code /api/import} and {@code /api/export} of a running cards service. Each
+ * test uses its own range of mobile numbers, as they share one database.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.cloud.config.enabled=false",
+        "eureka.client.enabled=false",
+        "spring.jpa.show-sql=false",
+        "build.version=test"
+})
+class CardsBulkTransferTest {
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType(CardsConstants.TEXT_CSV_VALUE);
+    private static final String CSV_HEADER = "mobileNumber,cardNumber,cardType,totalLimit,amountUsed,availableAmount";
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private CardsRepository cardsRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void ndjsonRoundTrip() throws IOException {
+        List<CardsDto> cards = cards("81", 3);
+
+        assertEquals(HttpStatus.CREATED, importCards(ndjson(cards), MediaType.APPLICATION_NDJSON).getStatusCode());
+
+        List<CardsDto> exported = new ArrayList<>();
+        for (String line : export(MediaType.APPLICATION_NDJSON).split("\n")) {
+            CardsDto cardsDto = objectMapper.readValue(line, CardsDto.class);
+            if (cardsDto.getMobileNumber().startsWith("81")) {
+                exported.add(cardsDto);
+            }
+        }
+        assertEquals(cards, exported);
+    }
+
+    @Test
+    void csvRoundTrip() throws IOException {
+        List<CardsDto> cards = cards("82", 3);
+
+        assertEquals(HttpStatus.CREATED, importCards(csv(cards), TEXT_CSV).getStatusCode());
+
+        String body = export(TEXT_CSV);
+        assertTrue(body.startsWith(CSV_HEADER + "\n"), body);
+        List<CardsDto> exported = new ArrayList<>();
+        try (MappingIterator<CardsDto> records = new CsvMapper().readerFor(CardsDto.class)
+                .with(CsvSchema.emptySchema().withHeader()).readValues(body)) {
+            while (records.hasNextValue()) {
+                CardsDto cardsDto = records.nextValue();
+                if (cardsDto.getMobileNumber().startsWith("82")) {
+                    exported.add(cardsDto);
+                }
+            }
+        }
+        assertEquals(cards, exported);
+    }
+
+    @Test
+    void badRecordReportsTheRecordsAlreadyImported() {
+        List<CardsDto> cards = cards("83", CardsConstants.IMPORT_BATCH_SIZE + 5);
+        cards.get(CardsConstants.IMPORT_BATCH_SIZE + 1).setMobileNumber("83-invalid");
+
+        ResponseEntity<String> response = importCards(ndjson(cards), MediaType.APPLICATION_NDJSON);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertTrue(response.getBody().contains("Record " + (CardsConstants.IMPORT_BATCH_SIZE + 2) + ":"),
+                response.getBody());
+        assertTrue(response.getBody().contains(CardsConstants.IMPORT_BATCH_SIZE + " records were imported before it"),
+                response.getBody());
+        assertEquals(CardsConstants.IMPORT_BATCH_SIZE, countCards("83"));
+    }
+
+    @Test
+    void duplicateMobileNumberRollsBackOnlyItsBatch() {
+        List<CardsDto> cards = cards("84", CardsConstants.IMPORT_BATCH_SIZE + 5);
+        cards.get(CardsConstants.IMPORT_BATCH_SIZE + 3).setMobileNumber(cards.get(0).getMobileNumber());
+
+        ResponseEntity<String> response = importCards(ndjson(cards), MediaType.APPLICATION_NDJSON);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertTrue(response.getBody().contains("Records " + (CardsConstants.IMPORT_BATCH_SIZE + 1) + " to "
+                + (CardsConstants.IMPORT_BATCH_SIZE + 5) + " were rejected"), response.getBody());
+        assertEquals(CardsConstants.IMPORT_BATCH_SIZE, countCards("84"));
+    }
+
+    @Test
+    void createAfterAnImportDoesNotReuseItsIds() {
+        assertEquals(HttpStatus.CREATED, create("8500000099").getStatusCode());
+        List<CardsDto> cards = cards("85", 3);
+        cards.forEach(cardsDto -> cardsDto.setCardNumber(null));
+        assertEquals(HttpStatus.CREATED, importCards(ndjson(cards), MediaType.APPLICATION_NDJSON).getStatusCode());
+
+        assertEquals(HttpStatus.CREATED, create("8500000100").getStatusCode());
+        assertEquals(HttpStatus.CREATED, create("8500000101").getStatusCode());
+        assertEquals(6, countCards("85"));
+    }
+
+    private ResponseEntity<String> importCards(String body, MediaType contentType) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(contentType);
+        return restTemplate.postForEntity("/api/import", new HttpEntity<>(body, headers), String.class);
+    }
+
+    private String export(MediaType accept) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(accept));
+        ResponseEntity<String> response = restTemplate.exchange("/api/export", HttpMethod.GET,
+                new HttpEntity<>(headers), String.class);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(accept.isCompatibleWith(response.getHeaders().getContentType()));
+        return response.getBody();
+    }
+
+    private ResponseEntity<String> create(String mobileNumber) {
+        return restTemplate.postForEntity("/api/create?mobileNumber={mobileNumber}", null, String.class,
+                mobileNumber);
+    }
+
+    private long countCards(String prefix) {
+        return cardsRepository.findAll().stream()
+                .filter(cards -> cards.getMobileNumber().startsWith(prefix))
+                .count();
+    }
+
+    private String ndjson(List<CardsDto> cards) {
+        StringBuilder body = new StringBuilder();
+        for (CardsDto cardsDto : cards) {
+            try {
+                body.append(objectMapper.writeValueAsString(cardsDto)).append('\n');
+            } catch (IOException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+        return body.toString();
+    }
+
+    private static String csv(List<CardsDto> cards) {
+        StringBuilder body = new StringBuilder(CSV_HEADER).append('\n');
+        for (CardsDto cardsDto : cards) {
+            body.append(cardsDto.getMobileNumber()).append(',')
+                    .append(cardsDto.getCardNumber()).append(',')
+                    .append(cardsDto.getCardType()).append(',')
+                    .append(cardsDto.getTotalLimit()).append(',')
+                    .append(cardsDto.getAmountUsed()).append(',')
+                    .append(cardsDto.getAvailableAmount()).append('\n');
+        }
+        return body.toString();
+    }
+
+    private static List<CardsDto> cards(String prefix, int count) {
+        List<CardsDto> cards = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            cards.add(new CardsDto(prefix + String.format("%08d", i), prefix + String.format("%010d", i),
+                    CardsConstants.CREDIT_CARD, 100_000, i, 100_000 - i));
+        }
+        return cards;
+    }
+}
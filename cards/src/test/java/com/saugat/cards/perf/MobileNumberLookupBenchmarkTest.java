@@ -0,0 +1,95 @@
+package com.saugat.cards.perf;
+
+import com.saugat.cards.repository.CardsRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures {@code findByMobileNumber} latency as the cards table grows, with and without the
+ * {@code uk_cards_mobile_number} constraint added by {@code V2__mobile_number_indexes.sql}.
+ * <pre>
+ * ./mvnw test -Pperf -Dtest=MobileNumberLookupBenchmarkTest
+ * </pre>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.cloud.config.enabled=false",
+        "eureka.client.enabled=false",
+        "spring.jpa.show-sql=false"
+})
+@Tag("perf")
+class MobileNumberLookupBenchmarkTest {
+
+    private static final int[] TABLE_SIZES = {1_000, 10_000, 100_000};
+    private static final int LOOKUPS = 2_000;
+
+    @Autowired
+    private CardsRepository cardsRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void fetchLatencyByTableSize() {
+        int rows = 0;
+        System.out.printf("%10s %18s %18s%n", "rows", "indexed (us/op)", "full scan (us/op)");
+        for (int tableSize : TABLE_SIZES) {
+            insertRows(rows, tableSize);
+            rows = tableSize;
+
+            double indexed = measureLookups(rows);
+            jdbcTemplate.execute("ALTER TABLE cards DROP CONSTRAINT uk_cards_mobile_number");
+            double scanned = measureLookups(rows);
+            jdbcTemplate.execute("ALTER TABLE cards ADD CONSTRAINT uk_cards_mobile_number UNIQUE (mobile_number)");
+
+            System.out.printf("%10d %18.1f %18.1f%n", rows, indexed, scanned);
+        }
+    }
+
+    private void insertRows(int from, int to) {
+        Date today = Date.valueOf(LocalDate.now());
+        List<Object[]> batch = new ArrayList<>(1_000);
+        for (int i = from; i < to; i++) {
+            batch.add(new Object[]{mobileNumber(i), Long.toString(100000000000L + i), "Credit Card",
+                    100_000, 0, 100_000, today, "BENCHMARK"});
+            if (batch.size() == 1_000) {
+                insert(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            insert(batch);
+        }
+    }
+
+    private void insert(List<Object[]> batch) {
+        jdbcTemplate.batchUpdate("INSERT INTO cards (mobile_number, card_number, card_type, total_limit, amount_used, "
+                + "available_amount, created_at, created_by) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", batch);
+    }
+
+    private double measureLookups(int rows) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < LOOKUPS / 10; i++) {
+            cardsRepository.findByMobileNumber(mobileNumber(random.nextInt(rows)));
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < LOOKUPS; i++) {
+            assertTrue(cardsRepository.findByMobileNumber(mobileNumber(random.nextInt(rows))).isPresent());
+        }
+        return (System.nanoTime() - start) / 1_000.0 / LOOKUPS;
+    }
+
+    private static String mobileNumber(int i) {
+        return String.format("%010d", 9_000_000_000L + i);
+    }
+}
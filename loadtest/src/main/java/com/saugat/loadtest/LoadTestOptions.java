@@ -0,0 +1,65 @@
+package com.saugat.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command line options of the load test, given as {@code --name=value}.
+ *
+ * @param root         repository root holding the service modules
+ * @param gatewayUrl   base URL of the gateway the traffic is sent to
+ * @param external     measure an already running stack instead of starting one
+ * @param users        number of concurrent virtual users
+ * @param seed         customers onboarded before the measurement starts
+ * @param warmup       traffic sent and discarded before the measurement
+ * @param duration     length of the measurement
+ * @param createWeight share of iterations that onboard a new customer
+ * @param updateWeight share of iterations that update an existing customer
+ * @param redisPort    port of the Redis stand-in backing the gateway rate limiter
+ * @param rateLimiter  rate limiter mode of the cards route: redis, local or hybrid (empty keeps the gateway's)
+ * @param cardsRate    replenish rate and burst capacity of the cards route (0 keeps the gateway's)
+ */
+record LoadTestOptions(Path root, String gatewayUrl, boolean external, int users, int seed,
+                       Duration warmup, Duration duration, int createWeight, int updateWeight, int redisPort,
+                       String rateLimiter, int cardsRate) {
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            String option = arg.startsWith("--") ? arg.substring(2) : arg;
+            int separator = option.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            values.put(option.substring(0, separator), option.substring(separator + 1));
+        }
+        return new LoadTestOptions(
+                Path.of(values.getOrDefault("root", ".")).toAbsolutePath().normalize(),
+                values.getOrDefault("gateway-url", "http://localhost:8072"),
+                Boolean.parseBoolean(values.getOrDefault("external", "false")),
+                Integer.parseInt(values.getOrDefault("users", "32")),
+                Integer.parseInt(values.getOrDefault("seed", "200")),
+                duration(values.getOrDefault("warmup", "20s")),
+                duration(values.getOrDefault("duration", "60s")),
+                Integer.parseInt(values.getOrDefault("create-weight", "10")),
+                Integer.parseInt(values.getOrDefault("update-weight", "15")),
+                Integer.parseInt(values.getOrDefault("redis-port", "6379")),
+                values.getOrDefault("rate-limiter", ""),
+                Integer.parseInt(values.getOrDefault("cards-rate", "0")));
+    }
+
+    private static Duration duration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(value));
+    }
+}
@@ -0,0 +1,108 @@
+package com.saugat.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Entry point of {@code loadtest.jar}: starts the stack (unless {@code --external=true}), onboards
+ * {@code --seed} customers, runs the mixed traffic for {@code --warmup} without recording and then for
+ * {@code --duration} with recording, and prints p50/p99/p999 latency and requests per second per route.
+ * <p>
+ * Each virtual user sends its own {@code user} header, so the cards route's rate limit applies per virtual user
+ * just as it would per real client; rejected requests show up as 429 in the status column.
+ */
+public final class LoadTestRunner {
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+
+        RedisStandIn redis = options.external() ? null : RedisStandIn.start(options.redisPort());
+        try (LocalStack stack = new LocalStack(options, client)) {
+            if (!options.external()) {
+                stack.start();
+            }
+            run(options, client);
+        } finally {
+            if (redis != null) {
+                redis.close();
+            }
+        }
+    }
+
+    private static void run(LoadTestOptions options, HttpClient client) throws Exception {
+        RouteStats stats = new RouteStats();
+        TrafficMix mix = new TrafficMix(options.gatewayUrl(), client, stats);
+        ExecutorService virtualUsers = Executors.newFixedThreadPool(options.users());
+        try {
+            System.out.printf("Seeding %d customers%n", options.seed());
+            List<Future<?>> seeding = new ArrayList<>(options.seed());
+            for (int i = 0; i < options.seed(); i++) {
+                String user = "seed-" + i;
+                seeding.add(virtualUsers.submit(() -> {
+                    mix.create(user);
+                    return null;
+                }));
+            }
+            for (Future<?> future : seeding) {
+                future.get();
+            }
+
+            System.out.printf("Warming up for %s with %d users%n", options.warmup(), options.users());
+            drive(options, mix, virtualUsers, options.warmup());
+
+            System.out.printf("Measuring for %s with %d users%n", options.duration(), options.users());
+            stats.startRecording();
+            long start = System.nanoTime();
+            long errors = drive(options, mix, virtualUsers, options.duration());
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+            stats.stopRecording();
+
+            stats.print(System.out, elapsed);
+            System.out.printf("%ncustomers: %d, transport errors: %d%n", mix.customers(), errors);
+        } finally {
+            virtualUsers.shutdownNow();
+        }
+    }
+
+    /**
+     * Keeps every virtual user iterating until the duration is over and returns the number of requests that
+     * failed without a response (timeouts, refused connections).
+     */
+    private static long drive(LoadTestOptions options, TrafficMix mix, ExecutorService virtualUsers,
+                              Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        LongAdder errors = new LongAdder();
+        List<Future<?>> running = new ArrayList<>(options.users());
+        for (int i = 0; i < options.users(); i++) {
+            String user = "user-" + i;
+            running.add(virtualUsers.submit(() -> {
+                while (System.nanoTime() < deadline) {
+                    try {
+                        mix.iterate(user, options.createWeight(), options.updateWeight());
+                    } catch (IOException ex) {
+                        errors.increment();
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : running) {
+            future.get();
+        }
+        return errors.sum();
+    }
+}
@@ -0,0 +1,79 @@
+package com.saugat.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Starts config-server, eurekaserver, the three services and the gateway on localhost, in dependency order.
+ * <p>
+ * The config server serves the YAMLs bundled in its own classpath ({@code native} profile) instead of the remote
+ * git repository, and the services keep their default in-memory H2 databases, so a run needs no network access
+ * and always starts from empty tables.
+ */
+final class LocalStack implements AutoCloseable {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(5);
+
+    private final LoadTestOptions options;
+    private final HttpClient client;
+    private final List<ServiceProcess> started = new ArrayList<>();
+
+    LocalStack(LoadTestOptions options, HttpClient client) {
+        this.options = options;
+        this.client = client;
+    }
+
+    void start() throws IOException, InterruptedException {
+        startAndAwait(List.of(new ServiceProcess("config-server", 8071, List.of(
+                "--spring.profiles.active=native",
+                "--spring.cloud.config.server.native.search-locations=classpath:/config"))));
+        startAndAwait(List.of(new ServiceProcess("eurekaserver", 8070, List.of())));
+        startAndAwait(List.of(
+                new ServiceProcess("accounts", 8080, List.of()),
+                new ServiceProcess("loans", 8090, List.of()),
+                new ServiceProcess("cards", 9000, List.of())));
+        startAndAwait(List.of(new ServiceProcess("apigateway", 8072, gatewayArguments())));
+
+        // routes use lb://, so wait until the gateway has picked up every service from eureka
+        for (String route : List.of("accounts", "loans", "cards")) {
+            ServiceProcess.awaitOk(client,
+                    URI.create(options.gatewayUrl() + "/eazybank/" + route + "/api/build-version"),
+                    STARTUP_TIMEOUT, "route /eazybank/" + route);
+        }
+    }
+
+    private List<String> gatewayArguments() {
+        List<String> arguments = new ArrayList<>(List.of(
+                "--spring.data.redis.host=localhost",
+                "--spring.data.redis.port=" + options.redisPort()));
+        if (!options.rateLimiter().isEmpty()) {
+            arguments.add("--gateway.rate-limit.routes.cards.mode=" + options.rateLimiter());
+        }
+        if (options.cardsRate() > 0) {
+            arguments.add("--gateway.rate-limit.routes.cards.replenish-rate=" + options.cardsRate());
+            arguments.add("--gateway.rate-limit.routes.cards.burst-capacity=" + options.cardsRate());
+        }
+        return arguments;
+    }
+
+    private void startAndAwait(List<ServiceProcess> services) throws IOException, InterruptedException {
+        for (ServiceProcess service : services) {
+            started.add(service);
+            service.start(options.root());
+        }
+        for (ServiceProcess service : services) {
+            service.awaitHealthy(client, STARTUP_TIMEOUT);
+        }
+    }
+
+    @Override
+    public void close() {
+        for (int i = started.size() - 1; i >= 0; i--) {
+            started.get(i).close();
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.saugat.loadtest;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Minimal in-process Redis server, just enough for the gateway's {@code RedisRateLimiter}.
+ * <p>
+ * It speaks RESP2 and answers the connection handshake, {@code INFO}, {@code SCRIPT LOAD}, {@code EVALSHA} and
+ * {@code EVAL}, plus {@code INCRBY} and {@code EXPIRE} for the gateway's hybrid rate limiter (expiry is ignored).
+ * Every script is treated as the gateway's {@code request_rate_limiter.lua}: {@code KEYS[1]} names the bucket,
+ * {@code ARGV} carries replenish rate, burst capacity, (unused) time and requested tokens, and the reply is
+ * {@code [allowed, tokens_left]} with the same token-bucket semantics as the Lua script.
+ */
+final class RedisStandIn implements AutoCloseable {
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService connections = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "redis-stand-in");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Set<String> scripts = ConcurrentHashMap.newKeySet();
+    private final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Long> counters = new ConcurrentHashMap<>();
+
+    private RedisStandIn(ServerSocket serverSocket) {
+        this.serverSocket = serverSocket;
+    }
+
+    static RedisStandIn start(int port) throws IOException {
+        RedisStandIn redis = new RedisStandIn(new ServerSocket(port, 128, InetAddress.getLoopbackAddress()));
+        redis.connections.execute(redis::accept);
+        return redis;
+    }
+
+    int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    private void accept() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                connections.execute(() -> serve(socket));
+            } catch (IOException ex) {
+                if (!serverSocket.isClosed()) {
+                    System.err.println("Redis stand-in stopped accepting connections: " + ex);
+                }
+                return;
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket;
+             InputStream in = new BufferedInputStream(socket.getInputStream());
+             OutputStream out = new BufferedOutputStream(socket.getOutputStream())) {
+            while (true) {
+                List<String> command = readCommand(in);
+                if (command.isEmpty()) {
+                    continue;
+                }
+                boolean quit = execute(command, out);
+                out.flush();
+                if (quit) {
+                    return;
+                }
+            }
+        } catch (EOFException | SocketException ignored) {
+            // client went away
+        } catch (IOException ex) {
+            System.err.println("Redis stand-in connection failed: " + ex);
+        }
+    }
+
+    private boolean execute(List<String> command, OutputStream out) throws IOException {
+        String name = command.get(0).toUpperCase(Locale.ROOT);
+        switch (name) {
+            case "PING" -> simple(out, "PONG");
+            case "QUIT" -> {
+                simple(out, "OK");
+                return true;
+            }
+            case "AUTH", "SELECT", "CLIENT", "READONLY" -> simple(out, "OK");
+            // read by the actuator Redis health indicator
+            case "INFO" -> bulk(out, "# Server\r\nredis_version:7.2.0\r\nredis_mode:standalone\r\n");
+            case "SCRIPT" -> {
+                if (command.size() == 3 && "LOAD".equalsIgnoreCase(command.get(1))) {
+                    String sha = sha1(command.get(2));
+                    scripts.add(sha);
+                    bulk(out, sha);
+                } else {
+                    simple(out, "OK");
+                }
+            }
+            case "INCRBY" -> integer(out, counters.merge(command.get(1), Long.parseLong(command.get(2)), Long::sum));
+            case "EXPIRE" -> integer(out, counters.containsKey(command.get(1)) ? 1 : 0);
+            case "EVALSHA" -> {
+                if (!scripts.contains(command.get(1).toLowerCase(Locale.ROOT))) {
+                    error(out, "NOSCRIPT No matching script. Please use EVAL.");
+                } else {
+                    rateLimit(command, out);
+                }
+            }
+            case "EVAL" -> {
+                scripts.add(sha1(command.get(1)));
+                rateLimit(command, out);
+            }
+            // HELLO is refused on purpose so that clients fall back to RESP2
+            default -> error(out, "ERR unknown command '" + command.get(0) + "'");
+        }
+        return false;
+    }
+
+    private void rateLimit(List<String> command, OutputStream out) throws IOException {
+        int numKeys = Integer.parseInt(command.get(2));
+        List<String> argv = command.subList(3 + numKeys, command.size());
+        if (numKeys < 1 || argv.size() < 4) {
+            error(out, "ERR unexpected rate limiter script arguments");
+            return;
+        }
+        double rate = Double.parseDouble(argv.get(0));
+        double capacity = Double.parseDouble(argv.get(1));
+        double requested = Double.parseDouble(argv.get(3));
+
+        Bucket bucket = buckets.computeIfAbsent(command.get(3), key -> new Bucket(capacity, System.nanoTime()));
+        long allowed;
+        long tokensLeft;
+        synchronized (bucket) {
+            long now = System.nanoTime();
+            double filled = Math.min(capacity, bucket.tokens + (now - bucket.refreshedAt) / 1_000_000_000d * rate);
+            allowed = filled >= requested ? 1 : 0;
+            bucket.tokens = allowed == 1 ? filled - requested : filled;
+            bucket.refreshedAt = now;
+            tokensLeft = (long) bucket.tokens;
+        }
+        out.write(("*2\r\n:" + allowed + "\r\n:" + tokensLeft + "\r\n").getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static List<String> readCommand(InputStream in) throws IOException {
+        int type = in.read();
+        if (type < 0) {
+            throw new EOFException();
+        }
+        if (type != '*') {
+            // inline command, e.g. from redis-cli over telnet
+            String line = (char) type + readLine(in);
+            return List.of(line.trim().split("\\s+"));
+        }
+        int count = Integer.parseInt(readLine(in));
+        List<String> parts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            if (in.read() != '$') {
+                throw new IOException("Expected bulk string");
+            }
+            int length = Integer.parseInt(readLine(in));
+            byte[] data = in.readNBytes(length);
+            if (data.length < length) {
+                throw new EOFException();
+            }
+            in.skipNBytes(2);
+            parts.add(new String(data, StandardCharsets.UTF_8));
+        }
+        return parts;
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream(16);
+        int b;
+        while ((b = in.read()) != '\r') {
+            if (b < 0) {
+                throw new EOFException();
+            }
+            line.write(b);
+        }
+        in.read();
+        return line.toString(StandardCharsets.US_ASCII);
+    }
+
+    private static void simple(OutputStream out, String value) throws IOException {
+        out.write(("+" + value + "\r\n").getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static void error(OutputStream out, String message) throws IOException {
+        out.write(("-" + message + "\r\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void integer(OutputStream out, long value) throws IOException {
+        out.write((":" + value + "\r\n").getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static void bulk(OutputStream out, String value) throws IOException {
+        byte[] data = value.getBytes(StandardCharsets.UTF_8);
+        out.write(("$" + data.length + "\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.write(data);
+        out.write("\r\n".getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static String sha1(String script) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            return HexFormat.of().formatHex(digest.digest(script.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        connections.shutdownNow();
+    }
+
+    private static final class Bucket {
+        private double tokens;
+        private long refreshedAt;
+
+        private Bucket(double tokens, long refreshedAt) {
+            this.tokens = tokens;
+            this.refreshedAt = refreshedAt;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.saugat.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram and status counts for every route of the mix, e.g. {@code GET /eazybank/loans/api/fetch}.
+ * Latencies are recorded in microseconds with three significant digits.
+ */
+final class RouteStats {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = Duration.ofMinutes(1).toNanos() / 1_000;
+
+    private final Map<String, Route> routes = new ConcurrentSkipListMap<>();
+    private volatile boolean recording;
+
+    void startRecording() {
+        routes.clear();
+        recording = true;
+    }
+
+    void stopRecording() {
+        recording = false;
+    }
+
+    void record(String route, int status, long latencyNanos) {
+        if (!recording) {
+            return;
+        }
+        Route stats = routes.computeIfAbsent(route, key -> new Route());
+        stats.latency.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, Math.max(1, latencyNanos / 1_000)));
+        stats.statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+    }
+
+    void print(PrintStream out, Duration elapsed) {
+        double seconds = elapsed.toNanos() / 1_000_000_000d;
+        out.printf("%n%-45s %9s %9s %9s %9s %9s %9s  %s%n",
+                "route", "count", "rps", "p50 ms", "p99 ms", "p999 ms", "max ms", "statuses");
+        long total = 0;
+        for (Map.Entry<String, Route> entry : routes.entrySet()) {
+            Histogram latency = entry.getValue().latency;
+            total += latency.getTotalCount();
+            out.printf("%-45s %9d %9.1f %9.2f %9.2f %9.2f %9.2f  %s%n",
+                    entry.getKey(),
+                    latency.getTotalCount(),
+                    latency.getTotalCount() / seconds,
+                    millis(latency.getValueAtPercentile(50)),
+                    millis(latency.getValueAtPercentile(99)),
+                    millis(latency.getValueAtPercentile(99.9)),
+                    millis(latency.getMaxValue()),
+                    new ConcurrentSkipListMap<>(entry.getValue().statuses));
+        }
+        out.printf("%-45s %9d %9.1f%n", "total", total, total / seconds);
+    }
+
+    private static double millis(long micros) {
+        return micros / 1_000d;
+    }
+
+    private static final class Route {
+        private final Histogram latency = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    }
+}
@@ -0,0 +1,95 @@
+package com.saugat.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One service of the stack, started with its own Maven wrapper ({@code spring-boot:run}) and logging to
+ * {@code loadtest/logs/<module>.log}.
+ */
+final class ServiceProcess implements AutoCloseable {
+
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(500);
+
+    private final String module;
+    private final int port;
+    private final List<String> arguments;
+    private Process process;
+
+    ServiceProcess(String module, int port, List<String> arguments) {
+        this.module = module;
+        this.port = port;
+        this.arguments = arguments;
+    }
+
+    String module() {
+        return module;
+    }
+
+    void start(Path root) throws IOException {
+        Path moduleDir = root.resolve(module);
+        Path logs = Files.createDirectories(root.resolve("loadtest").resolve("logs"));
+        boolean windows = System.getProperty("os.name").toLowerCase().contains("win");
+
+        List<String> command = new ArrayList<>();
+        command.add(moduleDir.resolve(windows ? "mvnw.cmd" : "mvnw").toString());
+        command.add("-q");
+        command.add("-DskipTests");
+        command.add("spring-boot:run");
+        command.add("-Dspring-boot.run.arguments=" + String.join(" ", arguments));
+
+        File log = logs.resolve(module + ".log").toFile();
+        process = new ProcessBuilder(command)
+                .directory(moduleDir.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(log)
+                .start();
+        System.out.printf("Starting %s on port %d (log: %s)%n", module, port, log);
+    }
+
+    /**
+     * Polls {@code /actuator/health} until the service reports UP.
+     */
+    void awaitHealthy(HttpClient client, Duration timeout) throws InterruptedException {
+        awaitOk(client, URI.create("http://localhost:" + port + "/actuator/health"), timeout, module);
+    }
+
+    static void awaitOk(HttpClient client, URI uri, Duration timeout, String what) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofSeconds(2))
+                .header("user", "loadtest-probe")
+                .GET()
+                .build();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException ignored) {
+                // not listening yet
+            }
+            Thread.sleep(POLL_INTERVAL.toMillis());
+        }
+        throw new IllegalStateException(what + " was not ready after " + timeout + " (" + uri + ")");
+    }
+
+    @Override
+    public void close() {
+        if (process == null) {
+            return;
+        }
+        // the wrapper forks the application JVM, so stop the whole tree
+        process.descendants().forEach(ProcessHandle::destroy);
+        process.destroy();
+    }
+}
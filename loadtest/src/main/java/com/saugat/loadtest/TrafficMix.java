@@ -0,0 +1,159 @@
+package com.saugat.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The requests a virtual user sends through the gateway.
+ * <p>
+ * Every iteration is one of:
+ * <ul>
+ *   <li>create — onboard a new customer: account, loan and card</li>
+ *   <li>update — read an existing customer's account, loan and card and write them back with changed values</li>
+ *   <li>fetch — read an existing customer's account, loan, card or aggregated customer details</li>
+ * </ul>
+ * The share of creates and updates is configurable; everything else is a fetch.
+ */
+final class TrafficMix {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final String gatewayUrl;
+    private final HttpClient client;
+    private final RouteStats stats;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<String> customers = new CopyOnWriteArrayList<>();
+    private final AtomicLong nextMobileNumber;
+
+    TrafficMix(String gatewayUrl, HttpClient client, RouteStats stats) {
+        this.gatewayUrl = gatewayUrl;
+        this.client = client;
+        this.stats = stats;
+        // spread runs over the number space so repeated runs against an external stack do not collide
+        this.nextMobileNumber = new AtomicLong(6_000_000_000L + ThreadLocalRandom.current().nextLong(3_000_000L) * 1_000L);
+    }
+
+    int customers() {
+        return customers.size();
+    }
+
+    /**
+     * Runs one iteration of the mix on behalf of the given virtual user.
+     */
+    void iterate(String user, int createWeight, int updateWeight) throws IOException, InterruptedException {
+        int dice = ThreadLocalRandom.current().nextInt(100);
+        if (customers.isEmpty() || dice < createWeight) {
+            create(user);
+        } else if (dice < createWeight + updateWeight) {
+            update(user, randomCustomer());
+        } else {
+            fetch(user, randomCustomer());
+        }
+    }
+
+    void create(String user) throws IOException, InterruptedException {
+        String mobileNumber = Long.toString(nextMobileNumber.getAndIncrement());
+        ObjectNode customer = objectMapper.createObjectNode()
+                .put("name", "Load Test " + mobileNumber.substring(6))
+                .put("email", "loadtest" + mobileNumber + "@eazybytes.com")
+                .put("mobileNumber", mobileNumber);
+
+        boolean created = send(user, "POST /eazybank/accounts/api/create",
+                post("/eazybank/accounts/api/create", customer)) == 201;
+        created &= send(user, "POST /eazybank/loans/api/create",
+                post("/eazybank/loans/api/create?mobileNumber=" + mobileNumber, null)) == 201;
+        created &= send(user, "POST /eazybank/cards/api/create",
+                post("/eazybank/cards/api/create?mobileNumber=" + mobileNumber, null)) == 201;
+        if (created) {
+            customers.add(mobileNumber);
+        }
+    }
+
+    private void update(String user, String mobileNumber) throws IOException, InterruptedException {
+        JsonNode account = fetchBody(user, "GET /eazybank/accounts/api/fetch",
+                "/eazybank/accounts/api/fetch?mobileNumber=" + mobileNumber);
+        if (account instanceof ObjectNode customer && customer.get("accountsDto") instanceof ObjectNode accountsDto) {
+            accountsDto.put("branchAddress", "Branch " + ThreadLocalRandom.current().nextInt(1_000));
+            send(user, "PUT /eazybank/accounts/api/update", put("/eazybank/accounts/api/update", customer));
+        }
+
+        JsonNode loan = fetchBody(user, "GET /eazybank/loans/api/fetch",
+                "/eazybank/loans/api/fetch?mobileNumber=" + mobileNumber);
+        if (loan instanceof ObjectNode loansDto && loansDto.path("outstandingAmount").asInt() > 0) {
+            loansDto.put("amountPaid", loansDto.path("amountPaid").asInt() + 1);
+            loansDto.put("outstandingAmount", loansDto.path("outstandingAmount").asInt() - 1);
+            send(user, "PUT /eazybank/loans/api/update", put("/eazybank/loans/api/update", loansDto));
+        }
+
+        JsonNode card = fetchBody(user, "GET /eazybank/cards/api/fetch",
+                "/eazybank/cards/api/fetch?mobileNumber=" + mobileNumber);
+        if (card instanceof ObjectNode cardsDto && cardsDto.path("availableAmount").asInt() > 0) {
+            cardsDto.put("amountUsed", cardsDto.path("amountUsed").asInt() + 1);
+            cardsDto.put("availableAmount", cardsDto.path("availableAmount").asInt() - 1);
+            send(user, "PUT /eazybank/cards/api/update", put("/eazybank/cards/api/update", cardsDto));
+        }
+    }
+
+    private void fetch(String user, String mobileNumber) throws IOException, InterruptedException {
+        String query = "?mobileNumber=" + mobileNumber;
+        switch (ThreadLocalRandom.current().nextInt(4)) {
+            case 0 -> send(user, "GET /eazybank/accounts/api/fetch", get("/eazybank/accounts/api/fetch" + query));
+            case 1 -> send(user, "GET /eazybank/accounts/api/fetchCustomerDetails",
+                    get("/eazybank/accounts/api/fetchCustomerDetails" + query));
+            case 2 -> send(user, "GET /eazybank/loans/api/fetch", get("/eazybank/loans/api/fetch" + query));
+            default -> send(user, "GET /eazybank/cards/api/fetch", get("/eazybank/cards/api/fetch" + query));
+        }
+    }
+
+    private JsonNode fetchBody(String user, String route, String path) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        HttpResponse<byte[]> response = client.send(withUser(get(path), user), HttpResponse.BodyHandlers.ofByteArray());
+        stats.record(route, response.statusCode(), System.nanoTime() - start);
+        return response.statusCode() == 200 ? objectMapper.readTree(response.body()) : null;
+    }
+
+    private int send(String user, String route, HttpRequest.Builder request) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        HttpResponse<Void> response = client.send(withUser(request, user), HttpResponse.BodyHandlers.discarding());
+        stats.record(route, response.statusCode(), System.nanoTime() - start);
+        return response.statusCode();
+    }
+
+    private String randomCustomer() {
+        return customers.get(ThreadLocalRandom.current().nextInt(customers.size()));
+    }
+
+    private static HttpRequest withUser(HttpRequest.Builder request, String user) {
+        // the cards route rate-limits per "user" header
+        return request.header("user", user).build();
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(URI.create(gatewayUrl + path)).timeout(REQUEST_TIMEOUT).GET();
+    }
+
+    private HttpRequest.Builder post(String path, JsonNode body) throws IOException {
+        return HttpRequest.newBuilder(URI.create(gatewayUrl + path)).timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(body == null ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+    }
+
+    private HttpRequest.Builder put(String path, JsonNode body) throws IOException {
+        return HttpRequest.newBuilder(URI.create(gatewayUrl + path)).timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+    }
+}
@@ -0,0 +1,20 @@
+package com.saugat.loans.config;
+
+import com.saugat.loans.constants.LoansConstants;
+import com.saugat.loans.generator.BlockNumberAllocator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.support.incrementer.H2SequenceMaxValueIncrementer;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class NumberAllocatorConfig {
+
+    @Bean
+    public BlockNumberAllocator loanNumberAllocator(DataSource dataSource) {
+        return new BlockNumberAllocator(
+                new H2SequenceMaxValueIncrementer(dataSource, LoansConstants.LOAN_NUMBER_SEQUENCE),
+                LoansConstants.LOAN_NUMBER_BLOCK_SIZE);
+    }
+}
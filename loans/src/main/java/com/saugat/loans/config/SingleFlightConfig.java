@@ -0,0 +1,20 @@
+package com.saugat.loans.config;
+
+import com.saugat.loans.cache.SingleFlight;
+import com.saugat.loans.constants.LoansConstants;
+import com.saugat.loans.dto.LoansDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SingleFlightConfig {
+
+    /**
+     * Shares one database lookup between concurrent fetches of the same mobile number that miss the cache.
+     */
+    @Bean
+    public SingleFlight<String, LoansDto> loansLookups(MeterRegistry meterRegistry) {
+        return new SingleFlight<>(LoansConstants.LOANS_CACHE, meterRegistry);
+    }
+}
@@ -8,8 +8,21 @@ public final class LoansConstants {
 
     public static final String  HOME_LOAN = "Home Loan";
     public static final int  NEW_LOAN_LIMIT = 1_00_000;
+    public static final String  LOANS_CACHE = "loans";
+    // Must match INCREMENT BY of loan_number_seq in V3__number_sequences.sql
+    public static final long  LOAN_NUMBER_BLOCK_SIZE = 100;
+    public static final String  LOAN_NUMBER_SEQUENCE = "loan_number_seq";
+    // Must match INCREMENT BY of loan_id_seq in V4__id_sequences.sql
+    public static final int  ID_ALLOCATION_SIZE = 50;
+    public static final String  LOAN_ID_SEQUENCE = "loan_id_seq";
     public static final String  STATUS_201 = "201";
     public static final String  MESSAGE_201 = "Loan created successfully";
+    public static final String  MESSAGE_201_IMPORT = "Loans imported: ";
+    public static final String  TEXT_CSV_VALUE = "text/csv";
+    // Records per JDBC batch (and transaction) of a bulk import
+    public static final int  IMPORT_BATCH_SIZE = 1000;
+    // Rows per round trip of the bulk export cursor
+    public static final int  EXPORT_FETCH_SIZE = 1000;
     public static final String  STATUS_200 = "200";
     public static final String  MESSAGE_200 = "Request processed successfully";
     public static final String  STATUS_417 = "417";
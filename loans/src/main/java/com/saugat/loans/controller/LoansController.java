@@ -1,5 +1,7 @@
 package com.saugat.loans.controller;
 
+import com.saugat.loans.bulk.BulkFormat;
+import com.saugat.loans.bulk.LoansBulkTransfer;
 import com.saugat.loans.constants.LoansConstants;
 import com.saugat.loans.dto.ErrorResponseDto;
 import com.saugat.loans.dto.LoansContactInfoDto;
@@ -14,16 +16,23 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
 
 /**
  * @author Eazy Bytes
@@ -40,9 +49,11 @@ public class LoansController {
     private static final Logger logger = LoggerFactory.getLogger(LoansController.class);
 
     private final ILoansService iLoansService;
+    private final LoansBulkTransfer loansBulkTransfer;
 
-    public LoansController(ILoansService iLoansService){
+    public LoansController(ILoansService iLoansService, LoansBulkTransfer loansBulkTransfer){
         this.iLoansService = iLoansService;
+        this.loansBulkTransfer = loansBulkTransfer;
     }
 
     @Value("${build.version}")
@@ -100,7 +111,7 @@ public class LoansController {
             )
     }
     )
-    @GetMapping("/fetch")
+    @GetMapping(path = "/fetch", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
     public ResponseEntity<LoansDto> fetchLoanDetails(@RequestHeader("eazybank-correlation-id") String correlationId, @RequestParam
                                                      @Pattern(regexp="(^$|[0-9]{10})",message = "Mobile number must be 10 digits")
                                                      String mobileNumber) {
@@ -108,6 +119,77 @@ public class LoansController {
         return ResponseEntity.status(HttpStatus.OK).body(loansDto);
     }
 
+    @Operation(
+            summary = "Fetch Loan Details in Batch REST API",
+            description = "REST API to fetch loan details for a list of mobile numbers in a single call"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "HTTP Status OK"
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            )
+    })
+    @PostMapping(path = "/fetch/batch", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<List<LoansDto>> fetchLoanDetailsBatch(@RequestHeader("eazybank-correlation-id") String correlationId,
+                                                              @RequestBody
+                                                              @Size(min = 1, max = 100, message = "Between 1 and 100 mobile numbers are allowed per batch")
+                                                              List<@Pattern(regexp="(^$|[0-9]{10})",message = "Mobile number must be 10 digits") String> mobileNumbers) {
+        logger.debug("eazyBank-correlation-id found: {} ", correlationId);
+        List<LoansDto> loansDtos = iLoansService.fetchLoans(mobileNumbers);
+        return ResponseEntity.status(HttpStatus.OK).body(loansDtos);
+    }
+
+    @Operation(
+            summary = "Import Loans REST API",
+            description = "REST API to load loans from an NDJSON or CSV body; records are read as they arrive and inserted in batches"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "201",
+                    description = "HTTP Status CREATED"
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "HTTP Status BAD REQUEST",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            )
+    })
+    @PostMapping(path = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, LoansConstants.TEXT_CSV_VALUE})
+    public ResponseEntity<ResponseDto> importLoans(@RequestHeader HttpHeaders headers, InputStream body) throws IOException {
+        long imported = loansBulkTransfer.importLoans(body, BulkFormat.of(headers.getContentType()));
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(new ResponseDto(LoansConstants.STATUS_201, LoansConstants.MESSAGE_201_IMPORT + imported));
+    }
+
+    @Operation(
+            summary = "Export Loans REST API",
+            description = "REST API to stream every loan as NDJSON or, with Accept: text/csv, as CSV"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "HTTP Status OK"
+            )
+    })
+    @GetMapping(path = "/export", produces = {MediaType.APPLICATION_NDJSON_VALUE, LoansConstants.TEXT_CSV_VALUE})
+    public ResponseEntity<StreamingResponseBody> exportLoans(@RequestHeader HttpHeaders headers) {
+        BulkFormat format = BulkFormat.accepted(headers.getAccept());
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .contentType(format.mediaType())
+                .body(out -> loansBulkTransfer.exportLoans(out, format));
+    }
+
     @Operation(
             summary = "Update Loan Details REST API",
             description = "REST API to update loan details based on a loan number"
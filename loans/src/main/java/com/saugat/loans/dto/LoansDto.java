@@ -11,6 +11,8 @@ import lombok.*;
         description = "Schema to hold Loan information"
 )
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class LoansDto {
 
     @NotEmpty(message = "Mobile Number can not be a null or empty")
@@ -1,16 +1,30 @@
 package com.saugat.loans.entity;
 
+import com.saugat.loans.constants.LoansConstants;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 @Entity
+// cached only when the second-level cache is switched on, see hibernate.cache in the loans config
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NaturalIdCache(region = "loans-natural-id")
 @Getter @Setter @ToString @AllArgsConstructor @NoArgsConstructor
 public class Loans extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Unlike IDENTITY, a sequence hands out ids before the INSERT, so Hibernate can batch inserts;
+    // shared with the bulk import, see BlockNumberAllocator.forPooledIds
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = LoansConstants.LOAN_ID_SEQUENCE)
+    @SequenceGenerator(name = LoansConstants.LOAN_ID_SEQUENCE, sequenceName = LoansConstants.LOAN_ID_SEQUENCE,
+            allocationSize = LoansConstants.ID_ALLOCATION_SIZE)
     private Long loanId;
 
+    @NaturalId(mutable = true)
     private String mobileNumber;
 
     private String loanNumber;
@@ -0,0 +1,13 @@
+package com.saugat.loans.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.BAD_REQUEST)
+public class BulkImportException extends RuntimeException {
+
+    public BulkImportException(String problem, long imported) {
+        super(String.format("%s; %d records were imported before it", problem, imported));
+    }
+
+}
@@ -0,0 +1,84 @@
+package com.saugat.loans.generator;
+
+import org.springframework.jdbc.support.incrementer.DataFieldMaxValueIncrementer;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hands out unique numbers from blocks reserved through a database sequence. Every call to the sequence
+ * reserves {@code blockSize} consecutive numbers for this instance, so numbers stay unique across replicas
+ * while only one in {@code blockSize} allocations touches the database. Taking a number from the current
+ * block is a single atomic increment; only refilling an exhausted block takes a lock.
+ */
+public class BlockNumberAllocator {
+
+    private final DataFieldMaxValueIncrementer sequence;
+    private final long blockSize;
+    private final long offset;
+    private final ReentrantLock refillLock = new ReentrantLock();
+    private volatile Block block = new Block(0, 0);
+
+    /**
+     * @param sequence  sequence whose {@code INCREMENT BY} equals {@code blockSize}
+     * @param blockSize numbers reserved per sequence call
+     */
+    public BlockNumberAllocator(DataFieldMaxValueIncrementer sequence, long blockSize) {
+        this(sequence, blockSize, 0);
+    }
+
+    private BlockNumberAllocator(DataFieldMaxValueIncrementer sequence, long blockSize, long offset) {
+        this.sequence = sequence;
+        this.blockSize = blockSize;
+        this.offset = offset;
+    }
+
+    /**
+     * Allocator over an id sequence shared with Hibernate's pooled optimizer, which reads every sequence value as
+     * the last id of a block of {@code allocationSize}. Blocks taken here and by Hibernate never overlap, provided
+     * the sequence does not start at 1 (a first value Hibernate treats as the start of its block instead).
+     *
+     * @param sequence       sequence whose {@code INCREMENT BY} equals {@code allocationSize}
+     * @param allocationSize {@code allocationSize} of the entity's {@code @SequenceGenerator}
+     */
+    public static BlockNumberAllocator forPooledIds(DataFieldMaxValueIncrementer sequence, long allocationSize) {
+        return new BlockNumberAllocator(sequence, allocationSize, allocationSize - 1);
+    }
+
+    public long next() {
+        while (true) {
+            Block current = block;
+            long number = current.next.getAndIncrement();
+            if (number < current.end) {
+                return number;
+            }
+            refill(current);
+        }
+    }
+
+    private void refill(Block exhausted) {
+        refillLock.lock();
+        try {
+            if (block == exhausted) {
+                long start = sequence.nextLongValue() - offset;
+                while (start < 1) {
+                    // the block below a sequence starting at 1 has no valid ids
+                    start = sequence.nextLongValue() - offset;
+                }
+                block = new Block(start, start + blockSize);
+            }
+        } finally {
+            refillLock.unlock();
+        }
+    }
+
+    private static final class Block {
+        private final AtomicLong next;
+        private final long end;
+
+        private Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
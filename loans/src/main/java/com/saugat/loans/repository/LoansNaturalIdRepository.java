@@ -0,0 +1,16 @@
+package com.saugat.loans.repository;
+
+import com.saugat.loans.entity.Loans;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+public interface LoansNaturalIdRepository {
+
+    /**
+     * Loads the loan through its natural id. With the second-level cache on, a repeated lookup is answered from the
+     * natural-id and entity caches instead of a query.
+     */
+    @Transactional(readOnly = true)
+    Optional<Loans> loadByMobileNumber(String mobileNumber);
+}
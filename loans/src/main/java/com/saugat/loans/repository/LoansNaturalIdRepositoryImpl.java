@@ -0,0 +1,21 @@
+package com.saugat.loans.repository;
+
+import com.saugat.loans.entity.Loans;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+
+import java.util.Optional;
+
+public class LoansNaturalIdRepositoryImpl implements LoansNaturalIdRepository {
+
+    private final EntityManager entityManager;
+
+    public LoansNaturalIdRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Optional<Loans> loadByMobileNumber(String mobileNumber) {
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(Loans.class).loadOptional(mobileNumber);
+    }
+}
@@ -1,16 +1,40 @@
 package com.saugat.loans.repository;
 
+import com.saugat.loans.dto.LoansDto;
 import com.saugat.loans.entity.Loans;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface LoansRepository extends JpaRepository<Loans, Long> {
+public interface LoansRepository extends JpaRepository<Loans, Long>, LoansNaturalIdRepository {
 
     Optional<Loans> findByMobileNumber(String mobileNumber);
 
     Optional<Loans> findByLoanNumber(String loanNumber);
 
+    /**
+     * Read-only lookups that select the DTO's columns straight into it: no entity, audit fields, persistence
+     * context entry or dirty-checking snapshot. The single lookup also goes through the query cache when that is
+     * switched on.
+     */
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT new com.saugat.loans.dto.LoansDto(l.mobileNumber, l.loanNumber, l.loanType, l.totalLoan, "
+            + "l.amountPaid, l.outstandingAmount) FROM Loans l WHERE l.mobileNumber = :mobileNumber")
+    Optional<LoansDto> findDtoByMobileNumber(String mobileNumber);
+
+    @Transactional(readOnly = true)
+    @Query("SELECT new com.saugat.loans.dto.LoansDto(l.mobileNumber, l.loanNumber, l.loanType, l.totalLoan, "
+            + "l.amountPaid, l.outstandingAmount) FROM Loans l WHERE l.mobileNumber IN :mobileNumbers")
+    List<LoansDto> findDtosByMobileNumberIn(Collection<String> mobileNumbers);
+
 }
\ No newline at end of file
@@ -2,6 +2,8 @@ package com.saugat.loans.service;
 
 import com.saugat.loans.dto.LoansDto;
 
+import java.util.List;
+
 public interface ILoansService {
 
     /**
@@ -17,6 +19,13 @@ public interface ILoansService {
      */
     LoansDto fetchLoan(String mobileNumber);
 
+    /**
+     *
+     * @param mobileNumbers - Input mobile Numbers
+     * @return Loan Details for every given mobileNumber that has one, in a single query
+     */
+    List<LoansDto> fetchLoans(List<String> mobileNumbers);
+
     /**
      *
      * @param loansDto - LoansDto Object
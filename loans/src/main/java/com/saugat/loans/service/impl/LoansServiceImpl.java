@@ -1,35 +1,49 @@
 package com.saugat.loans.service.impl;
 
+import com.saugat.loans.cache.SingleFlight;
 import com.saugat.loans.constants.LoansConstants;
 import com.saugat.loans.dto.LoansDto;
 import com.saugat.loans.entity.Loans;
 import com.saugat.loans.exception.LoanAlreadyExistsException;
 import com.saugat.loans.exception.ResourceNotFoundException;
+import com.saugat.loans.generator.BlockNumberAllocator;
 import com.saugat.loans.mapper.LoansMapper;
 import com.saugat.loans.repository.LoansRepository;
 import com.saugat.loans.service.ILoansService;
 import lombok.AllArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
-import java.util.Optional;
-import java.util.Random;
+import java.util.List;
 
 @Service
 @AllArgsConstructor
 public class LoansServiceImpl implements ILoansService {
 
     private LoansRepository loansRepository;
+    private CacheManager cacheManager;
+    private BlockNumberAllocator loanNumberAllocator;
+    private SingleFlight<String, LoansDto> loansLookups;
 
     /**
+     * Relies on the unique constraint on {@code mobile_number} to reject duplicates instead of checking first.
+     *
      * @param mobileNumber - Mobile Number of the Customer
      */
     @Override
     public void createLoan(String mobileNumber) {
-        Optional<Loans> optionalLoans= loansRepository.findByMobileNumber(mobileNumber);
-        if(optionalLoans.isPresent()){
-            throw new LoanAlreadyExistsException("Loan already registered with given mobileNumber "+mobileNumber);
+        try {
+            loansRepository.saveAndFlush(createNewLoan(mobileNumber));
+        } catch (DataIntegrityViolationException ex) {
+            if (loansRepository.findByMobileNumber(mobileNumber).isPresent()) {
+                throw new LoanAlreadyExistsException("Loan already registered with given mobileNumber "+mobileNumber);
+            }
+            throw ex;
         }
-        loansRepository.save(createNewLoan(mobileNumber));
     }
 
     /**
@@ -38,8 +52,7 @@ public class LoansServiceImpl implements ILoansService {
      */
     private Loans createNewLoan(String mobileNumber) {
         Loans newLoan = new Loans();
-        long randomLoanNumber = 100000000000L + new Random().nextInt(900000000);
-        newLoan.setLoanNumber(Long.toString(randomLoanNumber));
+        newLoan.setLoanNumber(Long.toString(loanNumberAllocator.next()));
         newLoan.setMobileNumber(mobileNumber);
         newLoan.setLoanType(LoansConstants.HOME_LOAN);
         newLoan.setTotalLoan(LoansConstants.NEW_LOAN_LIMIT);
@@ -51,14 +64,24 @@ public class LoansServiceImpl implements ILoansService {
     /**
      *
      * @param mobileNumber - Input mobile Number
-     * @return Loan Details based on a given mobileNumber
+     * @return Loan Details based on a given mobileNumber; concurrent cache misses for the same number share one lookup
      */
     @Override
+    @Cacheable(cacheNames = LoansConstants.LOANS_CACHE, key = "#mobileNumber")
     public LoansDto fetchLoan(String mobileNumber) {
-        Loans loans = loansRepository.findByMobileNumber(mobileNumber).orElseThrow(
+        return loansLookups.execute(mobileNumber, () -> loansRepository.findDtoByMobileNumber(mobileNumber).orElseThrow(
                 () -> new ResourceNotFoundException("Loan", "mobileNumber", mobileNumber)
-        );
-        return LoansMapper.mapToLoansDto(loans, new LoansDto());
+        ));
+    }
+
+    /**
+     *
+     * @param mobileNumbers - Input mobile Numbers
+     * @return Loan Details for every given mobileNumber that has one
+     */
+    @Override
+    public List<LoansDto> fetchLoans(List<String> mobileNumbers) {
+        return loansRepository.findDtosByMobileNumberIn(mobileNumbers);
     }
 
     /**
@@ -70,8 +93,11 @@ public class LoansServiceImpl implements ILoansService {
     public boolean updateLoan(LoansDto loansDto) {
         Loans loans = loansRepository.findByLoanNumber(loansDto.getLoanNumber()).orElseThrow(
                 () -> new ResourceNotFoundException("Loan", "LoanNumber", loansDto.getLoanNumber()));
+        String previousMobileNumber = loans.getMobileNumber();
         LoansMapper.mapToLoans(loansDto, loans);
         loansRepository.save(loans);
+        evictCachedLoan(previousMobileNumber);
+        evictCachedLoan(loansDto.getMobileNumber());
         return  true;
     }
 
@@ -80,13 +106,24 @@ public class LoansServiceImpl implements ILoansService {
      * @return boolean indicating if the delete of loan details is successful or not
      */
     @Override
+    @CacheEvict(cacheNames = LoansConstants.LOANS_CACHE, key = "#mobileNumber")
     public boolean deleteLoan(String mobileNumber) {
-        Loans loans = loansRepository.findByMobileNumber(mobileNumber).orElseThrow(
+        Loans loans = loansRepository.loadByMobileNumber(mobileNumber).orElseThrow(
                 () -> new ResourceNotFoundException("Loan", "mobileNumber", mobileNumber)
         );
         loansRepository.deleteById(loans.getLoanId());
+        loansLookups.forget(mobileNumber);
         return true;
     }
 
+    private void evictCachedLoan(String mobileNumber) {
+        Cache cache = cacheManager.getCache(LoansConstants.LOANS_CACHE);
+        if (cache != null && mobileNumber != null) {
+            cache.evict(mobileNumber);
+        }
+        if (mobileNumber != null) {
+            loansLookups.forget(mobileNumber);
+        }
+    }
 
 }
\ No newline at end of file
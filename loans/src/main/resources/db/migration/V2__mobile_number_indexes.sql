@@ -0,0 +1,3 @@
+ALTER TABLE `loans` ADD CONSTRAINT `uk_loans_mobile_number` UNIQUE (`mobile_number`);
+
+ALTER TABLE `loans` ADD CONSTRAINT `uk_loans_loan_number` UNIQUE (`loan_number`);
@@ -0,0 +1,3 @@
+-- Ids come from this sequence in blocks of 50 (INCREMENT BY = allocationSize), through Hibernate and the bulk import;
+-- each value is the last id of its block, so starting at 50 makes the first block 1..50
+CREATE SEQUENCE `loan_id_seq` START WITH 50 INCREMENT BY 50;
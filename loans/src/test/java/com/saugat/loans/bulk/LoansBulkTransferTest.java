@@ -0,0 +1,189 @@
+package com.saugat.loans.bulk;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.saugat.loans.constants.LoansConstants;
+import com.saugat.loans.dto.LoansDto;
+import com.saugat.loans.repository.LoansRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Imports and exports loans through {@code /api/import} and {@code /api/export} of a running loans service. Each
+ * test uses its own range of mobile numbers, as they share one database.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.cloud.config.enabled=false",
+        "eureka.client.enabled=false",
+        "spring.jpa.show-sql=false",
+        "build.version=test"
+})
+class LoansBulkTransferTest {
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType(LoansConstants.TEXT_CSV_VALUE);
+    private static final String CSV_HEADER = "mobileNumber,loanNumber,loanType,totalLoan,amountPaid,outstandingAmount";
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private LoansRepository loansRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void ndjsonRoundTrip() throws IOException {
+        List<LoansDto> loans = loans("81", 3);
+
+        assertEquals(HttpStatus.CREATED, importLoans(ndjson(loans), MediaType.APPLICATION_NDJSON).getStatusCode());
+
+        List<LoansDto> exported = new ArrayList<>();
+        for (String line : export(MediaType.APPLICATION_NDJSON).split("\n")) {
+            LoansDto loansDto = objectMapper.readValue(line, LoansDto.class);
+            if (loansDto.getMobileNumber().startsWith("81")) {
+                exported.add(loansDto);
+            }
+        }
+        assertEquals(loans, exported);
+    }
+
+    @Test
+    void csvRoundTrip() throws IOException {
+        List<LoansDto> loans = loans("82", 3);
+
+        assertEquals(HttpStatus.CREATED, importLoans(csv(loans), TEXT_CSV).getStatusCode());
+
+        String body = export(TEXT_CSV);
+        assertTrue(body.startsWith(CSV_HEADER + "\n"), body);
+        List<LoansDto> exported = new ArrayList<>();
+        try (MappingIterator<LoansDto> records = new CsvMapper().readerFor(LoansDto.class)
+                .with(CsvSchema.emptySchema().withHeader()).readValues(body)) {
+            while (records.hasNextValue()) {
+                LoansDto loansDto = records.nextValue();
+                if (loansDto.getMobileNumber().startsWith("82")) {
+                    exported.add(loansDto);
+                }
+            }
+        }
+        assertEquals(loans, exported);
+    }
+
+    @Test
+    void badRecordReportsTheRecordsAlreadyImported() {
+        List<LoansDto> loans = loans("83", LoansConstants.IMPORT_BATCH_SIZE + 5);
+        loans.get(LoansConstants.IMPORT_BATCH_SIZE + 1).setMobileNumber("83-invalid");
+
+        ResponseEntity<String> response = importLoans(ndjson(loans), MediaType.APPLICATION_NDJSON);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertTrue(response.getBody().contains("Record " + (LoansConstants.IMPORT_BATCH_SIZE + 2) + ":"),
+                response.getBody());
+        assertTrue(response.getBody().contains(LoansConstants.IMPORT_BATCH_SIZE + " records were imported before it"),
+                response.getBody());
+        assertEquals(LoansConstants.IMPORT_BATCH_SIZE, countLoans("83"));
+    }
+
+    @Test
+    void duplicateMobileNumberRollsBackOnlyItsBatch() {
+        List<LoansDto> loans = loans("84", LoansConstants.IMPORT_BATCH_SIZE + 5);
+        loans.get(LoansConstants.IMPORT_BATCH_SIZE + 3).setMobileNumber(loans.get(0).getMobileNumber());
+
+        ResponseEntity<String> response = importLoans(ndjson(loans), MediaType.APPLICATION_NDJSON);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertTrue(response.getBody().contains("Records " + (LoansConstants.IMPORT_BATCH_SIZE + 1) + " to "
+                + (LoansConstants.IMPORT_BATCH_SIZE + 5) + " were rejected"), response.getBody());
+        assertEquals(LoansConstants.IMPORT_BATCH_SIZE, countLoans("84"));
+    }
+
+    @Test
+    void createAfterAnImportDoesNotReuseItsIds() {
+        assertEquals(HttpStatus.CREATED, create("8500000099").getStatusCode());
+        List<LoansDto> loans = loans("85", 3);
+        loans.forEach(loansDto -> loansDto.setLoanNumber(null));
+        assertEquals(HttpStatus.CREATED, importLoans(ndjson(loans), MediaType.APPLICATION_NDJSON).getStatusCode());
+
+        assertEquals(HttpStatus.CREATED, create("8500000100").getStatusCode());
+        assertEquals(HttpStatus.CREATED, create("8500000101").getStatusCode());
+        assertEquals(6, countLoans("85"));
+    }
+
+    private ResponseEntity<String> importLoans(String body, MediaType contentType) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(contentType);
+        return restTemplate.postForEntity("/api/import", new HttpEntity<>(body, headers), String.class);
+    }
+
+    private String export(MediaType accept) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(accept));
+        ResponseEntity<String> response = restTemplate.exchange("/api/export", HttpMethod.GET,
+                new HttpEntity<>(headers), String.class);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(accept.isCompatibleWith(response.getHeaders().getContentType()));
+        return response.getBody();
+    }
+
+    private ResponseEntity<String> create(String mobileNumber) {
+        return restTemplate.postForEntity("/api/create?mobileNumber={mobileNumber}", null, String.class,
+                mobileNumber);
+    }
+
+    private long countLoans(String prefix) {
+        return loansRepository.findAll().stream()
+                .filter(loans -> loans.getMobileNumber().startsWith(prefix))
+                .count();
+    }
+
+    private String ndjson(List<LoansDto> loans) {
+        StringBuilder body = new StringBuilder();
+        for (LoansDto loansDto : loans) {
+            try {
+                body.append(objectMapper.writeValueAsString(loansDto)).append('\n');
+            } catch (IOException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+        return body.toString();
+    }
+
+    private static String csv(List<LoansDto> loans) {
+        StringBuilder body = new StringBuilder(CSV_HEADER).append('\n');
+        for (LoansDto loansDto : loans) {
+            body.append(loansDto.getMobileNumber()).append(',')
+                    .append(loansDto.getLoanNumber()).append(',')
+                    .append(loansDto.getLoanType()).append(',')
+                    .append(loansDto.getTotalLoan()).append(',')
+                    .append(loansDto.getAmountPaid()).append(',')
+                    .append(loansDto.getOutstandingAmount()).append('\n');
+        }
+        return body.toString();
+    }
+
+    private static List<LoansDto> loans(String prefix, int count) {
+        List<LoansDto> loans = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            loans.add(new LoansDto(prefix + String.format("%08d", i), prefix + String.format("%010d", i),
+                    LoansConstants.HOME_LOAN, 100_000, i, 100_000 - i));
+        }
+        return loans;
+    }
+}
@@ -0,0 +1,93 @@
+package com.saugat.loans.perf;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Drives {@code /api/fetch} with many concurrent clients and reports throughput and platform thread count.
+ * Run it once per threading mode and compare the output:
+ * <pre>
+ * ./mvnw test -Pperf -Dtest=ThreadingModeLoadTest -Dspring.threads.virtual.enabled=false
+ * ./mvnw test -Pperf -Dtest=ThreadingModeLoadTest -Dspring.threads.virtual.enabled=true
+ * </pre>
+ * Virtual threads need a Java 21+ runtime; on older JVMs both runs use platform threads.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.cloud.config.enabled=false",
+        "eureka.client.enabled=false",
+        "spring.jpa.show-sql=false",
+        "logging.level.com.saugat.loans=INFO"
+})
+@Tag("perf")
+class ThreadingModeLoadTest {
+
+    private static final String MOBILE_NUMBER = "9876500001";
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Test
+    void fetchLoanUnderLoad() throws Exception {
+        int concurrency = Integer.getInteger("loadtest.concurrency", 400);
+        int requests = Integer.getInteger("loadtest.requests", 20_000);
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newFixedThreadPool(8))
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        HttpResponse<Void> created = client.send(HttpRequest.newBuilder(uri("/api/create?mobileNumber=" + MOBILE_NUMBER))
+                .POST(HttpRequest.BodyPublishers.noBody()).build(), HttpResponse.BodyHandlers.discarding());
+        assertEquals(201, created.statusCode());
+
+        HttpRequest fetch = HttpRequest.newBuilder(uri("/api/fetch?mobileNumber=" + MOBILE_NUMBER))
+                .header("eazybank-correlation-id", "load-test")
+                .GET().build();
+
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        threadMXBean.resetPeakThreadCount();
+        Semaphore inFlight = new Semaphore(concurrency);
+        AtomicInteger failures = new AtomicInteger();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            inFlight.acquire();
+            client.sendAsync(fetch, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                if (error != null || response.statusCode() != 200) {
+                    failures.incrementAndGet();
+                }
+                inFlight.release();
+            });
+        }
+        inFlight.acquire(concurrency);
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        System.out.printf("threading=%s requests=%d concurrency=%d throughput=%.0f req/s peakPlatformThreads=%d liveThreads=%d failures=%d%n",
+                virtualThreads ? "virtual" : "platform", requests, concurrency, requests / seconds,
+                threadMXBean.getPeakThreadCount(), threadMXBean.getThreadCount(), failures.get());
+        assertEquals(0, failures.get());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}